@@ -0,0 +1,206 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * Compiles many programs in one JVM, spreading whole-program compiles over a
+ * work-stealing pool.
+ *
+ *   java -cp Driver Batch [-root DIR] [-stage S] [-j N] [-o OUTDIR]
+ *                         [-cache DIR [-cache-size SIZE]] (DIR | FILE | @MANIFEST)...
+ *
+ * A directory contributes every *.java file below it; a manifest lists one
+ * path per line ('#' starts a comment). Each program's output goes to
+ * OUTDIR/name{@link Stage#extension}, a failure goes to OUTDIR/name.err, and
+ * OUTDIR/summary.tsv records status and time for every input. A failing
+ * program only fails its own entry.
+ */
+public class Batch {
+
+    /** Outcome of one program. */
+    static class Result {
+        final Path input;
+        final String name;
+        final long nanos;
+        final String error;
+
+        Result(Path input, String name, long nanos, String error) {
+            this.input = input;
+            this.name = name;
+            this.nanos = nanos;
+            this.error = error;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path root = Driver.defaultRoot();
+        Stage target = Stage.MIPS;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path outDir = Paths.get("batch-out");
+        List<String> inputs = new ArrayList<>();
+        Path cacheDir = null;
+        long cacheSize = Driver.DEFAULT_CACHE_SIZE;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-root") && i + 1 < args.length) {
+                root = Paths.get(args[++i]);
+            } else if (args[i].equals("-stage") && i + 1 < args.length) {
+                target = Stage.parse(args[++i]);
+            } else if (args[i].equals("-j") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-o") && i + 1 < args.length) {
+                outDir = Paths.get(args[++i]);
+            } else if (args[i].equals("-cache") && i + 1 < args.length) {
+                cacheDir = Paths.get(args[++i]);
+            } else if (args[i].equals("-cache-size") && i + 1 < args.length) {
+                cacheSize = StageCache.parseSize(args[++i]);
+            } else if (args[i].startsWith("-")) {
+                usage();
+            } else {
+                inputs.add(args[i]);
+            }
+        }
+        if (inputs.isEmpty())
+            usage();
+
+        List<Path> files = collectInputs(inputs);
+        Files.createDirectories(outDir);
+        Map<Path, String> names = outputNames(files);
+
+        Pipeline pipeline = Driver.pipeline(root, cacheDir, cacheSize);
+        long start = System.nanoTime();
+        List<Result> results = run(pipeline, files, names, target, outDir, threads);
+        long wall = System.nanoTime() - start;
+
+        writeSummary(outDir.resolve("summary.tsv"), results);
+        int failed = 0;
+        long busy = 0;
+        for (Result r : results) {
+            busy += r.nanos;
+            if (r.error != null) {
+                failed++;
+                System.err.println("FAIL " + r.input + ": " + firstLine(r.error));
+            }
+        }
+        System.out.printf("%d programs, %d ok, %d failed, %d threads%n",
+                results.size(), results.size() - failed, failed, threads);
+        System.out.printf("wall %.1f ms, compile time %.1f ms, %.1f programs/s%n",
+                wall / 1e6, busy / 1e6, results.size() / (wall / 1e9));
+        System.exit(failed == 0 ? 0 : 1);
+    }
+
+    static List<Result> run(Pipeline pipeline, List<Path> files, Map<Path, String> names, Stage target,
+            Path outDir, int threads) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<Callable<Result>> tasks = new ArrayList<>();
+            for (Path f : files)
+                tasks.add(() -> compileOne(pipeline, f, names.get(f), target, outDir));
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> fut : pool.invokeAll(tasks)) {
+                try {
+                    results.add(fut.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Compiles one program and writes its output or error file. Never
+     * throws: a failed compile, an Error such as running out of memory on a
+     * huge input, or a failed write all end up as this program's error.
+     */
+    static Result compileOne(Pipeline pipeline, Path file, String name, Stage target, Path outDir) {
+        long t0 = System.nanoTime();
+        String error = null;
+        String output = null;
+        try {
+            output = pipeline.compile(Files.readString(file), target);
+        } catch (Pipeline.CompileException e) {
+            error = e.getMessage();
+        } catch (IOException | RuntimeException | Error e) {
+            error = e.toString();
+        }
+        long nanos = System.nanoTime() - t0;
+
+        Path out = outDir.resolve(name + target.extension);
+        Path err = outDir.resolve(name + ".err");
+        try {
+            Files.createDirectories(out.getParent());
+            if (error == null) {
+                Files.writeString(out, output);
+                Files.deleteIfExists(err);
+            } else {
+                Files.writeString(err, error + "\n");
+                Files.deleteIfExists(out);
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            String failure = "cannot write output: " + e;
+            error = error == null ? failure : error + "\n" + failure;
+        }
+        return new Result(file, name, nanos, error);
+    }
+
+    static List<Path> collectInputs(List<String> inputs) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String in : inputs) {
+            if (in.startsWith("@")) {
+                Path manifest = Paths.get(in.substring(1));
+                Path base = manifest.toAbsolutePath().getParent();
+                for (String line : Files.readAllLines(manifest)) {
+                    int hash = line.indexOf('#');
+                    String entry = (hash >= 0 ? line.substring(0, hash) : line).trim();
+                    if (!entry.isEmpty())
+                        files.add(base.resolve(entry));
+                }
+            } else if (Files.isDirectory(Paths.get(in))) {
+                try (Stream<Path> s = Files.walk(Paths.get(in))) {
+                    s.filter(p -> p.toString().endsWith(".java")).sorted().forEach(files::add);
+                }
+            } else {
+                files.add(Paths.get(in));
+            }
+        }
+        return files;
+    }
+
+    /** Output base names: the file name without .java, made unique when two inputs collide. */
+    static Map<Path, String> outputNames(List<Path> files) {
+        Map<Path, String> names = new LinkedHashMap<>();
+        Set<String> used = new HashSet<>();
+        for (Path f : files) {
+            String base = f.getFileName().toString().replaceFirst("\\.java$", "");
+            String name = base;
+            for (int k = 2; !used.add(name); k++)
+                name = base + "-" + k;
+            names.put(f, name);
+        }
+        return names;
+    }
+
+    static void writeSummary(Path path, List<Result> results) throws IOException {
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(path))) {
+            w.println("file\tstatus\tms\terror");
+            for (Result r : results) {
+                w.printf("%s\t%s\t%.3f\t%s%n", r.input, r.error == null ? "ok" : "FAIL", r.nanos / 1e6,
+                        r.error == null ? "" : firstLine(r.error));
+            }
+        }
+    }
+
+    private static String firstLine(String s) {
+        int nl = s.indexOf('\n');
+        return nl < 0 ? s : s.substring(0, nl);
+    }
+
+    private static void usage() {
+        System.err.println("usage: Batch [-root DIR] [-stage S] [-j N] [-o OUTDIR] [-cache DIR [-cache-size SIZE]] (DIR | FILE | @MANIFEST)...");
+        System.exit(2);
+    }
+}
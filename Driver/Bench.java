@@ -0,0 +1,212 @@
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+
+/**
+ * Micro-benchmarks for every phase of every stage.
+ *
+ *   java -cp Driver Bench [-root DIR] [-w SEC] [-i N] [-t SEC] [-filter REGEX] [-csv FILE]
+ *                         (DIR | FILE | @MANIFEST)...
+ *
+ * Without inputs it runs the MiniJava versions of the sample programs in
+ * MacroJavaToMiniJava/outputs, plus {@link Workload} programs generated at
+ * scales {@link #SYNTH_SCALES} and named synth-xK.
+ *
+ * Each input program is compiled once to get every stage's input text; then
+ * every phase a stage exposes through its static {@code phases(String)} hook
+ * (parse, symbol table, type check, lowering, liveness, allocation, emission)
+ * is timed on its own. A benchmark is named stage.phase/program, and -filter
+ * selects benchmarks by that name.
+ *
+ * Like a JMH run in throughput and average-time mode with the gc profiler:
+ * W seconds of warm-up, then N measured iterations of T seconds each. The
+ * report gives operations per second, average time per operation with its
+ * spread over iterations, and bytes allocated per operation and per second,
+ * measured with the per-thread allocation counter.
+ */
+public class Bench {
+
+    /** The {@link Workload} -scale values benchmarked when no inputs are given. */
+    static final int[] SYNTH_SCALES = { 1, 4, 16 };
+
+    /** Keeps results reachable so the JIT cannot drop the measured work. */
+    static volatile int sink;
+
+    /** Measurements for one benchmark. */
+    static class Score {
+        final String name;
+        final double opsPerSec;
+        final double avgMs;
+        final double errMs;
+        final double bytesPerOp;
+
+        Score(String name, double opsPerSec, double avgMs, double errMs, double bytesPerOp) {
+            this.name = name;
+            this.opsPerSec = opsPerSec;
+            this.avgMs = avgMs;
+            this.errMs = errMs;
+            this.bytesPerOp = bytesPerOp;
+        }
+
+        double mbPerSec() {
+            return bytesPerOp * opsPerSec / (1 << 20);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path root = Driver.defaultRoot();
+        double warmup = 1, time = 1;
+        int iterations = 5;
+        Pattern filter = null;
+        Path csv = null;
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-root") && i + 1 < args.length) {
+                root = Paths.get(args[++i]);
+            } else if (args[i].equals("-w") && i + 1 < args.length) {
+                warmup = Double.parseDouble(args[++i]);
+            } else if (args[i].equals("-i") && i + 1 < args.length) {
+                iterations = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-t") && i + 1 < args.length) {
+                time = Double.parseDouble(args[++i]);
+            } else if (args[i].equals("-filter") && i + 1 < args.length) {
+                filter = Pattern.compile(args[++i]);
+            } else if (args[i].equals("-csv") && i + 1 < args.length) {
+                csv = Paths.get(args[++i]);
+            } else if (args[i].startsWith("-")) {
+                usage();
+            } else {
+                inputs.add(args[i]);
+            }
+        }
+        Map<String, String> programs = new LinkedHashMap<>();
+        if (inputs.isEmpty()) {
+            inputs.add(root.resolve("MacroJavaToMiniJava/outputs").toString());
+            for (int scale : SYNTH_SCALES) {
+                Workload.Options o = new Workload.Options();
+                o.scale = scale;
+                programs.put("synth-x" + scale, new Workload(o).source());
+            }
+        }
+        Map<String, String> files = new LinkedHashMap<>();
+        for (Path file : Batch.collectInputs(inputs))
+            files.put(file.getFileName().toString().replaceFirst("\\.java$", ""), Files.readString(file));
+        files.putAll(programs);
+
+        Pipeline pipeline = new Pipeline(root);
+        List<Score> scores = new ArrayList<>();
+        System.out.printf("%-44s %12s %12s %10s %14s %10s%n",
+                "Benchmark", "ops/s", "avg ms/op", "+- ms", "B/op", "MB/s");
+        for (Map.Entry<String, String> prog : files.entrySet()) {
+            String program = prog.getKey();
+            Map<Stage, String> stageInputs;
+            try {
+                stageInputs = stageInputs(pipeline, prog.getValue());
+            } catch (Pipeline.CompileException e) {
+                System.err.println("skipping " + program + ": " + e.getMessage());
+                continue;
+            }
+            for (Stage stage : Stage.values()) {
+                for (Map.Entry<String, Callable<Object>> ph : phases(pipeline, stage, stageInputs.get(stage)).entrySet()) {
+                    String name = stage.mainClass + "." + ph.getKey() + "/" + program;
+                    if (filter != null && !filter.matcher(name).find())
+                        continue;
+                    Score s = measure(name, ph.getValue(), warmup, iterations, time);
+                    scores.add(s);
+                    System.out.printf("%-44s %12.1f %12.4f %10.4f %14.0f %10.1f%n",
+                            s.name, s.opsPerSec, s.avgMs, s.errMs, s.bytesPerOp, s.mbPerSec());
+                }
+            }
+        }
+        if (csv != null)
+            writeCsv(csv, scores);
+    }
+
+    /** What each stage reads when compiling this program. */
+    static Map<Stage, String> stageInputs(Pipeline pipeline, String source) throws Pipeline.CompileException {
+        Map<Stage, String> in = new EnumMap<>(Stage.class);
+        pipeline.runStage(Stage.TYPECHECK, source);
+        in.put(Stage.TYPECHECK, source);
+        String code = source;
+        for (Stage st : Stage.values()) {
+            if (st == Stage.TYPECHECK)
+                continue;
+            in.put(st, code);
+            code = pipeline.runStage(st, code);
+        }
+        return in;
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Callable<Object>> phases(Pipeline pipeline, Stage stage, String input)
+            throws Pipeline.CompileException {
+        Method m = pipeline.lookup(stage, "phases", String.class);
+        try {
+            return (Map<String, Callable<Object>>) m.invoke(null, input);
+        } catch (InvocationTargetException e) {
+            throw new Pipeline.CompileException(stage, e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new Pipeline.CompileException(stage, e);
+        }
+    }
+
+    static Score measure(String name, Callable<Object> op, double warmupSec, int iterations, double iterSec)
+            throws Exception {
+        run(op, (long) (warmupSec * 1e9));
+        double[] avg = new double[iterations];
+        long ops = 0, nanos = 0, bytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            long b0 = allocatedBytes();
+            long t0 = System.nanoTime();
+            long n = run(op, (long) (iterSec * 1e9));
+            long t = System.nanoTime() - t0;
+            bytes += allocatedBytes() - b0;
+            ops += n;
+            nanos += t;
+            avg[i] = t / 1e6 / n;
+        }
+        double mean = nanos / 1e6 / ops;
+        double var = 0;
+        for (double a : avg)
+            var += (a - mean) * (a - mean);
+        double err = iterations > 1 ? Math.sqrt(var / (iterations - 1)) : 0;
+        return new Score(name, ops / (nanos / 1e9), mean, err, (double) bytes / ops);
+    }
+
+    /** Runs op until the time is up, at least once. Returns the op count. */
+    private static long run(Callable<Object> op, long nanos) throws Exception {
+        long end = System.nanoTime() + nanos;
+        long n = 0;
+        do {
+            sink += System.identityHashCode(op.call());
+            n++;
+        } while (System.nanoTime() < end);
+        return n;
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        if (mx instanceof com.sun.management.ThreadMXBean)
+            return ((com.sun.management.ThreadMXBean) mx).getCurrentThreadAllocatedBytes();
+        return 0;
+    }
+
+    private static void writeCsv(Path path, List<Score> scores) throws IOException {
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(path))) {
+            w.println("benchmark,ops_per_s,avg_ms,err_ms,bytes_per_op,mb_per_s");
+            for (Score s : scores)
+                w.printf(Locale.ROOT, "%s,%.3f,%.6f,%.6f,%.1f,%.3f%n",
+                        s.name, s.opsPerSec, s.avgMs, s.errMs, s.bytesPerOp, s.mbPerSec());
+        }
+    }
+
+    private static void usage() {
+        System.err.println("usage: Bench [-root DIR] [-w SEC] [-i N] [-t SEC] [-filter REGEX] [-csv FILE]"
+                + " (DIR | FILE | @MANIFEST)...");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,99 @@
+import java.io.*;
+import java.net.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.Arrays;
+
+/**
+ * Thin client for {@link CompileServer}. With a stage name it behaves like
+ * that stage's main on stdin/stdout/stderr and exit status; the arguments
+ * after the stage name go to the stage:
+ *
+ *   java -cp Driver CompileClient [-port N | -socket PATH] P5 [-alloc irc] < prog.microIR
+ *
+ * With -compile it sends MiniJava and gets the pipeline output up to the
+ * stage, like {@link Driver}:
+ *
+ *   java -cp Driver CompileClient -compile mips < Prog.java
+ */
+public class CompileClient {
+    public static void main(String[] args) throws IOException {
+        int port = CompileServer.DEFAULT_PORT;
+        Path socket = null;
+        String mode = "stage";
+        String stage = null;
+        String[] stageArgs = new String[0];
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-port") && i + 1 < args.length) {
+                port = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-socket") && i + 1 < args.length) {
+                socket = Paths.get(args[++i]);
+            } else if (args[i].equals("-compile") && i + 1 < args.length) {
+                mode = "compile";
+                stage = args[++i];
+            } else if (stage == null && !args[i].startsWith("-")) {
+                stage = args[i];
+                stageArgs = Arrays.copyOfRange(args, i + 1, args.length);
+                break;
+            } else {
+                usage();
+            }
+        }
+        if (stage == null)
+            usage();
+
+        byte[] input = System.in.readAllBytes();
+        SocketAddress server = socket != null
+                ? UnixDomainSocketAddress.of(socket)
+                : new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        Pipeline.MainResult r;
+        try {
+            r = request(server, mode, stage, stageArgs, input);
+        } catch (IOException e) {
+            System.err.println("CompileClient: " + server + ": " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        System.out.write(r.out);
+        System.out.flush();
+        System.err.write(r.err);
+        System.err.flush();
+        if (r.status != 0)
+            System.exit(r.status);
+    }
+
+    /**
+     * Sends one request to the server at {@code server} and reads its
+     * response. Throws IOException if the server cannot be reached or hangs
+     * up without replying.
+     */
+    static Pipeline.MainResult request(SocketAddress server, String mode, String stage, String[] stageArgs,
+            byte[] input) throws IOException {
+        try (SocketChannel c = SocketChannel.open(server)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(c)));
+            out.writeUTF(mode);
+            out.writeUTF(stage);
+            out.writeInt(stageArgs.length);
+            for (String a : stageArgs)
+                out.writeUTF(a);
+            out.writeInt(input.length);
+            out.write(input);
+            out.flush();
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(c)));
+            int status = in.readInt();
+            byte[] stdout = new byte[in.readInt()];
+            in.readFully(stdout);
+            byte[] stderr = new byte[in.readInt()];
+            in.readFully(stderr);
+            return new Pipeline.MainResult(status, stdout, stderr);
+        } catch (EOFException e) {
+            throw new IOException("server closed the connection without a reply", e);
+        }
+    }
+
+    private static void usage() {
+        System.err.println("usage: CompileClient [-port N | -socket PATH] (P2|P3|P4|P5|P6 [ARGS...] | -compile STAGE)");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,156 @@
+import java.io.*;
+import java.net.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+/**
+ * Long-lived compile server. Keeps every stage loaded (and, after a few
+ * requests, JIT-compiled) so a small program no longer pays for JVM start-up
+ * and class loading.
+ *
+ *   java -cp Driver CompileServer [-root DIR] [-port N | -socket PATH] [-cache DIR [-cache-size SIZE]]
+ *
+ * Listens on a loopback TCP port (default 7431) or a Unix domain socket.
+ * Every connection carries one request and is served on its own thread:
+ * a virtual thread when the JVM has them, a pooled platform thread otherwise.
+ *
+ * Wire format, all integers big-endian:
+ *   request:  UTF mode ("stage" or "compile"), UTF stage, int k, k UTF arguments,
+ *             int n, n bytes of input
+ *   response: int status, int n, n bytes of stdout, int m, m bytes of stderr
+ *
+ * "stage" runs one stage exactly like its P* main given the arguments.
+ * "compile" takes MiniJava and runs the pipeline up to the given stage, like
+ * {@link Driver}; it takes no arguments.
+ */
+public class CompileServer {
+
+    static final int DEFAULT_PORT = 7431;
+
+    private final Pipeline pipeline;
+
+    CompileServer(Pipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path root = Driver.defaultRoot();
+        int port = DEFAULT_PORT;
+        Path socket = null;
+        Path cacheDir = null;
+        long cacheSize = Driver.DEFAULT_CACHE_SIZE;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-root") && i + 1 < args.length) {
+                root = Paths.get(args[++i]);
+            } else if (args[i].equals("-port") && i + 1 < args.length) {
+                port = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-socket") && i + 1 < args.length) {
+                socket = Paths.get(args[++i]);
+            } else if (args[i].equals("-cache") && i + 1 < args.length) {
+                cacheDir = Paths.get(args[++i]);
+            } else if (args[i].equals("-cache-size") && i + 1 < args.length) {
+                cacheSize = StageCache.parseSize(args[++i]);
+            } else {
+                System.err.println("usage: CompileServer [-root DIR] [-port N | -socket PATH] [-cache DIR [-cache-size SIZE]]");
+                System.exit(2);
+            }
+        }
+
+        Pipeline pipeline = Driver.pipeline(root, cacheDir, cacheSize);
+        pipeline.preload();
+
+        ServerSocketChannel server;
+        if (socket != null) {
+            Files.deleteIfExists(socket);
+            server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            server.bind(UnixDomainSocketAddress.of(socket));
+        } else {
+            server = ServerSocketChannel.open();
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        }
+        System.err.println("CompileServer listening on " + server.getLocalAddress());
+        new CompileServer(pipeline).serve(server);
+    }
+
+    void serve(ServerSocketChannel server) throws IOException {
+        ExecutorService workers = newRequestExecutor();
+        try {
+            while (true) {
+                SocketChannel ch = server.accept();
+                workers.execute(() -> handle(ch));
+            }
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    /** One virtual thread per request on JDK 21+, a cached pool before that. */
+    static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private void handle(SocketChannel ch) {
+        try (SocketChannel c = ch) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(c)));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(c)));
+            Pipeline.MainResult r;
+            try {
+                String mode = in.readUTF();
+                String stage = in.readUTF();
+                String[] args = new String[in.readInt()];
+                for (int i = 0; i < args.length; i++)
+                    args[i] = in.readUTF();
+                byte[] input = new byte[in.readInt()];
+                in.readFully(input);
+                r = serve(mode, stage, args, new String(input));
+            } catch (IOException | NegativeArraySizeException e) {
+                r = failure(2, "malformed request: " + e);
+            }
+            out.writeInt(r.status);
+            out.writeInt(r.out.length);
+            out.write(r.out);
+            out.writeInt(r.err.length);
+            out.write(r.err);
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("CompileServer: request failed: " + e);
+        }
+    }
+
+    /**
+     * Runs one request. Whatever goes wrong comes back as a status and a
+     * message, never as a dropped connection: 2 for a request the server
+     * cannot make sense of, as a main rejects its arguments, and 1 for a
+     * failed compile.
+     */
+    private Pipeline.MainResult serve(String mode, String stageName, String[] args, String input) {
+        Stage stage;
+        try {
+            stage = Stage.parse(stageName);
+        } catch (IllegalArgumentException e) {
+            return failure(2, e.getMessage());
+        }
+        try {
+            if (mode.equals("stage"))
+                return pipeline.runMain(stage, args, input);
+            if (mode.equals("compile") && args.length > 0)
+                return failure(2, "compile takes no stage arguments");
+            if (mode.equals("compile"))
+                return new Pipeline.MainResult(0, pipeline.compile(input, stage).getBytes(), new byte[0]);
+            return failure(2, "unknown mode " + mode);
+        } catch (Pipeline.CompileException e) {
+            return failure(1, e.getMessage());
+        } catch (RuntimeException e) {
+            return failure(1, "CompileServer: " + e);
+        }
+    }
+
+    private static Pipeline.MainResult failure(int status, String message) {
+        return new Pipeline.MainResult(status, new byte[0], (message + "\n").getBytes());
+    }
+}
@@ -0,0 +1,90 @@
+import java.net.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Checks that a program which fails to type check never compiles through a
+ * caching {@link CompileServer}, however it was sent before.
+ *
+ *   java -cp Driver CompileServerCacheTest [-root DIR]
+ *
+ * Starts a server in this JVM on a free loopback port with an empty cache,
+ * then sends an ill-typed program twice: first to P2 on its own, whose main
+ * prints "Type error" and exits 0, then to the pipeline up to MIPS, which
+ * must fail both times. Requests naming an unknown stage or mode must get
+ * a usage status back rather than a closed connection. Exits 1 if any check
+ * fails.
+ */
+public class CompileServerCacheTest {
+
+    static final String BAD = String.join("\n",
+            "class Bad {",
+            "    public static void main(String[] a) {",
+            "        System.out.println(new A().f());",
+            "    }",
+            "}",
+            "class A {",
+            "    public int f() {",
+            "        int x;",
+            "        x = true;",
+            "        return x;",
+            "    }",
+            "}",
+            "");
+
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        Path root = Driver.defaultRoot();
+        if (args.length == 2 && args[0].equals("-root"))
+            root = Paths.get(args[1]);
+
+        Path cacheDir = Files.createTempDirectory("stage-cache");
+        Pipeline pipeline = Driver.pipeline(root, cacheDir, Driver.DEFAULT_CACHE_SIZE);
+        ServerSocketChannel server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        Thread serving = new Thread(() -> {
+            try {
+                new CompileServer(pipeline).serve(server);
+            } catch (Exception e) {
+                // closed at the end of the test
+            }
+        });
+        serving.setDaemon(true);
+        serving.start();
+
+        SocketAddress addr = server.getLocalAddress();
+        byte[] bad = BAD.getBytes();
+        String[] none = new String[0];
+        for (int round = 1; round <= 2; round++) {
+            Pipeline.MainResult p2 = CompileClient.request(addr, "stage", "P2", none, bad);
+            check("P2 round " + round + " reports the type error",
+                    p2.status == 0 && new String(p2.out).equals("Type error\n"));
+
+            Pipeline.MainResult mips = CompileClient.request(addr, "compile", "mips", none, bad);
+            check("compile round " + round + " fails", mips.status != 0 && mips.out.length == 0);
+        }
+
+        Pipeline.MainResult unknown = CompileClient.request(addr, "stage", "P9", none, bad);
+        check("unknown stage is answered with status 2",
+                unknown.status == 2 && new String(unknown.err).contains("P9"));
+        unknown = CompileClient.request(addr, "compile", "bogus", none, bad);
+        check("unknown compile target is answered with status 2", unknown.status == 2);
+        unknown = CompileClient.request(addr, "assemble", "P5", none, bad);
+        check("unknown mode is answered with status 2", unknown.status == 2);
+
+        server.close();
+        if (failures > 0) {
+            System.out.println(failures + " check(s) failed");
+            System.exit(1);
+        }
+        System.out.println("ok");
+    }
+
+    private static void check(String what, boolean ok) {
+        System.out.println((ok ? "pass: " : "FAIL: ") + what);
+        if (!ok)
+            failures++;
+    }
+}
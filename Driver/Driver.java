@@ -0,0 +1,83 @@
+import java.io.*;
+import java.nio.file.*;
+
+/**
+ * Single-JVM replacement for running P2 | P3 | P4 | P5 | P6 as separate
+ * processes.
+ *
+ *   java -cp Driver Driver [-root DIR] [-stage typecheck|miniir|microir|minira|mips]
+ *                          [-cache DIR [-cache-size SIZE]] [--stats[=json]] < Prog.java
+ *
+ * The default root is the parent of the directory Driver was loaded from,
+ * and the default stage is mips. With -cache, stage outputs are kept in a
+ * {@link StageCache} under DIR, capped at SIZE (default 256m).
+ *
+ * --stats prints the time, input and output size, allocation and iteration
+ * count of every phase to stderr, as a table or as JSON. The same data is
+ * recorded as minijava.Phase events when a flight recording is running,
+ * e.g. with -XX:StartFlightRecording=filename=compile.jfr.
+ */
+public class Driver {
+
+    static final long DEFAULT_CACHE_SIZE = 256L << 20;
+
+    public static void main(String[] args) throws IOException {
+        Path root = defaultRoot();
+        Stage target = Stage.MIPS;
+        Path cacheDir = null;
+        long cacheSize = DEFAULT_CACHE_SIZE;
+        String stats = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-root") && i + 1 < args.length) {
+                root = Paths.get(args[++i]);
+            } else if (args[i].equals("-stage") && i + 1 < args.length) {
+                target = Stage.parse(args[++i]);
+            } else if (args[i].equals("-cache") && i + 1 < args.length) {
+                cacheDir = Paths.get(args[++i]);
+            } else if (args[i].equals("-cache-size") && i + 1 < args.length) {
+                cacheSize = StageCache.parseSize(args[++i]);
+            } else if (args[i].equals("--stats") || args[i].equals("-stats")) {
+                stats = "table";
+            } else if (args[i].equals("--stats=json") || args[i].equals("--stats=table")) {
+                stats = args[i].substring("--stats=".length());
+            } else {
+                System.err.println("usage: Driver [-root DIR] [-stage typecheck|miniir|microir|minira|mips] [-cache DIR [-cache-size SIZE]]"
+                        + " [--stats[=json]]");
+                System.exit(2);
+            }
+        }
+
+        String source = new String(System.in.readAllBytes());
+        PhaseStats phaseStats = stats == null ? null : new PhaseStats();
+        int status = 0;
+        try {
+            System.out.print(pipeline(root, cacheDir, cacheSize).compile(source, target, phaseStats));
+        } catch (Pipeline.CompileException e) {
+            System.err.println(e.getMessage());
+            status = 1;
+        }
+        System.out.flush();
+        if (phaseStats != null) {
+            if (stats.equals("json"))
+                phaseStats.printJson(System.err);
+            else
+                phaseStats.printTable(System.err);
+        }
+        if (status != 0)
+            System.exit(status);
+    }
+
+    static Pipeline pipeline(Path root, Path cacheDir, long cacheSize) throws IOException {
+        return new Pipeline(root, cacheDir == null ? null : new StageCache(cacheDir, cacheSize));
+    }
+
+    static Path defaultRoot() {
+        try {
+            Path self = Paths.get(Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            Path parent = self.toAbsolutePath().getParent();
+            return parent != null ? parent : Paths.get(".");
+        } catch (Exception e) {
+            return Paths.get(".");
+        }
+    }
+}
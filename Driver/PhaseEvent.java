@@ -0,0 +1,110 @@
+import java.lang.management.ManagementFactory;
+import java.util.function.BiConsumer;
+import jdk.jfr.*;
+
+/**
+ * JFR event for one compiler phase: how long it ran, how much it read and
+ * produced, and how many bytes the thread allocated meanwhile. Phases that
+ * iterate to a fixpoint also report their iteration count.
+ *
+ * Sizes are counted in whatever unit is natural for the phase: source lines
+ * for parsing, classes and methods in the front end, statements, temps and
+ * intervals in the register allocator, characters for emitted code.
+ *
+ * This is the one event class for every stage. Each stage's own
+ * {@code visitor.PhaseEvent} names the stage and forwards here; the stage
+ * class loaders delegate to the driver's, so they all find this class. A
+ * stage run on its own records phases only with the Driver directory on its
+ * class path:
+ *
+ *   java -XX:StartFlightRecording -cp MiniRAGeneration:Driver P5 < Prog.microIR
+ *
+ * Besides being committed to a flight recording, finished phases go to the
+ * sink installed with {@link #collect} on the current thread, which is how
+ * the driver's stats report gets them. Without a recording or a sink,
+ * start and finish only allocate the event object.
+ */
+@Name("minijava.Phase")
+@Label("Compiler Phase")
+@Category("MiniJava")
+@StackTrace(false)
+public class PhaseEvent extends Event {
+
+    private static final ThreadLocal<BiConsumer<String, long[]>> SINK = new ThreadLocal<>();
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Input Size")
+    long inputSize;
+
+    @Label("Output Size")
+    long outputSize;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+
+    @Label("Iterations")
+    long iterations;
+
+    private transient boolean tracked;
+    private transient long startNanos;
+    private transient long startBytes;
+
+    /**
+     * Sends every phase this thread finishes from now on to {@code sink}, as
+     * (phase, {nanos, input size, output size, allocated bytes, iterations}).
+     * Null stops collecting.
+     */
+    public static void collect(BiConsumer<String, long[]> sink) {
+        if (sink == null)
+            SINK.remove();
+        else
+            SINK.set(sink);
+    }
+
+    public static PhaseEvent start(String stage, String phase, long inputSize) {
+        PhaseEvent e = new PhaseEvent();
+        e.stage = stage;
+        e.phase = phase;
+        e.inputSize = inputSize;
+        e.tracked = e.isEnabled() || SINK.get() != null;
+        if (e.tracked) {
+            e.startBytes = allocatedBytes();
+            e.startNanos = System.nanoTime();
+            e.begin();
+        }
+        return e;
+    }
+
+    /** For phases that learn their input size only at the end, like a parser reading a stream. */
+    public void setInputSize(long inputSize) {
+        this.inputSize = inputSize;
+    }
+
+    public void finish(long outputSize, long iterations) {
+        if (!tracked)
+            return;
+        long nanos = System.nanoTime() - startNanos;
+        end();
+        this.outputSize = outputSize;
+        this.iterations = iterations;
+        this.allocated = allocatedBytes() - startBytes;
+        if (shouldCommit())
+            commit();
+        BiConsumer<String, long[]> sink = SINK.get();
+        if (sink != null)
+            sink.accept(phase, new long[] { nanos, inputSize, outputSize, allocated, iterations });
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        if (mx instanceof com.sun.management.ThreadMXBean)
+            return ((com.sun.management.ThreadMXBean) mx).getCurrentThreadAllocatedBytes();
+        return 0;
+    }
+}
@@ -0,0 +1,77 @@
+import java.io.*;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Per-phase totals behind the --stats report. Every stage reports its phases
+ * through the shared {@link PhaseEvent} that emits the JFR events, and
+ * {@link Pipeline} routes them here. Phases that run once per procedure are
+ * summed, so a row shows how many times the phase ran and its totals.
+ */
+public class PhaseStats {
+
+    private static class Row {
+        final Stage stage;
+        final String phase;
+        long calls;
+        long nanos;
+        long input;
+        long output;
+        long allocated;
+        long iterations;
+
+        Row(Stage stage, String phase) {
+            this.stage = stage;
+            this.phase = phase;
+        }
+    }
+
+    private final Map<String, Row> rows = new LinkedHashMap<>();
+
+    /** A sink for {@link PhaseEvent#collect} while the given stage runs. */
+    BiConsumer<String, long[]> sink(Stage stage) {
+        return (phase, v) -> add(stage, phase, v);
+    }
+
+    private synchronized void add(Stage stage, String phase, long[] v) {
+        Row r = rows.computeIfAbsent(stage.mainClass + "." + phase, k -> new Row(stage, phase));
+        r.calls++;
+        r.nanos += v[0];
+        r.input += v[1];
+        r.output += v[2];
+        r.allocated += v[3];
+        r.iterations += v[4];
+    }
+
+    public synchronized void printTable(PrintStream out) {
+        out.printf("%-6s %-11s %7s %10s %10s %10s %12s %6s%n",
+                "stage", "phase", "calls", "ms", "in", "out", "alloc KB", "iter");
+        long nanos = 0, allocated = 0;
+        for (Row r : rows.values()) {
+            out.printf("%-6s %-11s %7d %10.3f %10d %10d %12d %6s%n", r.stage.mainClass, r.phase, r.calls,
+                    r.nanos / 1e6, r.input, r.output, r.allocated >> 10, r.iterations > 0 ? r.iterations : "");
+            nanos += r.nanos;
+            allocated += r.allocated;
+        }
+        out.printf("%-6s %-11s %7s %10.3f %10s %10s %12d%n", "total", "", "", nanos / 1e6, "", "", allocated >> 10);
+    }
+
+    public synchronized void printJson(PrintStream out) {
+        StringBuilder sb = new StringBuilder("{\"phases\":[");
+        String sep = "";
+        for (Row r : rows.values()) {
+            sb.append(sep).append('{')
+              .append("\"stage\":\"").append(r.stage.mainClass).append("\",")
+              .append("\"phase\":\"").append(r.phase).append("\",")
+              .append("\"calls\":").append(r.calls).append(',')
+              .append("\"nanos\":").append(r.nanos).append(',')
+              .append("\"input\":").append(r.input).append(',')
+              .append("\"output\":").append(r.output).append(',')
+              .append("\"allocatedBytes\":").append(r.allocated).append(',')
+              .append("\"iterations\":").append(r.iterations)
+              .append('}');
+            sep = ",";
+        }
+        out.println(sb.append("]}"));
+    }
+}
@@ -0,0 +1,241 @@
+import java.io.*;
+import java.lang.reflect.*;
+import java.net.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Chains the compiler stages inside one JVM. Each stage's output string is
+ * handed straight to the next stage's entry point, so a compile costs one JVM
+ * start instead of five, and no text goes through stdout/stdin pipes.
+ * Stages still meet only at that text: every stage has its own syntaxtree
+ * and visitor packages behind its own class loader, so each one parses its
+ * predecessor's output rather than taking over its trees.
+ *
+ * Stage classes are expected to be compiled in place (javac P3.java inside
+ * the stage directory), which is how the individual P* mains are run.
+ *
+ * The stage parsers are instance-scoped and every entry point builds its own
+ * visitors, so one Pipeline can serve any number of threads at once.
+ *
+ * With a {@link StageCache}, every stage first looks its input up in the
+ * cache and only loads and runs the stage on a miss.
+ */
+public class Pipeline {
+
+    private final Path root;
+    private final Map<Stage, Class<?>> mainClasses = new EnumMap<>(Stage.class);
+    private final Map<Stage, Method> entryPoints = new EnumMap<>(Stage.class);
+    private final Map<Stage, Method> mains = new EnumMap<>(Stage.class);
+    private final Map<Stage, Method> argMains = new EnumMap<>(Stage.class);
+    private final Map<Stage, String> versions = new EnumMap<>(Stage.class);
+    private final StageCache cache;
+
+    public Pipeline(Path root) {
+        this(root, null);
+    }
+
+    public Pipeline(Path root, StageCache cache) {
+        this.root = root;
+        this.cache = cache;
+    }
+
+    /** Runs a single stage on its textual input. */
+    public String runStage(Stage stage, String input) throws CompileException {
+        return runStage(stage, input, null);
+    }
+
+    /**
+     * Runs a single stage, adding the phases it runs to {@code stats} when
+     * that is not null. A cache hit runs no phases.
+     */
+    public String runStage(Stage stage, String input, PhaseStats stats) throws CompileException {
+        String version = null;
+        if (cache != null) {
+            version = version(stage);
+            String hit = cache.get(stage, version, input);
+            if (hit != null)
+                return hit;
+        }
+        Method m = entryPoint(stage);
+        try {
+            if (stats != null)
+                PhaseEvent.collect(stats.sink(stage));
+            String output = (String) m.invoke(null, new StringReader(input));
+            if (cache != null)
+                cache.put(stage, version, input, output);
+            return output;
+        } catch (InvocationTargetException e) {
+            throw new CompileException(stage, e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new CompileException(stage, e);
+        } finally {
+            if (stats != null)
+                PhaseEvent.collect(null);
+        }
+    }
+
+    /** Runs a stage exactly as its P* main would with no arguments. */
+    public MainResult runMain(Stage stage, String input) throws CompileException {
+        return runMain(stage, new String[0], input);
+    }
+
+    /**
+     * Runs a stage exactly as its P* main would with these arguments,
+     * capturing what it writes to stdout and stderr along with the exit
+     * status. Stages whose main takes no flags ignore the arguments, as their
+     * main does. Only clean runs (status 0, nothing on stderr) are cached,
+     * keyed by the arguments as well as the input, and apart from
+     * {@link #runStage} outputs: a main can print a failure and still exit 0
+     * (P2 prints "Type error"), which must not pass for a stage's output.
+     */
+    public MainResult runMain(Stage stage, String[] args, String input) throws CompileException {
+        String version = null;
+        if (cache != null) {
+            version = "main " + version(stage);
+            if (args.length > 0)
+                version += " " + String.join(" ", args);
+            String hit = cache.get(stage, version, input);
+            if (hit != null)
+                return new MainResult(0, hit.getBytes(), new byte[0]);
+        }
+        Method m = mainMethod(stage);
+        Method withArgs = mainWithArgs(stage);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        try (PrintStream o = new PrintStream(out, true); PrintStream e = new PrintStream(err, true)) {
+            int status = withArgs != null
+                    ? (Integer) withArgs.invoke(null, args, new StringReader(input), o, e)
+                    : (Integer) m.invoke(null, new StringReader(input), o, e);
+            if (cache != null && status == 0 && err.size() == 0)
+                cache.put(stage, version, input, out.toString());
+            return new MainResult(status, out.toByteArray(), err.toByteArray());
+        } catch (InvocationTargetException e) {
+            throw new CompileException(stage, e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new CompileException(stage, e);
+        }
+    }
+
+    /**
+     * Compiles MiniJava source up to and including {@code target}. The type
+     * checker runs first; translation only starts if it succeeds.
+     */
+    public String compile(String source, Stage target) throws CompileException {
+        return compile(source, target, null);
+    }
+
+    /** Like {@link #compile(String, Stage)}, adding every phase run to {@code stats}. */
+    public String compile(String source, Stage target, PhaseStats stats) throws CompileException {
+        String checked = runStage(Stage.TYPECHECK, source, stats);
+        if (target == Stage.TYPECHECK)
+            return checked;
+        String code = source;
+        for (Stage st : Stage.values()) {
+            if (st == Stage.TYPECHECK)
+                continue;
+            code = runStage(st, code, stats);
+            if (st == target)
+                break;
+        }
+        return code;
+    }
+
+    /** Loads every stage up front, so the first request does not pay for it. */
+    public void preload() throws CompileException {
+        for (Stage st : Stage.values()) {
+            entryPoint(st);
+            mainWithArgs(st);
+        }
+    }
+
+    private synchronized Method entryPoint(Stage stage) throws CompileException {
+        Method m = entryPoints.get(stage);
+        if (m == null) {
+            m = lookup(stage, stage.entryPoint, Reader.class);
+            entryPoints.put(stage, m);
+        }
+        return m;
+    }
+
+    private synchronized Method mainMethod(Stage stage) throws CompileException {
+        Method m = mains.get(stage);
+        if (m == null) {
+            m = lookup(stage, "run", Reader.class, PrintStream.class, PrintStream.class);
+            mains.put(stage, m);
+        }
+        return m;
+    }
+
+    /**
+     * The stage's {@code run(String[], Reader, PrintStream, PrintStream)},
+     * or null when its main takes no flags and so has none.
+     */
+    private synchronized Method mainWithArgs(Stage stage) throws CompileException {
+        if (!argMains.containsKey(stage)) {
+            Method m = null;
+            try {
+                m = mainMethod(stage).getDeclaringClass()
+                        .getMethod("run", String[].class, Reader.class, PrintStream.class, PrintStream.class);
+            } catch (NoSuchMethodException e) {
+                // the stage's main ignores its arguments
+            }
+            argMains.put(stage, m);
+        }
+        return argMains.get(stage);
+    }
+
+    /** The stage's cache version key, computed once from its class files. */
+    private synchronized String version(Stage stage) throws CompileException {
+        String v = versions.get(stage);
+        if (v == null) {
+            try {
+                v = StageCache.versionOf(root.resolve(stage.dir));
+            } catch (IOException e) {
+                throw new CompileException(stage, e);
+            }
+            versions.put(stage, v);
+        }
+        return v;
+    }
+
+    synchronized Method lookup(Stage stage, String name, Class<?>... params) throws CompileException {
+        try {
+            Class<?> main = mainClasses.get(stage);
+            if (main == null) {
+                URL dir = root.resolve(stage.dir).toUri().toURL();
+                ClassLoader loader = new URLClassLoader(new URL[] { dir }, Pipeline.class.getClassLoader());
+                main = Class.forName(stage.mainClass, true, loader);
+                mainClasses.put(stage, main);
+            }
+            return main.getMethod(name, params);
+        } catch (ReflectiveOperationException | MalformedURLException e) {
+            throw new CompileException(stage, e);
+        }
+    }
+
+    /** What a P* main wrote and the status it would have exited with. */
+    public static class MainResult {
+        public final int status;
+        public final byte[] out;
+        public final byte[] err;
+
+        MainResult(int status, byte[] out, byte[] err) {
+            this.status = status;
+            this.out = out;
+            this.err = err;
+        }
+    }
+
+    /** A stage failed; carries the stage and the original exception. */
+    public static class CompileException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        public final Stage stage;
+
+        public CompileException(Stage stage, Throwable cause) {
+            super(stage.mainClass + ": " + cause, cause);
+            this.stage = stage;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * The five compiler stages, in pipeline order. Each one lives in its own
+ * directory with its own {@code syntaxtree} and {@code visitor} packages, so
+ * the driver loads every stage through a separate class loader.
+ */
+public enum Stage {
+    TYPECHECK("SemanticAnalysis/P2", "P2", "check", ".check"),
+    MINIIR("MicroIRGeneratation", "P3", "compile", ".miniIR"),
+    MICROIR("MiniIRGeneration", "P4", "compile", ".microIR"),
+    MINIRA("MiniRAGeneration", "P5", "compile", ".miniRA"),
+    MIPS("MIPSGeneration", "P6", "compile", ".s");
+
+    /** Stage directory, relative to the repository root. */
+    public final String dir;
+    /** Name of the stage's main class. */
+    public final String mainClass;
+    /** Static {@code String m(Reader)} entry point on the main class. */
+    public final String entryPoint;
+    /** File extension used when this stage's output is written to disk. */
+    public final String extension;
+
+    Stage(String dir, String mainClass, String entryPoint, String extension) {
+        this.dir = dir;
+        this.mainClass = mainClass;
+        this.entryPoint = entryPoint;
+        this.extension = extension;
+    }
+
+    /** Accepts the enum name, the main class name ("P4") or a lower-case alias. */
+    public static Stage parse(String s) {
+        for (Stage st : values()) {
+            if (st.name().equalsIgnoreCase(s) || st.mainClass.equalsIgnoreCase(s))
+                return st;
+        }
+        throw new IllegalArgumentException("Unknown stage: " + s);
+    }
+}
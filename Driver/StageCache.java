@@ -0,0 +1,177 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.*;
+
+/**
+ * Content-addressed on-disk cache of stage outputs.
+ *
+ * An entry is keyed by the SHA-256 of the stage name, the stage's compiler
+ * version key and the input text, and lives at DIR/stage/hh/rest-of-hash.
+ * Entries are written to a temporary file and moved into place, so a reader
+ * never sees a partial entry even with several JVMs sharing the directory.
+ *
+ * A hit bumps the entry's modification time; once the total size passes the
+ * cap, the least recently used entries are deleted until it is back under
+ * three quarters of the cap.
+ */
+public class StageCache {
+
+    private final Path dir;
+    private final long maxBytes;
+    private final AtomicLong size = new AtomicLong();
+
+    public StageCache(Path dir, long maxBytes) throws IOException {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(dir);
+        for (Path p : entries())
+            size.addAndGet(sizeOf(p));
+        if (size.get() > maxBytes)
+            evict();
+    }
+
+    /** Returns the cached output for this input, or null on a miss. */
+    public String get(Stage stage, String version, String input) {
+        Path p = path(stage, version, input);
+        try {
+            byte[] b = Files.readAllBytes(p);
+            Files.setLastModifiedTime(p, FileTime.fromMillis(System.currentTimeMillis()));
+            return new String(b, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** Stores an output. Failures are ignored; the cache is only an optimisation. */
+    public void put(Stage stage, String version, String input, String output) {
+        Path p = path(stage, version, input);
+        byte[] b = output.getBytes(StandardCharsets.UTF_8);
+        Path tmp = null;
+        try {
+            Files.createDirectories(p.getParent());
+            tmp = Files.createTempFile(p.getParent(), ".tmp-", "");
+            Files.write(tmp, b);
+            long old = sizeOf(p);
+            Files.move(tmp, p, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            tmp = null;
+            if (size.addAndGet(b.length - old) > maxBytes)
+                evict();
+        } catch (IOException e) {
+            // leave the entry out
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException e) {
+                }
+            }
+        }
+    }
+
+    private synchronized void evict() throws IOException {
+        if (size.get() <= maxBytes)
+            return;
+        List<Path> all = entries();
+        Map<Path, Long> used = new HashMap<>();
+        long total = 0;
+        for (Path p : all) {
+            used.put(p, lastModified(p));
+            total += sizeOf(p);
+        }
+        all.sort(Comparator.comparing(used::get));
+        long target = maxBytes / 4 * 3;
+        for (Path p : all) {
+            if (total <= target)
+                break;
+            long n = sizeOf(p);
+            if (Files.deleteIfExists(p))
+                total -= n;
+        }
+        size.set(total);
+    }
+
+    private Path path(Stage stage, String version, String input) {
+        MessageDigest md = sha256();
+        md.update(stage.name().getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+        md.update(version.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+        String hex = hex(md.digest(input.getBytes(StandardCharsets.UTF_8)));
+        return dir.resolve(stage.name().toLowerCase()).resolve(hex.substring(0, 2)).resolve(hex.substring(2));
+    }
+
+    private List<Path> entries() throws IOException {
+        try (Stream<Path> s = Files.walk(dir)) {
+            return s.filter(Files::isRegularFile)
+                    .filter(p -> !p.getFileName().toString().startsWith(".tmp-"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Version key for a stage: a digest of every class file under its
+     * directory, so rebuilding a stage invalidates what it produced before.
+     */
+    public static String versionOf(Path stageDir) throws IOException {
+        MessageDigest md = sha256();
+        List<Path> classes;
+        try (Stream<Path> s = Files.walk(stageDir)) {
+            classes = s.filter(p -> p.toString().endsWith(".class")).sorted().collect(Collectors.toList());
+        }
+        for (Path p : classes) {
+            md.update(stageDir.relativize(p).toString().getBytes(StandardCharsets.UTF_8));
+            md.update(Files.readAllBytes(p));
+        }
+        return hex(md.digest());
+    }
+
+    /** Parses a size such as 512k, 64m or 2g. */
+    public static long parseSize(String s) {
+        String t = s.trim().toLowerCase();
+        long unit = 1;
+        switch (t.charAt(t.length() - 1)) {
+            case 'k': unit = 1L << 10; break;
+            case 'm': unit = 1L << 20; break;
+            case 'g': unit = 1L << 30; break;
+        }
+        if (unit != 1)
+            t = t.substring(0, t.length() - 1);
+        return Long.parseLong(t) * unit;
+    }
+
+    private static long sizeOf(Path p) {
+        try {
+            return Files.size(p);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long lastModified(Path p) {
+        try {
+            return Files.getLastModifiedTime(p).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] b) {
+        StringBuilder sb = new StringBuilder(b.length * 2);
+        for (byte x : b)
+            sb.append(Character.forDigit((x >> 4) & 0xf, 16)).append(Character.forDigit(x & 0xf, 16));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,926 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Generates large, valid, type-correct MiniJava programs together with the
+ * output they must print, for measuring how each stage scales.
+ *
+ *   java -cp Driver Workload [-seed N] [-classes N] [-depth N] [-methods N] [-stmts N]
+ *                            [-expr N] [-loops N] [-lambdas P] [-scale K] [-o FILE.java]
+ *
+ * -classes      number of classes (multiplied by -scale)
+ * -depth        inheritance depth; classes form chains of this length, and
+ *               every subclass overrides some of its parent's methods
+ * -methods      methods per class
+ * -stmts        statements per method body
+ * -expr         nesting depth of expressions
+ * -loops        nesting depth of while loops
+ * -lambdas      probability that a method defines and applies lambdas
+ *
+ * The program goes to FILE.java (default Synth.java) and its expected output
+ * to FILE.expected. Output is computed by interpreting the generated program
+ * with Java int semantics, so it matches a correct compiler bit for bit.
+ *
+ * Every program terminates: loops have small constant bounds, and a method
+ * only calls methods with a lower index, at most once and never from a loop.
+ */
+public class Workload {
+
+    /** Generator knobs. */
+    static class Options {
+        long seed = 1;
+        int classes = 8;
+        int depth = 3;
+        int methods = 4;
+        int stmts = 8;
+        int exprDepth = 2;
+        int loopDepth = 2;
+        double lambdas = 0.3;
+        int scale = 1;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Options o = new Options();
+        Path out = Paths.get("Synth.java");
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length)
+                usage();
+            switch (args[i]) {
+                case "-seed": o.seed = Long.parseLong(args[++i]); break;
+                case "-classes": o.classes = Integer.parseInt(args[++i]); break;
+                case "-depth": o.depth = Integer.parseInt(args[++i]); break;
+                case "-methods": o.methods = Integer.parseInt(args[++i]); break;
+                case "-stmts": o.stmts = Integer.parseInt(args[++i]); break;
+                case "-expr": o.exprDepth = Integer.parseInt(args[++i]); break;
+                case "-loops": o.loopDepth = Integer.parseInt(args[++i]); break;
+                case "-lambdas": o.lambdas = Double.parseDouble(args[++i]); break;
+                case "-scale": o.scale = Integer.parseInt(args[++i]); break;
+                case "-o": out = Paths.get(args[++i]); break;
+                default: usage();
+            }
+        }
+        Workload w = new Workload(o);
+        Files.writeString(out, w.source());
+        Files.writeString(expectedPath(out), w.expectedOutput());
+    }
+
+    /** FILE.java -> FILE.expected */
+    static Path expectedPath(Path program) {
+        String n = program.getFileName().toString().replaceFirst("\\.java$", "");
+        return program.resolveSibling(n + ".expected");
+    }
+
+    private static void usage() {
+        System.err.println("usage: Workload [-seed N] [-classes N] [-depth N] [-methods N] [-stmts N]"
+                + " [-expr N] [-loops N] [-lambdas P] [-scale K] [-o FILE.java]");
+        System.exit(2);
+    }
+
+    // ------------------------------------------------------------------
+    // Program model. Every node both prints itself as MiniJava and
+    // evaluates itself; booleans evaluate to 0 and 1.
+    // ------------------------------------------------------------------
+
+    abstract static class Expr {
+        abstract void emit(StringBuilder sb);
+
+        abstract int eval(Frame f);
+
+        /** Can appear as an operand without brackets. */
+        boolean primary() {
+            return false;
+        }
+
+        void emitPrimary(StringBuilder sb) {
+            if (primary()) {
+                emit(sb);
+            } else {
+                sb.append('(');
+                emit(sb);
+                sb.append(')');
+            }
+        }
+    }
+
+    static class Lit extends Expr {
+        final int v;
+
+        Lit(int v) {
+            this.v = v;
+        }
+
+        void emit(StringBuilder sb) {
+            sb.append(v);
+        }
+
+        int eval(Frame f) {
+            return v;
+        }
+
+        boolean primary() {
+            return true;
+        }
+    }
+
+    static class BoolLit extends Expr {
+        final boolean v;
+
+        BoolLit(boolean v) {
+            this.v = v;
+        }
+
+        void emit(StringBuilder sb) {
+            sb.append(v);
+        }
+
+        int eval(Frame f) {
+            return v ? 1 : 0;
+        }
+
+        boolean primary() {
+            return true;
+        }
+    }
+
+    /** A local, parameter or field of the receiver. */
+    static class Var extends Expr {
+        final String name;
+
+        Var(String name) {
+            this.name = name;
+        }
+
+        void emit(StringBuilder sb) {
+            sb.append(name);
+        }
+
+        int eval(Frame f) {
+            return f.get(name);
+        }
+
+        boolean primary() {
+            return true;
+        }
+    }
+
+    static class Bin extends Expr {
+        final String op;
+        final Expr l, r;
+
+        Bin(String op, Expr l, Expr r) {
+            this.op = op;
+            this.l = l;
+            this.r = r;
+        }
+
+        void emit(StringBuilder sb) {
+            l.emitPrimary(sb);
+            sb.append(' ').append(op).append(' ');
+            r.emitPrimary(sb);
+        }
+
+        int eval(Frame f) {
+            int a = l.eval(f), b = r.eval(f);
+            switch (op) {
+                case "+": return a + b;
+                case "-": return a - b;
+                case "*": return a * b;
+                case "/": return a / b;
+                case "<=": return a <= b ? 1 : 0;
+                case "!=": return a != b ? 1 : 0;
+                case "&&": return a & b;
+                case "||": return a | b;
+                default: throw new IllegalStateException(op);
+            }
+        }
+    }
+
+    static class Not extends Expr {
+        final Expr e;
+
+        Not(Expr e) {
+            this.e = e;
+        }
+
+        void emit(StringBuilder sb) {
+            sb.append('!');
+            e.emitPrimary(sb);
+        }
+
+        int eval(Frame f) {
+            return 1 - e.eval(f);
+        }
+    }
+
+    static class ArrayLoad extends Expr {
+        final String arr;
+        final int index;
+
+        ArrayLoad(String arr, int index) {
+            this.arr = arr;
+            this.index = index;
+        }
+
+        void emit(StringBuilder sb) {
+            sb.append(arr).append('[').append(index).append(']');
+        }
+
+        int eval(Frame f) {
+            return f.arrays.get(arr)[index];
+        }
+    }
+
+    static class ArrayLength extends Expr {
+        final String arr;
+
+        ArrayLength(String arr) {
+            this.arr = arr;
+        }
+
+        void emit(StringBuilder sb) {
+            sb.append(arr).append(".length");
+        }
+
+        int eval(Frame f) {
+            return f.arrays.get(arr).length;
+        }
+    }
+
+    static class Apply extends Expr {
+        final String fn;
+        final Expr arg;
+
+        Apply(String fn, Expr arg) {
+            this.fn = fn;
+            this.arg = arg;
+        }
+
+        void emit(StringBuilder sb) {
+            sb.append(fn).append(".apply(");
+            arg.emit(sb);
+            sb.append(')');
+        }
+
+        int eval(Frame f) {
+            return f.lambdas.get(fn).apply(arg.eval(f));
+        }
+    }
+
+    /** (p) -> body, where body reads p and the method's parameters. */
+    static class Lambda {
+        final String param;
+        final Expr body;
+
+        Lambda(String param, Expr body) {
+            this.param = param;
+            this.body = body;
+        }
+    }
+
+    static class Closure {
+        final Lambda lambda;
+        final Frame captured;
+
+        Closure(Lambda lambda, Frame captured) {
+            this.lambda = lambda;
+            this.captured = captured;
+        }
+
+        int apply(int x) {
+            Frame f = new Frame(captured.self);
+            f.ints.put("a", captured.get("a"));
+            f.ints.put("b", captured.get("b"));
+            f.ints.put(lambda.param, x);
+            return lambda.body.eval(f);
+        }
+    }
+
+    abstract static class Stmt {
+        abstract void emit(StringBuilder sb, String indent);
+
+        abstract void exec(Frame f);
+    }
+
+    static class Assign extends Stmt {
+        final String var;
+        final Expr e;
+
+        Assign(String var, Expr e) {
+            this.var = var;
+            this.e = e;
+        }
+
+        void emit(StringBuilder sb, String indent) {
+            sb.append(indent).append(var).append(" = ");
+            e.emit(sb);
+            sb.append(";\n");
+        }
+
+        void exec(Frame f) {
+            f.set(var, e.eval(f));
+        }
+    }
+
+    static class ArrayStore extends Stmt {
+        final String arr;
+        final Expr index;
+        final Expr e;
+
+        ArrayStore(String arr, Expr index, Expr e) {
+            this.arr = arr;
+            this.index = index;
+            this.e = e;
+        }
+
+        void emit(StringBuilder sb, String indent) {
+            sb.append(indent).append(arr).append('[');
+            index.emit(sb);
+            sb.append("] = ");
+            e.emit(sb);
+            sb.append(";\n");
+        }
+
+        void exec(Frame f) {
+            int i = index.eval(f);
+            f.arrays.get(arr)[i] = e.eval(f);
+        }
+    }
+
+    static class NewArray extends Stmt {
+        final String arr;
+        final int size;
+
+        NewArray(String arr, int size) {
+            this.arr = arr;
+            this.size = size;
+        }
+
+        void emit(StringBuilder sb, String indent) {
+            sb.append(indent).append(arr).append(" = new int[").append(size).append("];\n");
+        }
+
+        void exec(Frame f) {
+            f.arrays.put(arr, new int[size]);
+        }
+    }
+
+    static class DefineLambda extends Stmt {
+        final String fn;
+        final Lambda lambda;
+
+        DefineLambda(String fn, Lambda lambda) {
+            this.fn = fn;
+            this.lambda = lambda;
+        }
+
+        void emit(StringBuilder sb, String indent) {
+            sb.append(indent).append(fn).append(" = (").append(lambda.param).append(") -> ");
+            lambda.body.emit(sb);
+            sb.append(";\n");
+        }
+
+        void exec(Frame f) {
+            f.lambdas.put(fn, new Closure(lambda, f));
+        }
+    }
+
+    static class Print extends Stmt {
+        final Expr e;
+
+        Print(Expr e) {
+            this.e = e;
+        }
+
+        void emit(StringBuilder sb, String indent) {
+            sb.append(indent).append("System.out.println(");
+            e.emit(sb);
+            sb.append(");\n");
+        }
+
+        void exec(Frame f) {
+            f.out.append(e.eval(f)).append('\n');
+        }
+    }
+
+    static class If extends Stmt {
+        final Expr cond;
+        final List<Stmt> then;
+        final List<Stmt> otherwise;
+
+        If(Expr cond, List<Stmt> then, List<Stmt> otherwise) {
+            this.cond = cond;
+            this.then = then;
+            this.otherwise = otherwise;
+        }
+
+        void emit(StringBuilder sb, String indent) {
+            sb.append(indent).append("if (");
+            cond.emit(sb);
+            sb.append(") {\n");
+            for (Stmt s : then)
+                s.emit(sb, indent + "    ");
+            sb.append(indent).append('}');
+            if (otherwise != null) {
+                sb.append(" else {\n");
+                for (Stmt s : otherwise)
+                    s.emit(sb, indent + "    ");
+                sb.append(indent).append('}');
+            }
+            sb.append('\n');
+        }
+
+        void exec(Frame f) {
+            List<Stmt> body = cond.eval(f) != 0 ? then : otherwise;
+            if (body != null)
+                for (Stmt s : body)
+                    s.exec(f);
+        }
+    }
+
+    /** counter = 0; while (counter <= bound - 1) { body counter = counter + 1; } */
+    static class Loop extends Stmt {
+        final String counter;
+        final int bound;
+        final List<Stmt> body;
+
+        Loop(String counter, int bound, List<Stmt> body) {
+            this.counter = counter;
+            this.bound = bound;
+            this.body = body;
+        }
+
+        void emit(StringBuilder sb, String indent) {
+            sb.append(indent).append(counter).append(" = 0;\n");
+            sb.append(indent).append("while (").append(counter).append(" <= ").append(bound - 1).append(") {\n");
+            for (Stmt s : body)
+                s.emit(sb, indent + "    ");
+            sb.append(indent).append("    ").append(counter).append(" = ").append(counter).append(" + 1;\n");
+            sb.append(indent).append("}\n");
+        }
+
+        void exec(Frame f) {
+            for (f.set(counter, 0); f.get(counter) <= bound - 1; f.set(counter, f.get(counter) + 1))
+                for (Stmt s : body)
+                    s.exec(f);
+        }
+    }
+
+    /** var = receiver.method(args), receiver being this or a new object. */
+    static class Call extends Stmt {
+        final String var;
+        final String receiverVar;
+        final ClassDecl newClass;
+        final String method;
+        final Expr[] args;
+
+        Call(String var, String receiverVar, ClassDecl newClass, String method, Expr... args) {
+            this.var = var;
+            this.receiverVar = receiverVar;
+            this.newClass = newClass;
+            this.method = method;
+            this.args = args;
+        }
+
+        void emit(StringBuilder sb, String indent) {
+            String recv = "this";
+            if (newClass != null) {
+                sb.append(indent).append(receiverVar).append(" = new ").append(newClass.name).append("();\n");
+                recv = receiverVar;
+            }
+            sb.append(indent).append(var).append(" = ").append(recv).append('.').append(method).append('(');
+            for (int i = 0; i < args.length; i++) {
+                if (i > 0)
+                    sb.append(", ");
+                args[i].emit(sb);
+            }
+            sb.append(");\n");
+        }
+
+        void exec(Frame f) {
+            Obj target = f.self;
+            if (newClass != null) {
+                target = new Obj(newClass);
+                f.objects.put(receiverVar, target);
+            }
+            int[] vals = new int[args.length];
+            for (int i = 0; i < args.length; i++)
+                vals[i] = args[i].eval(f);
+            f.set(var, target.cls.lookup(method).invoke(target, vals, f.out));
+        }
+    }
+
+    static class MethodDecl {
+        final String name;
+        final List<String> intLocals = new ArrayList<>();
+        final List<String> boolLocals = new ArrayList<>();
+        final List<String> arrayLocals = new ArrayList<>();
+        final List<String> intFns = new ArrayList<>();
+        final List<String> boolFns = new ArrayList<>();
+        final Map<String, String> objectLocals = new LinkedHashMap<>();
+        final List<Stmt> body = new ArrayList<>();
+        Expr result;
+
+        MethodDecl(String name) {
+            this.name = name;
+        }
+
+        void emit(StringBuilder sb) {
+            sb.append("    public int ").append(name).append("(int a, int b) {\n");
+            for (String v : intLocals)
+                sb.append("        int ").append(v).append(";\n");
+            for (String v : boolLocals)
+                sb.append("        boolean ").append(v).append(";\n");
+            for (String v : arrayLocals)
+                sb.append("        int[] ").append(v).append(";\n");
+            for (String v : intFns)
+                sb.append("        Function<Integer,Integer> ").append(v).append(";\n");
+            for (String v : boolFns)
+                sb.append("        Function<Integer,Boolean> ").append(v).append(";\n");
+            for (Map.Entry<String, String> e : objectLocals.entrySet())
+                sb.append("        ").append(e.getValue()).append(' ').append(e.getKey()).append(";\n");
+            for (Stmt s : body)
+                s.emit(sb, "        ");
+            sb.append("        return ");
+            result.emit(sb);
+            sb.append(";\n    }\n");
+        }
+
+        int invoke(Obj self, int[] args, StringBuilder out) {
+            Frame f = new Frame(self);
+            f.out = out;
+            f.ints.put("a", args[0]);
+            f.ints.put("b", args[1]);
+            for (Stmt s : body)
+                s.exec(f);
+            return result.eval(f);
+        }
+    }
+
+    static class ClassDecl {
+        final String name;
+        final ClassDecl parent;
+        final List<String> fields = new ArrayList<>();
+        final Map<String, MethodDecl> methods = new LinkedHashMap<>();
+
+        ClassDecl(String name, ClassDecl parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        MethodDecl lookup(String m) {
+            for (ClassDecl c = this; c != null; c = c.parent)
+                if (c.methods.containsKey(m))
+                    return c.methods.get(m);
+            throw new IllegalStateException(name + "." + m);
+        }
+
+        void emit(StringBuilder sb) {
+            sb.append("class ").append(name);
+            if (parent != null)
+                sb.append(" extends ").append(parent.name);
+            sb.append(" {\n");
+            for (String f : fields)
+                sb.append("    int ").append(f).append(";\n");
+            for (MethodDecl m : methods.values()) {
+                sb.append('\n');
+                m.emit(sb);
+            }
+            sb.append("}\n");
+        }
+    }
+
+    static class Obj {
+        final ClassDecl cls;
+        final Map<String, Integer> fields = new HashMap<>();
+
+        Obj(ClassDecl cls) {
+            this.cls = cls;
+        }
+    }
+
+    /** Variables of one method activation. */
+    static class Frame {
+        final Obj self;
+        final Map<String, Integer> ints = new HashMap<>();
+        final Map<String, int[]> arrays = new HashMap<>();
+        final Map<String, Closure> lambdas = new HashMap<>();
+        final Map<String, Obj> objects = new HashMap<>();
+        StringBuilder out;
+
+        Frame(Obj self) {
+            this.self = self;
+        }
+
+        int get(String v) {
+            Integer x = ints.get(v);
+            if (x == null)
+                x = self.fields.getOrDefault(v, 0);
+            return x;
+        }
+
+        void set(String v, int x) {
+            if (ints.containsKey(v) || !isField(v))
+                ints.put(v, x);
+            else
+                self.fields.put(v, x);
+        }
+
+        private boolean isField(String v) {
+            for (ClassDecl c = self.cls; c != null; c = c.parent)
+                if (c.fields.contains(v))
+                    return true;
+            return false;
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Generation
+    // ------------------------------------------------------------------
+
+    private static final String[] INT_OPS = { "+", "-", "*", "+", "-" };
+    private static final int ARRAY_SIZE = 6;
+    private static final int INT_LOCALS = 4;
+
+    private final Options opt;
+    private final Random rnd;
+    private final List<List<ClassDecl>> chains = new ArrayList<>();
+    private final ClassDecl runner = new ClassDecl("Runner", null);
+    private String source;
+    private String expected;
+
+    Workload(Options opt) {
+        this.opt = opt;
+        this.rnd = new Random(opt.seed);
+        generate();
+    }
+
+    String source() {
+        return source;
+    }
+
+    String expectedOutput() {
+        return expected;
+    }
+
+    private void generate() {
+        int classes = Math.max(1, opt.classes * opt.scale);
+        int depth = Math.max(1, opt.depth);
+        int nchains = (classes + depth - 1) / depth;
+        for (int c = 0; c < nchains; c++) {
+            List<ClassDecl> chain = new ArrayList<>();
+            int len = Math.min(depth, classes - c * depth);
+            for (int k = 0; k < len; k++)
+                chain.add(new ClassDecl("C" + c + "_" + k, k == 0 ? null : chain.get(k - 1)));
+            chains.add(chain);
+        }
+        for (int c = 0; c < chains.size(); c++) {
+            for (ClassDecl cls : chains.get(c)) {
+                cls.fields.add("f" + cls.name);
+                cls.fields.add("g" + cls.name);
+                for (int m = 0; m < opt.methods; m++) {
+                    // the base declares every method; subclasses override about half
+                    if (cls.parent == null || rnd.nextBoolean() || (m == opt.methods - 1 && cls.methods.isEmpty()))
+                        cls.methods.put("m" + m, method(cls, m));
+                }
+            }
+        }
+        buildRunner();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("import java.util.function.Function;\n\n");
+        sb.append("class Main {\n");
+        sb.append("    public static void main(String[] args) {\n");
+        sb.append("        System.out.println(new Runner().run(0, 0));\n");
+        sb.append("    }\n}\n\n");
+        runner.emit(sb);
+        for (List<ClassDecl> chain : chains)
+            for (ClassDecl cls : chain) {
+                sb.append('\n');
+                cls.emit(sb);
+            }
+        source = sb.toString();
+
+        StringBuilder out = new StringBuilder();
+        int r = runner.methods.get("run").invoke(new Obj(runner), new int[] { 0, 0 }, out);
+        out.append(r).append('\n');
+        expected = out.toString();
+    }
+
+    /** Runner.run calls runN for chain N; runN calls every method of every class in it. */
+    private void buildRunner() {
+        MethodDecl run = new MethodDecl("run");
+        run.intLocals.add("s");
+        run.intLocals.add("t");
+        run.body.add(new Assign("s", new Lit(0)));
+        for (int c = 0; c < chains.size(); c++) {
+            List<ClassDecl> chain = chains.get(c);
+            MethodDecl m = new MethodDecl("run" + c);
+            m.intLocals.add("s");
+            m.intLocals.add("t");
+            m.objectLocals.put("o", chain.get(0).name);
+            m.body.add(new Assign("s", new Lit(0)));
+            for (ClassDecl cls : chain) {
+                for (int j = 0; j < opt.methods; j++) {
+                    Expr x = new Lit(rnd.nextInt(50)), y = new Lit(rnd.nextInt(50));
+                    if (j == 0)
+                        m.body.add(new Call("t", "o", cls, "m" + j, x, y));
+                    else
+                        m.body.add(new CallOn("t", "o", "m" + j, new Expr[] { x, y }));
+                    m.body.add(new Print(new Var("t")));
+                    m.body.add(new Assign("s", new Bin("+", new Var("s"), new Var("t"))));
+                }
+            }
+            m.result = new Var("s");
+            runner.methods.put(m.name, m);
+            run.body.add(new Call("t", null, null, m.name, new Var("a"), new Var("b")));
+            run.body.add(new Assign("s", new Bin("+", new Var("s"), new Var("t"))));
+        }
+        run.result = new Var("s");
+        runner.methods.put("run", run);
+    }
+
+    /** var = obj.method(args) on an object already held in a local. */
+    static class CallOn extends Stmt {
+        final String var;
+        final String obj;
+        final String method;
+        final Expr[] args;
+
+        CallOn(String var, String obj, String method, Expr[] args) {
+            this.var = var;
+            this.obj = obj;
+            this.method = method;
+            this.args = args;
+        }
+
+        void emit(StringBuilder sb, String indent) {
+            sb.append(indent).append(var).append(" = ").append(obj).append('.').append(method).append('(');
+            for (int i = 0; i < args.length; i++) {
+                if (i > 0)
+                    sb.append(", ");
+                args[i].emit(sb);
+            }
+            sb.append(");\n");
+        }
+
+        void exec(Frame f) {
+            Obj target = f.objects.get(obj);
+            int[] vals = new int[args.length];
+            for (int i = 0; i < args.length; i++)
+                vals[i] = args[i].eval(f);
+            f.set(var, target.cls.lookup(method).invoke(target, vals, f.out));
+        }
+    }
+
+    /** State of the method being generated. */
+    private class Scope {
+        final ClassDecl cls;
+        final MethodDecl m;
+        final List<String> readable = new ArrayList<>();
+        final List<String> writable = new ArrayList<>();
+        int loopLevel = 0;
+        boolean called = false;
+
+        Scope(ClassDecl cls, MethodDecl m) {
+            this.cls = cls;
+            this.m = m;
+        }
+    }
+
+    private MethodDecl method(ClassDecl cls, int index) {
+        MethodDecl m = new MethodDecl("m" + index);
+        Scope sc = new Scope(cls, m);
+        sc.readable.add("a");
+        sc.readable.add("b");
+        for (String f : cls.fields) {
+            sc.readable.add(f);
+            sc.writable.add(f);
+        }
+        for (int i = 0; i < INT_LOCALS; i++) {
+            String v = "l" + i;
+            m.intLocals.add(v);
+            m.body.add(new Assign(v, rnd.nextBoolean() ? new Lit(rnd.nextInt(20)) : new Bin("+", new Var("a"), new Lit(i))));
+            sc.readable.add(v);
+            sc.writable.add(v);
+        }
+        for (int i = 0; i < opt.loopDepth; i++) {
+            m.intLocals.add("i" + i);
+            m.body.add(new Assign("i" + i, new Lit(0)));
+            sc.readable.add("i" + i);
+        }
+        m.boolLocals.add("c");
+        m.body.add(new Assign("c", new Bin("<=", new Var("a"), new Var("b"))));
+        m.arrayLocals.add("arr");
+        m.body.add(new NewArray("arr", ARRAY_SIZE));
+        if (opt.loopDepth > 0) {
+            List<Stmt> fill = new ArrayList<>();
+            fill.add(new ArrayStore("arr", new Var("i0"), new Bin("*", new Var("i0"), new Var("b"))));
+            m.body.add(new Loop("i0", ARRAY_SIZE, fill));
+        }
+        if (rnd.nextDouble() < opt.lambdas) {
+            m.intFns.add("fn");
+            m.body.add(new DefineLambda("fn", new Lambda("p", lambdaBody(false))));
+            m.boolFns.add("pred");
+            m.body.add(new DefineLambda("pred", new Lambda("p", lambdaBody(true))));
+        }
+        if (index > 0) {
+            m.intLocals.add("r");
+            m.body.add(new Assign("r", new Lit(0)));
+            sc.readable.add("r");
+        }
+
+        for (int i = 0; i < opt.stmts; i++)
+            m.body.add(stmt(sc, index));
+        m.result = intExpr(sc, opt.exprDepth);
+        return m;
+    }
+
+    private Expr lambdaBody(boolean bool) {
+        Expr x = new Var("p");
+        Expr y = rnd.nextBoolean() ? new Var("a") : new Var("b");
+        if (bool)
+            return new Bin(rnd.nextBoolean() ? "<=" : "!=", x, y);
+        return new Bin(INT_OPS[rnd.nextInt(INT_OPS.length)], x, rnd.nextBoolean() ? y : new Lit(rnd.nextInt(10)));
+    }
+
+    private Stmt stmt(Scope sc, int methodIndex) {
+        int k = rnd.nextInt(10);
+        if (k == 0 && methodIndex > 0 && sc.loopLevel == 0 && !sc.called) {
+            sc.called = true;
+            int callee = rnd.nextInt(methodIndex);
+            Expr x = atom(sc), y = atom(sc);
+            if (rnd.nextBoolean())
+                return new Call("r", null, null, "m" + callee, x, y);
+            List<ClassDecl> chain = chains.get(rnd.nextInt(chains.size()));
+            ClassDecl target = chain.get(rnd.nextInt(chain.size()));
+            String var = "o";
+            sc.m.objectLocals.put(var, chain.get(0).name);
+            return new Call("r", var, target, "m" + callee, x, y);
+        }
+        if (k == 1 && sc.loopLevel < opt.loopDepth) {
+            String counter = "i" + sc.loopLevel;
+            sc.loopLevel++;
+            List<Stmt> body = block(sc, methodIndex);
+            sc.loopLevel--;
+            return new Loop(counter, 2 + rnd.nextInt(3), body);
+        }
+        if (k == 2) {
+            List<Stmt> then = block(sc, methodIndex);
+            List<Stmt> otherwise = rnd.nextBoolean() ? block(sc, methodIndex) : null;
+            return new If(boolExpr(sc, opt.exprDepth), then, otherwise);
+        }
+        if (k == 3)
+            return new ArrayStore("arr", new Lit(rnd.nextInt(ARRAY_SIZE)), intExpr(sc, opt.exprDepth));
+        if (k == 4)
+            return new Assign("c", boolExpr(sc, opt.exprDepth));
+        if (k == 5 && rnd.nextInt(4) == 0)
+            return new Print(intExpr(sc, opt.exprDepth));
+        return new Assign(sc.writable.get(rnd.nextInt(sc.writable.size())), intExpr(sc, opt.exprDepth));
+    }
+
+    private List<Stmt> block(Scope sc, int methodIndex) {
+        List<Stmt> b = new ArrayList<>();
+        int n = 1 + rnd.nextInt(3);
+        for (int i = 0; i < n; i++)
+            b.add(stmt(sc, methodIndex));
+        return b;
+    }
+
+    private Expr atom(Scope sc) {
+        if (rnd.nextInt(3) == 0)
+            return new Lit(rnd.nextInt(100));
+        return new Var(sc.readable.get(rnd.nextInt(sc.readable.size())));
+    }
+
+    private Expr intExpr(Scope sc, int depth) {
+        if (depth <= 0) {
+            switch (rnd.nextInt(6)) {
+                case 0: return new ArrayLoad("arr", rnd.nextInt(ARRAY_SIZE));
+                case 1: return new ArrayLength("arr");
+                default: return atom(sc);
+            }
+        }
+        int k = rnd.nextInt(10);
+        if (k == 0)
+            return new Bin("/", intExpr(sc, depth - 1), new Lit(1 + rnd.nextInt(7)));
+        if (k == 1 && sc.m.intFns.contains("fn"))
+            return new Apply("fn", intExpr(sc, depth - 1));
+        if (k == 2)
+            return intExpr(sc, 0);
+        return new Bin(INT_OPS[rnd.nextInt(INT_OPS.length)], intExpr(sc, depth - 1), intExpr(sc, depth - 1));
+    }
+
+    private Expr boolExpr(Scope sc, int depth) {
+        int k = rnd.nextInt(8);
+        if (depth <= 0 || k == 0)
+            return rnd.nextInt(4) == 0 ? new BoolLit(rnd.nextBoolean()) : new Var("c");
+        if (k == 1)
+            return new Not(boolExpr(sc, depth - 1));
+        if (k == 2)
+            return new Bin(rnd.nextBoolean() ? "&&" : "||", boolExpr(sc, depth - 1), boolExpr(sc, depth - 1));
+        if (k == 3 && sc.m.boolFns.contains("pred"))
+            return new Apply("pred", intExpr(sc, depth - 1));
+        return new Bin(rnd.nextBoolean() ? "<=" : "!=", intExpr(sc, depth - 1), intExpr(sc, depth - 1));
+    }
+}
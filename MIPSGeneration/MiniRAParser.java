@@ -6,7 +6,7 @@ import java.util.Vector;
 
 public class MiniRAParser implements MiniRAParserConstants {
 
-  static final public Goal Goal() throws ParseException {NodeToken n0;
+  final public Goal Goal() throws ParseException {NodeToken n0;
    Token n1;
    NodeToken n2;
    Token n3;
@@ -84,7 +84,7 @@ n25.beginColumn++; n25.endColumn++;
     throw new Error("Missing return statement in function");
 }
 
-  static final public StmtList StmtList() throws ParseException {NodeListOptional n0 = new NodeListOptional();
+  final public StmtList StmtList() throws ParseException {NodeListOptional n0 = new NodeListOptional();
    NodeSequence n1;
    NodeOptional n2;
    Label n3;
@@ -134,7 +134,7 @@ n0.nodes.trimToSize();
     throw new Error("Missing return statement in function");
 }
 
-  static final public Procedure Procedure() throws ParseException {Label n0;
+  final public Procedure Procedure() throws ParseException {Label n0;
    NodeToken n1;
    Token n2;
    IntegerLiteral n3;
@@ -188,7 +188,7 @@ n19.addNode(n20);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Stmt Stmt() throws ParseException {NodeChoice n0;
+  final public Stmt Stmt() throws ParseException {NodeChoice n0;
    NoOpStmt n1;
    ErrorStmt n2;
    CJumpStmt n3;
@@ -271,7 +271,7 @@ n0 = new NodeChoice(n12, 11);
     throw new Error("Missing return statement in function");
 }
 
-  static final public NoOpStmt NoOpStmt() throws ParseException {NodeToken n0;
+  final public NoOpStmt NoOpStmt() throws ParseException {NodeToken n0;
    Token n1;
     n1 = jj_consume_token(NOOP);
 n0 = JTBToolkit.makeNodeToken(n1);
@@ -279,7 +279,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public ErrorStmt ErrorStmt() throws ParseException {NodeToken n0;
+  final public ErrorStmt ErrorStmt() throws ParseException {NodeToken n0;
    Token n1;
     n1 = jj_consume_token(ERROR);
 n0 = JTBToolkit.makeNodeToken(n1);
@@ -287,7 +287,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public CJumpStmt CJumpStmt() throws ParseException {NodeToken n0;
+  final public CJumpStmt CJumpStmt() throws ParseException {NodeToken n0;
    Token n1;
    Reg n2;
    Label n3;
@@ -299,7 +299,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public JumpStmt JumpStmt() throws ParseException {NodeToken n0;
+  final public JumpStmt JumpStmt() throws ParseException {NodeToken n0;
    Token n1;
    Label n2;
     n1 = jj_consume_token(JUMP);
@@ -309,7 +309,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public HStoreStmt HStoreStmt() throws ParseException {NodeToken n0;
+  final public HStoreStmt HStoreStmt() throws ParseException {NodeToken n0;
    Token n1;
    Reg n2;
    IntegerLiteral n3;
@@ -323,7 +323,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public HLoadStmt HLoadStmt() throws ParseException {NodeToken n0;
+  final public HLoadStmt HLoadStmt() throws ParseException {NodeToken n0;
    Token n1;
    Reg n2;
    Reg n3;
@@ -337,7 +337,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public MoveStmt MoveStmt() throws ParseException {NodeToken n0;
+  final public MoveStmt MoveStmt() throws ParseException {NodeToken n0;
    Token n1;
    Reg n2;
    Exp n3;
@@ -349,7 +349,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public PrintStmt PrintStmt() throws ParseException {NodeToken n0;
+  final public PrintStmt PrintStmt() throws ParseException {NodeToken n0;
    Token n1;
    SimpleExp n2;
     n1 = jj_consume_token(PRINT);
@@ -359,7 +359,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public ALoadStmt ALoadStmt() throws ParseException {NodeToken n0;
+  final public ALoadStmt ALoadStmt() throws ParseException {NodeToken n0;
    Token n1;
    Reg n2;
    SpilledArg n3;
@@ -371,7 +371,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public AStoreStmt AStoreStmt() throws ParseException {NodeToken n0;
+  final public AStoreStmt AStoreStmt() throws ParseException {NodeToken n0;
    Token n1;
    SpilledArg n2;
    Reg n3;
@@ -383,7 +383,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public PassArgStmt PassArgStmt() throws ParseException {NodeToken n0;
+  final public PassArgStmt PassArgStmt() throws ParseException {NodeToken n0;
    Token n1;
    IntegerLiteral n2;
    Reg n3;
@@ -395,7 +395,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public CallStmt CallStmt() throws ParseException {NodeToken n0;
+  final public CallStmt CallStmt() throws ParseException {NodeToken n0;
    Token n1;
    SimpleExp n2;
     n1 = jj_consume_token(CALL);
@@ -405,7 +405,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Exp Exp() throws ParseException {NodeChoice n0;
+  final public Exp Exp() throws ParseException {NodeChoice n0;
    HAllocate n1;
    BinOp n2;
    SimpleExp n3;
@@ -464,7 +464,7 @@ n0 = new NodeChoice(n3, 2);
     throw new Error("Missing return statement in function");
 }
 
-  static final public HAllocate HAllocate() throws ParseException {NodeToken n0;
+  final public HAllocate HAllocate() throws ParseException {NodeToken n0;
    Token n1;
    SimpleExp n2;
     n1 = jj_consume_token(HALLOCATE);
@@ -474,7 +474,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public BinOp BinOp() throws ParseException {Operator n0;
+  final public BinOp BinOp() throws ParseException {Operator n0;
    Reg n1;
    SimpleExp n2;
     n0 = Operator();
@@ -484,7 +484,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Operator Operator() throws ParseException {NodeChoice n0;
+  final public Operator Operator() throws ParseException {NodeChoice n0;
    NodeToken n1;
    Token n2;
    NodeToken n3;
@@ -543,7 +543,7 @@ n0 = new NodeChoice(n11, 5);
     throw new Error("Missing return statement in function");
 }
 
-  static final public SpilledArg SpilledArg() throws ParseException {NodeToken n0;
+  final public SpilledArg SpilledArg() throws ParseException {NodeToken n0;
    Token n1;
    IntegerLiteral n2;
     n1 = jj_consume_token(SPILLEDARG);
@@ -553,7 +553,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public SimpleExp SimpleExp() throws ParseException {NodeChoice n0;
+  final public SimpleExp SimpleExp() throws ParseException {NodeChoice n0;
    Reg n1;
    IntegerLiteral n2;
    Label n3;
@@ -605,7 +605,7 @@ n0 = new NodeChoice(n3, 2);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Reg Reg() throws ParseException {NodeChoice n0;
+  final public Reg Reg() throws ParseException {NodeChoice n0;
    NodeToken n1;
    Token n2;
    NodeToken n3;
@@ -808,7 +808,7 @@ n0 = new NodeChoice(n47, 23);
     throw new Error("Missing return statement in function");
 }
 
-  static final public IntegerLiteral IntegerLiteral() throws ParseException {NodeToken n0;
+  final public IntegerLiteral IntegerLiteral() throws ParseException {NodeToken n0;
    Token n1;
     n1 = jj_consume_token(INTEGER_LITERAL);
 n0 = JTBToolkit.makeNodeToken(n1);
@@ -816,7 +816,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Label Label() throws ParseException {NodeToken n0;
+  final public Label Label() throws ParseException {NodeToken n0;
    Token n1;
     n1 = jj_consume_token(IDENTIFIER);
 n0 = JTBToolkit.makeNodeToken(n1);
@@ -824,7 +824,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public SpillInfo SpillInfo() throws ParseException {NodeToken n0;
+  final public SpillInfo SpillInfo() throws ParseException {NodeToken n0;
    Token n1;
    SpillStatus n2;
     n1 = jj_consume_token(81);
@@ -834,7 +834,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public SpillStatus SpillStatus() throws ParseException {NodeChoice n0;
+  final public SpillStatus SpillStatus() throws ParseException {NodeChoice n0;
    NodeToken n1;
    Token n2;
    NodeToken n3;
@@ -861,17 +861,16 @@ n0 = new NodeChoice(n3, 1);
     throw new Error("Missing return statement in function");
 }
 
-  static private boolean jj_initialized_once = false;
   /** Generated Token Manager. */
-  static public MiniRAParserTokenManager token_source;
-  static JavaCharStream jj_input_stream;
+  public MiniRAParserTokenManager token_source;
+  JavaCharStream jj_input_stream;
   /** Current token. */
-  static public Token token;
+  public Token token;
   /** Next token. */
-  static public Token jj_nt;
-  static private int jj_ntk;
-  static private int jj_gen;
-  static final private int[] jj_la1 = new int[11];
+  public Token jj_nt;
+  private int jj_ntk;
+  private int jj_gen;
+  final private int[] jj_la1 = new int[11];
   static private int[] jj_la1_0;
   static private int[] jj_la1_1;
   static private int[] jj_la1_2;
@@ -896,13 +895,6 @@ n0 = new NodeChoice(n3, 1);
   }
   /** Constructor with InputStream and supplied encoding */
   public MiniRAParser(java.io.InputStream stream, String encoding) {
-	 if (jj_initialized_once) {
-	   System.out.println("ERROR: Second call to constructor of static parser.  ");
-	   System.out.println("	   You must either use ReInit() or set the JavaCC option STATIC to false");
-	   System.out.println("	   during parser generation.");
-	   throw new Error();
-	 }
-	 jj_initialized_once = true;
 	 try { jj_input_stream = new JavaCharStream(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
 	 token_source = new MiniRAParserTokenManager(jj_input_stream);
 	 token = new Token();
@@ -912,11 +904,11 @@ n0 = new NodeChoice(n3, 1);
   }
 
   /** Reinitialise. */
-  static public void ReInit(java.io.InputStream stream) {
+  public void ReInit(java.io.InputStream stream) {
 	  ReInit(stream, null);
   }
   /** Reinitialise. */
-  static public void ReInit(java.io.InputStream stream, String encoding) {
+  public void ReInit(java.io.InputStream stream, String encoding) {
 	 try { jj_input_stream.ReInit(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
 	 token_source.ReInit(jj_input_stream);
 	 token = new Token();
@@ -927,13 +919,6 @@ n0 = new NodeChoice(n3, 1);
 
   /** Constructor. */
   public MiniRAParser(java.io.Reader stream) {
-	 if (jj_initialized_once) {
-	   System.out.println("ERROR: Second call to constructor of static parser. ");
-	   System.out.println("	   You must either use ReInit() or set the JavaCC option STATIC to false");
-	   System.out.println("	   during parser generation.");
-	   throw new Error();
-	 }
-	 jj_initialized_once = true;
 	 jj_input_stream = new JavaCharStream(stream, 1, 1);
 	 token_source = new MiniRAParserTokenManager(jj_input_stream);
 	 token = new Token();
@@ -943,7 +928,7 @@ n0 = new NodeChoice(n3, 1);
   }
 
   /** Reinitialise. */
-  static public void ReInit(java.io.Reader stream) {
+  public void ReInit(java.io.Reader stream) {
 	if (jj_input_stream == null) {
 	   jj_input_stream = new JavaCharStream(stream, 1, 1);
 	} else {
@@ -962,13 +947,6 @@ n0 = new NodeChoice(n3, 1);
 
   /** Constructor with generated Token Manager. */
   public MiniRAParser(MiniRAParserTokenManager tm) {
-	 if (jj_initialized_once) {
-	   System.out.println("ERROR: Second call to constructor of static parser. ");
-	   System.out.println("	   You must either use ReInit() or set the JavaCC option STATIC to false");
-	   System.out.println("	   during parser generation.");
-	   throw new Error();
-	 }
-	 jj_initialized_once = true;
 	 token_source = tm;
 	 token = new Token();
 	 jj_ntk = -1;
@@ -985,7 +963,7 @@ n0 = new NodeChoice(n3, 1);
 	 for (int i = 0; i < 11; i++) jj_la1[i] = -1;
   }
 
-  static private Token jj_consume_token(int kind) throws ParseException {
+  private Token jj_consume_token(int kind) throws ParseException {
 	 Token oldToken;
 	 if ((oldToken = token).next != null) token = token.next;
 	 else token = token.next = token_source.getNextToken();
@@ -1001,7 +979,7 @@ n0 = new NodeChoice(n3, 1);
 
 
 /** Get the next Token. */
-  static final public Token getNextToken() {
+  final public Token getNextToken() {
 	 if (token.next != null) token = token.next;
 	 else token = token.next = token_source.getNextToken();
 	 jj_ntk = -1;
@@ -1010,7 +988,7 @@ n0 = new NodeChoice(n3, 1);
   }
 
 /** Get the specific Token. */
-  static final public Token getToken(int index) {
+  final public Token getToken(int index) {
 	 Token t = token;
 	 for (int i = 0; i < index; i++) {
 	   if (t.next != null) t = t.next;
@@ -1019,19 +997,19 @@ n0 = new NodeChoice(n3, 1);
 	 return t;
   }
 
-  static private int jj_ntk_f() {
+  private int jj_ntk_f() {
 	 if ((jj_nt=token.next) == null)
 	   return (jj_ntk = (token.next=token_source.getNextToken()).kind);
 	 else
 	   return (jj_ntk = jj_nt.kind);
   }
 
-  static private java.util.List<int[]> jj_expentries = new java.util.ArrayList<int[]>();
-  static private int[] jj_expentry;
-  static private int jj_kind = -1;
+  private java.util.List<int[]> jj_expentries = new java.util.ArrayList<int[]>();
+  private int[] jj_expentry;
+  private int jj_kind = -1;
 
   /** Generate ParseException. */
-  static public ParseException generateParseException() {
+  public ParseException generateParseException() {
 	 jj_expentries.clear();
 	 boolean[] la1tokens = new boolean[82];
 	 if (jj_kind >= 0) {
@@ -1067,19 +1045,19 @@ n0 = new NodeChoice(n3, 1);
 	 return new ParseException(token, exptokseq, tokenImage);
   }
 
-  static private boolean trace_enabled;
+  private boolean trace_enabled;
 
 /** Trace enabled. */
-  static final public boolean trace_enabled() {
+  final public boolean trace_enabled() {
 	 return trace_enabled;
   }
 
   /** Enable tracing. */
-  static final public void enable_tracing() {
+  final public void enable_tracing() {
   }
 
   /** Disable tracing. */
-  static final public void disable_tracing() {
+  final public void disable_tracing() {
   }
 
 }
@@ -1,30 +1,67 @@
 import visitor.*;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.Callable;
 
 
 public class P6 {
     public static void main(String [] args) {
+        int status = run(new InputStreamReader(System.in), System.out, System.err);
+        if (status != 0)
+            System.exit(status);
+    }
+
+    /** Prints the MIPS for the miniRA on in; returns main's exit status. */
+    public static int run(Reader in, PrintStream out, PrintStream err) {
         try {
-           
-            MiniRAParser parser = new MiniRAParser(System.in);
+            out.print(compile(in));
 
-            syntaxtree.Goal root = parser.Goal();
+        } catch (ParseException e) {
+            err.println("Parser Error: " + e.getMessage());
+            e.printStackTrace(err);
+        } catch (Exception e) {
+            err.println("An unexpected error occurred:");
+            e.printStackTrace(err);
+        }
+        return 0;
+    }
 
-            
-            GJVisitor<String, Void> visitor = new GJDepthFirst<String, Void>();
+    /**
+     * Translates one miniRA program to MIPS. Returns exactly what
+     * {@link #main} prints for it.
+     */
+    public static String compile(Reader in) throws ParseException {
+        PhaseEvent ev = PhaseEvent.start("parse", 0);
+        MiniRAParser parser = new MiniRAParser(in);
 
-            root.accept(visitor, null);
+        syntaxtree.Goal root = parser.Goal();
+        ev.setInputSize(parser.token.endLine);
+        int procedures = root.f13.size() + 1;
+        ev.finish(procedures);
 
-          
-            String mipsCode = ((GJDepthFirst<String, Void>) visitor).getMIPSCode();
+        ev = PhaseEvent.start("mips", procedures);
+        GJVisitor<String, Void> visitor = new GJDepthFirst<String, Void>();
 
-            System.out.println(mipsCode);
+        root.accept(visitor, null);
 
-        } catch (ParseException e) {
-            System.err.println("Parser Error: " + e.getMessage());
-            e.printStackTrace();
-        } catch (Exception e) {
-            System.err.println("An unexpected error occurred:");
-            e.printStackTrace();
-        }
+
+        String mipsCode = ((GJDepthFirst<String, Void>) visitor).getMIPSCode();
+        ev.finish(mipsCode.length());
+
+        return mipsCode + "\n";
+    }
+
+    /** Parse and MIPS generation of input, each timed alone by Bench. */
+    public static Map<String, Callable<Object>> phases(String input) throws ParseException {
+        syntaxtree.Goal root = new MiniRAParser(new StringReader(input)).Goal();
+
+        Map<String, Callable<Object>> phases = new LinkedHashMap<>();
+        phases.put("parse", () -> new MiniRAParser(new StringReader(input)).Goal());
+        phases.put("mips", () -> {
+            GJDepthFirst<String, Void> v = new GJDepthFirst<String, Void>();
+            root.accept(v, null);
+            return v.getMIPSCode();
+        });
+        return phases;
     }
-}
\ No newline at end of file
+}
@@ -3,18 +3,15 @@ package visitor;
 import syntaxtree.*;
 import java.util.*;
 
+/**
+ * Emits MIPS for one miniRA program into an instance buffer. Create one per
+ * program and read it with {@link #getMIPSCode()}; instances are not
+ * thread-safe but do not share any state with each other.
+ */
 public class GJDepthFirst<R, A> implements GJVisitor<R, A> {
 
     private StringBuilder mipsCode = new StringBuilder();
 
-    private int currentFrameSize = 0;
-    private int currentSpillCount = 0;
-    private int currentNumArgs = 0;
-    private int currentMaxCallArgs = 0;
-
-    private Map<String, Integer> procFrameSize = new HashMap<>();
-    private int globalOutgoingArea = 0;
-
     private void emit(String code) {
         mipsCode.append(code).append("\n");
     }
@@ -71,83 +68,43 @@ public class GJDepthFirst<R, A> implements GJVisitor<R, A> {
         return s;
     }
 
-    private int parseIntOrFail(String s, String ctx) {
-        if (s == null)
-            throw new RuntimeException("Null integer token while parsing " + ctx);
-        s = s.trim();
-        try {
-            return Integer.parseInt(s);
-        } catch (NumberFormatException e) {
-            throw new RuntimeException("Failed to parse int '" + s + "' for " + ctx);
-        }
+    /**
+     * Bytes of stack frame for one procedure: fp and ra, plus a word for every
+     * SPILLEDARG slot up to the highest one its body loads or stores, and at
+     * least its incoming stack arguments. The slot count in the miniRA header
+     * is only an upper bound. Outgoing arguments are passed below $sp, in the
+     * callee's frame, so they take no room here.
+     */
+    private static int frameSize(int numArgs, StmtList body) {
+        SlotScanner scanner = new SlotScanner();
+        body.accept(scanner);
+        int slots = Math.max(scanner.maxSlot + 1, numArgs - 4);
+        return slots * 4 + 8;
     }
 
-    private void computeAllFrameSizes(syntaxtree.Goal goal) {
-        int maxOutgoingArgSpace = 0;
-
-        int mainNumArgs = parseIntOrFail((String) goal.f2.f0.accept(this, null), "main.numArgs");
-        int mainSpillCount = parseIntOrFail((String) goal.f5.f0.accept(this, null), "main.spillCount");
-        int mainMaxCallArgs = parseIntOrFail((String) goal.f8.f0.accept(this, null), "main.maxCallArgs");
-
-        procFrameSize.put("main", computeFrameSize(mainNumArgs, mainSpillCount, mainMaxCallArgs));
-
-        int mainOutgoingSpace = Math.max(0, mainMaxCallArgs - 4) * 4;
-        if (mainOutgoingSpace > maxOutgoingArgSpace)
-            maxOutgoingArgSpace = mainOutgoingSpace;
+    /** Finds the highest SPILLEDARG index in a statement list. */
+    private static class SlotScanner extends DepthFirstVisitor {
+        int maxSlot = -1;
 
-        for (Enumeration<Node> e = goal.f13.elements(); e.hasMoreElements();) {
-            Procedure p = (Procedure) e.nextElement();
-            String raw = (String) p.f0.accept(this, null);
-            String name = stripColon(raw);
-            int na = parseIntOrFail((String) p.f2.f0.accept(this, null), name + ".numArgs");
-            int sc = parseIntOrFail((String) p.f5.f0.accept(this, null), name + ".spillCount");
-            int ma = parseIntOrFail((String) p.f8.f0.accept(this, null), name + ".maxCallArgs");
-
-            procFrameSize.put(name, computeFrameSize(na, sc, ma));
-
-            int procOutgoingSpace = Math.max(0, ma - 4) * 4;
-            if (procOutgoingSpace > maxOutgoingArgSpace)
-                maxOutgoingArgSpace = procOutgoingSpace;
+        @Override
+        public void visit(SpilledArg n) {
+            maxSlot = Math.max(maxSlot, Integer.parseInt(n.f1.f0.tokenImage));
         }
-
-        globalOutgoingArea = maxOutgoingArgSpace;
-
-        if (globalOutgoingArea % 8 != 0)
-            globalOutgoingArea += 4;
-
-    }
-
-    private int computeFrameSize(int numArgs, int spillCount, int maxCallArgs) {
-        int numStackArgs = Math.max(0, numArgs - 4);
-        int spillSpace = spillCount * 4;
-        int sRegSpace = 8 * 4;
-        int raFpSpace = 2 * 4;
-        int localRegAndSpillSpace = spillSpace + sRegSpace + raFpSpace;
-        int stackArgSpace = Math.max(0, maxCallArgs - 4) * 4;
-        int frame = localRegAndSpillSpace + stackArgSpace;
-        if (frame % 8 != 0)
-            frame += 4;
-        return frame;
     }
 
     public R visit(Goal n, A argu) {
-        computeAllFrameSizes((syntaxtree.Goal) n);
-
         emit(".text");
         emit(".globl main");
         emit("main:");
-        String var1 = (String) n.f2.f0.accept(this, argu);
-        String var2 = (String) n.f5.f0.accept(this, argu);
-        String var3 = (String) n.f8.f0.accept(this, argu);
-        int space = Integer.parseInt(var2);
+        int frame = frameSize(Integer.parseInt(n.f2.f0.tokenImage), n.f10);
         emit_t("sw $fp, 0($sp)");
         emit_t("move $fp, $sp");
         emit_t("sw $ra, -4($sp)");
-        emit_t("subu $sp, $sp, " + (space * 4 + 8));
+        emit_t("subu $sp, $sp, " + frame);
         n.f10.accept(this, argu);
         emit_t("lw $ra, -4($fp)");
         emit_t("lw $fp, 0($fp)");
-        emit_t("addu $sp, $sp, " + (space * 4 + 8));
+        emit_t("addu $sp, $sp, " + frame);
         emit_t("j $ra");
 
         n.f13.accept(this, argu);
@@ -207,18 +164,15 @@ public class GJDepthFirst<R, A> implements GJVisitor<R, A> {
         emit(".text");
         emit(".globl " + label);
         emit(label + ":");
-        String var1 = (String) n.f2.f0.accept(this, argu);
-        String var2 = (String) n.f5.f0.accept(this, argu);
-        String var3 = (String) n.f8.f0.accept(this, argu);
-        int space = Integer.parseInt(var2);
+        int frame = frameSize(Integer.parseInt(n.f2.f0.tokenImage), n.f10);
         emit_t("sw $fp, 0($sp)");
         emit_t("move $fp, $sp");
         emit_t("sw $ra, -4($sp)");
-        emit_t("subu $sp, $sp, " + (space * 4 + 8));
+        emit_t("subu $sp, $sp, " + frame);
         n.f10.accept(this, argu);
         emit_t("lw $ra, -4($fp)");
         emit_t("lw $fp, 0($fp)");
-        emit_t("addu $sp, $sp, " + (space * 4 + 8));
+        emit_t("addu $sp, $sp, " + frame);
         emit_t("j $ra");
         return null;
     }
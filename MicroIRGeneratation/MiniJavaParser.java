@@ -6,7 +6,7 @@ import java.util.Vector;
 
 public class MiniJavaParser implements MiniJavaParserConstants {
 
-  static final public Goal Goal() throws ParseException {NodeOptional n0 = new NodeOptional();
+  final public Goal Goal() throws ParseException {NodeOptional n0 = new NodeOptional();
    ImportFunction n1;
    MainClass n2;
    NodeListOptional n3 = new NodeListOptional();
@@ -46,7 +46,7 @@ n6.beginColumn++; n6.endColumn++;
     throw new Error("Missing return statement in function");
 }
 
-  static final public ImportFunction ImportFunction() throws ParseException {NodeToken n0;
+  final public ImportFunction ImportFunction() throws ParseException {NodeToken n0;
    Token n1;
    NodeToken n2;
    Token n3;
@@ -62,7 +62,7 @@ n4 = JTBToolkit.makeNodeToken(n5);
     throw new Error("Missing return statement in function");
 }
 
-  static final public MainClass MainClass() throws ParseException {NodeToken n0;
+  final public MainClass MainClass() throws ParseException {NodeToken n0;
    Token n1;
    Identifier n2;
    NodeToken n3;
@@ -128,7 +128,7 @@ n29 = JTBToolkit.makeNodeToken(n30);
     throw new Error("Missing return statement in function");
 }
 
-  static final public TypeDeclaration TypeDeclaration() throws ParseException {NodeChoice n0;
+  final public TypeDeclaration TypeDeclaration() throws ParseException {NodeChoice n0;
    ClassDeclaration n1;
    ClassExtendsDeclaration n2;
     if (jj_2_1(3)) {
@@ -151,7 +151,7 @@ n0 = new NodeChoice(n2, 1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public ClassDeclaration ClassDeclaration() throws ParseException {NodeToken n0;
+  final public ClassDeclaration ClassDeclaration() throws ParseException {NodeToken n0;
    Token n1;
    Identifier n2;
    NodeToken n3;
@@ -206,7 +206,7 @@ n9 = JTBToolkit.makeNodeToken(n10);
     throw new Error("Missing return statement in function");
 }
 
-  static final public ClassExtendsDeclaration ClassExtendsDeclaration() throws ParseException {NodeToken n0;
+  final public ClassExtendsDeclaration ClassExtendsDeclaration() throws ParseException {NodeToken n0;
    Token n1;
    Identifier n2;
    NodeToken n3;
@@ -267,7 +267,7 @@ n12 = JTBToolkit.makeNodeToken(n13);
     throw new Error("Missing return statement in function");
 }
 
-  static final public VarDeclaration VarDeclaration() throws ParseException {Type n0;
+  final public VarDeclaration VarDeclaration() throws ParseException {Type n0;
    Identifier n1;
    NodeToken n2;
    Token n3;
@@ -279,7 +279,7 @@ n2 = JTBToolkit.makeNodeToken(n3);
     throw new Error("Missing return statement in function");
 }
 
-  static final public MethodDeclaration MethodDeclaration() throws ParseException {NodeToken n0;
+  final public MethodDeclaration MethodDeclaration() throws ParseException {NodeToken n0;
    Token n1;
    Type n2;
    Identifier n3;
@@ -366,7 +366,7 @@ n21 = JTBToolkit.makeNodeToken(n22);
     throw new Error("Missing return statement in function");
 }
 
-  static final public FormalParameterList FormalParameterList() throws ParseException {FormalParameter n0;
+  final public FormalParameterList FormalParameterList() throws ParseException {FormalParameter n0;
    NodeListOptional n1 = new NodeListOptional();
    FormalParameterRest n2;
     n0 = FormalParameter();
@@ -389,7 +389,7 @@ n1.nodes.trimToSize();
     throw new Error("Missing return statement in function");
 }
 
-  static final public FormalParameter FormalParameter() throws ParseException {Type n0;
+  final public FormalParameter FormalParameter() throws ParseException {Type n0;
    Identifier n1;
     n0 = Type();
     n1 = Identifier();
@@ -397,7 +397,7 @@ n1.nodes.trimToSize();
     throw new Error("Missing return statement in function");
 }
 
-  static final public FormalParameterRest FormalParameterRest() throws ParseException {NodeToken n0;
+  final public FormalParameterRest FormalParameterRest() throws ParseException {NodeToken n0;
    Token n1;
    FormalParameter n2;
     n1 = jj_consume_token(58);
@@ -407,7 +407,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Type Type() throws ParseException {NodeChoice n0;
+  final public Type Type() throws ParseException {NodeChoice n0;
    ArrayType n1;
    BooleanType n2;
    IntegerType n3;
@@ -448,7 +448,7 @@ n0 = new NodeChoice(n5, 4);
     throw new Error("Missing return statement in function");
 }
 
-  static final public ArrayType ArrayType() throws ParseException {NodeToken n0;
+  final public ArrayType ArrayType() throws ParseException {NodeToken n0;
    Token n1;
    NodeToken n2;
    Token n3;
@@ -464,7 +464,7 @@ n4 = JTBToolkit.makeNodeToken(n5);
     throw new Error("Missing return statement in function");
 }
 
-  static final public BooleanType BooleanType() throws ParseException {NodeToken n0;
+  final public BooleanType BooleanType() throws ParseException {NodeToken n0;
    Token n1;
     n1 = jj_consume_token(BOOLEAN);
 n0 = JTBToolkit.makeNodeToken(n1);
@@ -472,7 +472,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public IntegerType IntegerType() throws ParseException {NodeToken n0;
+  final public IntegerType IntegerType() throws ParseException {NodeToken n0;
    Token n1;
     n1 = jj_consume_token(INTEGER);
 n0 = JTBToolkit.makeNodeToken(n1);
@@ -480,7 +480,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public LambdaType LambdaType() throws ParseException {NodeToken n0;
+  final public LambdaType LambdaType() throws ParseException {NodeToken n0;
    Token n1;
    NodeToken n2;
    Token n3;
@@ -504,7 +504,7 @@ n8 = JTBToolkit.makeNodeToken(n9);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Statement Statement() throws ParseException {NodeChoice n0;
+  final public Statement Statement() throws ParseException {NodeChoice n0;
    Block n1;
    AssignmentStatement n2;
    ArrayAssignmentStatement n3;
@@ -553,7 +553,7 @@ n0 = new NodeChoice(n6, 5);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Block Block() throws ParseException {NodeToken n0;
+  final public Block Block() throws ParseException {NodeToken n0;
    Token n1;
    NodeListOptional n2 = new NodeListOptional();
    Statement n3;
@@ -586,7 +586,7 @@ n4 = JTBToolkit.makeNodeToken(n5);
     throw new Error("Missing return statement in function");
 }
 
-  static final public AssignmentStatement AssignmentStatement() throws ParseException {Identifier n0;
+  final public AssignmentStatement AssignmentStatement() throws ParseException {Identifier n0;
    NodeToken n1;
    Token n2;
    Expression n3;
@@ -602,7 +602,7 @@ n4 = JTBToolkit.makeNodeToken(n5);
     throw new Error("Missing return statement in function");
 }
 
-  static final public ArrayAssignmentStatement ArrayAssignmentStatement() throws ParseException {Identifier n0;
+  final public ArrayAssignmentStatement ArrayAssignmentStatement() throws ParseException {Identifier n0;
    NodeToken n1;
    Token n2;
    Expression n3;
@@ -628,7 +628,7 @@ n9 = JTBToolkit.makeNodeToken(n10);
     throw new Error("Missing return statement in function");
 }
 
-  static final public IfStatement IfStatement() throws ParseException {NodeChoice n0;
+  final public IfStatement IfStatement() throws ParseException {NodeChoice n0;
    IfthenElseStatement n1;
    IfthenStatement n2;
     if (jj_2_6(2147483647)) {
@@ -651,7 +651,7 @@ n0 = new NodeChoice(n2, 1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public IfthenStatement IfthenStatement() throws ParseException {NodeToken n0;
+  final public IfthenStatement IfthenStatement() throws ParseException {NodeToken n0;
    Token n1;
    NodeToken n2;
    Token n3;
@@ -671,7 +671,7 @@ n5 = JTBToolkit.makeNodeToken(n6);
     throw new Error("Missing return statement in function");
 }
 
-  static final public IfthenElseStatement IfthenElseStatement() throws ParseException {NodeToken n0;
+  final public IfthenElseStatement IfthenElseStatement() throws ParseException {NodeToken n0;
    Token n1;
    NodeToken n2;
    Token n3;
@@ -697,7 +697,7 @@ n8 = JTBToolkit.makeNodeToken(n9);
     throw new Error("Missing return statement in function");
 }
 
-  static final public WhileStatement WhileStatement() throws ParseException {NodeToken n0;
+  final public WhileStatement WhileStatement() throws ParseException {NodeToken n0;
    Token n1;
    NodeToken n2;
    Token n3;
@@ -717,7 +717,7 @@ n5 = JTBToolkit.makeNodeToken(n6);
     throw new Error("Missing return statement in function");
 }
 
-  static final public PrintStatement PrintStatement() throws ParseException {NodeToken n0;
+  final public PrintStatement PrintStatement() throws ParseException {NodeToken n0;
    Token n1;
    NodeToken n2;
    Token n3;
@@ -739,7 +739,7 @@ n7 = JTBToolkit.makeNodeToken(n8);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Expression Expression() throws ParseException {NodeChoice n0;
+  final public Expression Expression() throws ParseException {NodeChoice n0;
    OrExpression n1;
    AndExpression n2;
    CompareExpression n3;
@@ -813,7 +813,7 @@ n0 = new NodeChoice(n13, 12);
     throw new Error("Missing return statement in function");
 }
 
-  static final public LambdaExpression LambdaExpression() throws ParseException {NodeToken n0;
+  final public LambdaExpression LambdaExpression() throws ParseException {NodeToken n0;
    Token n1;
    Identifier n2;
    NodeToken n3;
@@ -833,7 +833,7 @@ n5 = JTBToolkit.makeNodeToken(n6);
     throw new Error("Missing return statement in function");
 }
 
-  static final public AndExpression AndExpression() throws ParseException {PrimaryExpression n0;
+  final public AndExpression AndExpression() throws ParseException {PrimaryExpression n0;
    NodeToken n1;
    Token n2;
    PrimaryExpression n3;
@@ -845,7 +845,7 @@ n1 = JTBToolkit.makeNodeToken(n2);
     throw new Error("Missing return statement in function");
 }
 
-  static final public OrExpression OrExpression() throws ParseException {PrimaryExpression n0;
+  final public OrExpression OrExpression() throws ParseException {PrimaryExpression n0;
    NodeToken n1;
    Token n2;
    PrimaryExpression n3;
@@ -857,7 +857,7 @@ n1 = JTBToolkit.makeNodeToken(n2);
     throw new Error("Missing return statement in function");
 }
 
-  static final public CompareExpression CompareExpression() throws ParseException {PrimaryExpression n0;
+  final public CompareExpression CompareExpression() throws ParseException {PrimaryExpression n0;
    NodeToken n1;
    Token n2;
    PrimaryExpression n3;
@@ -869,7 +869,7 @@ n1 = JTBToolkit.makeNodeToken(n2);
     throw new Error("Missing return statement in function");
 }
 
-  static final public neqExpression neqExpression() throws ParseException {PrimaryExpression n0;
+  final public neqExpression neqExpression() throws ParseException {PrimaryExpression n0;
    NodeToken n1;
    Token n2;
    PrimaryExpression n3;
@@ -881,7 +881,7 @@ n1 = JTBToolkit.makeNodeToken(n2);
     throw new Error("Missing return statement in function");
 }
 
-  static final public AddExpression AddExpression() throws ParseException {PrimaryExpression n0;
+  final public AddExpression AddExpression() throws ParseException {PrimaryExpression n0;
    NodeToken n1;
    Token n2;
    PrimaryExpression n3;
@@ -893,7 +893,7 @@ n1 = JTBToolkit.makeNodeToken(n2);
     throw new Error("Missing return statement in function");
 }
 
-  static final public MinusExpression MinusExpression() throws ParseException {PrimaryExpression n0;
+  final public MinusExpression MinusExpression() throws ParseException {PrimaryExpression n0;
    NodeToken n1;
    Token n2;
    PrimaryExpression n3;
@@ -905,7 +905,7 @@ n1 = JTBToolkit.makeNodeToken(n2);
     throw new Error("Missing return statement in function");
 }
 
-  static final public TimesExpression TimesExpression() throws ParseException {PrimaryExpression n0;
+  final public TimesExpression TimesExpression() throws ParseException {PrimaryExpression n0;
    NodeToken n1;
    Token n2;
    PrimaryExpression n3;
@@ -917,7 +917,7 @@ n1 = JTBToolkit.makeNodeToken(n2);
     throw new Error("Missing return statement in function");
 }
 
-  static final public DivExpression DivExpression() throws ParseException {PrimaryExpression n0;
+  final public DivExpression DivExpression() throws ParseException {PrimaryExpression n0;
    NodeToken n1;
    Token n2;
    PrimaryExpression n3;
@@ -929,7 +929,7 @@ n1 = JTBToolkit.makeNodeToken(n2);
     throw new Error("Missing return statement in function");
 }
 
-  static final public ArrayLookup ArrayLookup() throws ParseException {PrimaryExpression n0;
+  final public ArrayLookup ArrayLookup() throws ParseException {PrimaryExpression n0;
    NodeToken n1;
    Token n2;
    PrimaryExpression n3;
@@ -945,7 +945,7 @@ n4 = JTBToolkit.makeNodeToken(n5);
     throw new Error("Missing return statement in function");
 }
 
-  static final public ArrayLength ArrayLength() throws ParseException {PrimaryExpression n0;
+  final public ArrayLength ArrayLength() throws ParseException {PrimaryExpression n0;
    NodeToken n1;
    Token n2;
    NodeToken n3;
@@ -959,7 +959,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     throw new Error("Missing return statement in function");
 }
 
-  static final public MessageSend MessageSend() throws ParseException {PrimaryExpression n0;
+  final public MessageSend MessageSend() throws ParseException {PrimaryExpression n0;
    NodeToken n1;
    Token n2;
    Identifier n3;
@@ -998,7 +998,7 @@ n8 = JTBToolkit.makeNodeToken(n9);
     throw new Error("Missing return statement in function");
 }
 
-  static final public ExpressionList ExpressionList() throws ParseException {Expression n0;
+  final public ExpressionList ExpressionList() throws ParseException {Expression n0;
    NodeListOptional n1 = new NodeListOptional();
    ExpressionRest n2;
     n0 = Expression();
@@ -1021,7 +1021,7 @@ n1.nodes.trimToSize();
     throw new Error("Missing return statement in function");
 }
 
-  static final public ExpressionRest ExpressionRest() throws ParseException {NodeToken n0;
+  final public ExpressionRest ExpressionRest() throws ParseException {NodeToken n0;
    Token n1;
    Expression n2;
     n1 = jj_consume_token(58);
@@ -1031,7 +1031,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public PrimaryExpression PrimaryExpression() throws ParseException {NodeChoice n0;
+  final public PrimaryExpression PrimaryExpression() throws ParseException {NodeChoice n0;
    IntegerLiteral n1;
    TrueLiteral n2;
    FalseLiteral n3;
@@ -1100,7 +1100,7 @@ n0 = new NodeChoice(n9, 8);
     throw new Error("Missing return statement in function");
 }
 
-  static final public IntegerLiteral IntegerLiteral() throws ParseException {NodeToken n0;
+  final public IntegerLiteral IntegerLiteral() throws ParseException {NodeToken n0;
    Token n1;
     n1 = jj_consume_token(INTEGER_LITERAL);
 n0 = JTBToolkit.makeNodeToken(n1);
@@ -1108,7 +1108,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public TrueLiteral TrueLiteral() throws ParseException {NodeToken n0;
+  final public TrueLiteral TrueLiteral() throws ParseException {NodeToken n0;
    Token n1;
     n1 = jj_consume_token(TRUE);
 n0 = JTBToolkit.makeNodeToken(n1);
@@ -1116,7 +1116,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public FalseLiteral FalseLiteral() throws ParseException {NodeToken n0;
+  final public FalseLiteral FalseLiteral() throws ParseException {NodeToken n0;
    Token n1;
     n1 = jj_consume_token(FALSE);
 n0 = JTBToolkit.makeNodeToken(n1);
@@ -1124,7 +1124,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Identifier Identifier() throws ParseException {NodeToken n0;
+  final public Identifier Identifier() throws ParseException {NodeToken n0;
    Token n1;
     n1 = jj_consume_token(IDENTIFIER);
 n0 = JTBToolkit.makeNodeToken(n1);
@@ -1132,7 +1132,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public ThisExpression ThisExpression() throws ParseException {NodeToken n0;
+  final public ThisExpression ThisExpression() throws ParseException {NodeToken n0;
    Token n1;
     n1 = jj_consume_token(THIS);
 n0 = JTBToolkit.makeNodeToken(n1);
@@ -1140,7 +1140,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public ArrayAllocationExpression ArrayAllocationExpression() throws ParseException {NodeToken n0;
+  final public ArrayAllocationExpression ArrayAllocationExpression() throws ParseException {NodeToken n0;
    Token n1;
    NodeToken n2;
    Token n3;
@@ -1162,7 +1162,7 @@ n7 = JTBToolkit.makeNodeToken(n8);
     throw new Error("Missing return statement in function");
 }
 
-  static final public AllocationExpression AllocationExpression() throws ParseException {NodeToken n0;
+  final public AllocationExpression AllocationExpression() throws ParseException {NodeToken n0;
    Token n1;
    Identifier n2;
    NodeToken n3;
@@ -1180,7 +1180,7 @@ n5 = JTBToolkit.makeNodeToken(n6);
     throw new Error("Missing return statement in function");
 }
 
-  static final public NotExpression NotExpression() throws ParseException {NodeToken n0;
+  final public NotExpression NotExpression() throws ParseException {NodeToken n0;
    Token n1;
    Expression n2;
     n1 = jj_consume_token(NOT);
@@ -1190,7 +1190,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public BracketExpression BracketExpression() throws ParseException {NodeToken n0;
+  final public BracketExpression BracketExpression() throws ParseException {NodeToken n0;
    Token n1;
    Expression n2;
    NodeToken n3;
@@ -1204,7 +1204,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     throw new Error("Missing return statement in function");
 }
 
-  static private boolean jj_2_1(int xla)
+  private boolean jj_2_1(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_1()); }
@@ -1212,7 +1212,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(0, xla); }
   }
 
-  static private boolean jj_2_2(int xla)
+  private boolean jj_2_2(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_2()); }
@@ -1220,7 +1220,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(1, xla); }
   }
 
-  static private boolean jj_2_3(int xla)
+  private boolean jj_2_3(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_3()); }
@@ -1228,7 +1228,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(2, xla); }
   }
 
-  static private boolean jj_2_4(int xla)
+  private boolean jj_2_4(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_4()); }
@@ -1236,7 +1236,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(3, xla); }
   }
 
-  static private boolean jj_2_5(int xla)
+  private boolean jj_2_5(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_5()); }
@@ -1244,7 +1244,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(4, xla); }
   }
 
-  static private boolean jj_2_6(int xla)
+  private boolean jj_2_6(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_6()); }
@@ -1252,7 +1252,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(5, xla); }
   }
 
-  static private boolean jj_2_7(int xla)
+  private boolean jj_2_7(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_7()); }
@@ -1260,7 +1260,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(6, xla); }
   }
 
-  static private boolean jj_2_8(int xla)
+  private boolean jj_2_8(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_8()); }
@@ -1268,7 +1268,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(7, xla); }
   }
 
-  static private boolean jj_2_9(int xla)
+  private boolean jj_2_9(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_9()); }
@@ -1276,7 +1276,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(8, xla); }
   }
 
-  static private boolean jj_2_10(int xla)
+  private boolean jj_2_10(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_10()); }
@@ -1284,7 +1284,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(9, xla); }
   }
 
-  static private boolean jj_2_11(int xla)
+  private boolean jj_2_11(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_11()); }
@@ -1292,7 +1292,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(10, xla); }
   }
 
-  static private boolean jj_2_12(int xla)
+  private boolean jj_2_12(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_12()); }
@@ -1300,7 +1300,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(11, xla); }
   }
 
-  static private boolean jj_2_13(int xla)
+  private boolean jj_2_13(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_13()); }
@@ -1308,7 +1308,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(12, xla); }
   }
 
-  static private boolean jj_2_14(int xla)
+  private boolean jj_2_14(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_14()); }
@@ -1316,7 +1316,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(13, xla); }
   }
 
-  static private boolean jj_2_15(int xla)
+  private boolean jj_2_15(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_15()); }
@@ -1324,7 +1324,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(14, xla); }
   }
 
-  static private boolean jj_2_16(int xla)
+  private boolean jj_2_16(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_16()); }
@@ -1332,7 +1332,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(15, xla); }
   }
 
-  static private boolean jj_2_17(int xla)
+  private boolean jj_2_17(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_17()); }
@@ -1340,7 +1340,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(16, xla); }
   }
 
-  static private boolean jj_2_18(int xla)
+  private boolean jj_2_18(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_18()); }
@@ -1348,7 +1348,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(17, xla); }
   }
 
-  static private boolean jj_2_19(int xla)
+  private boolean jj_2_19(int xla)
  {
     jj_la = xla; jj_lastpos = jj_scanpos = token;
     try { return (!jj_3_19()); }
@@ -1356,25 +1356,25 @@ n3 = JTBToolkit.makeNodeToken(n4);
     finally { jj_save(18, xla); }
   }
 
-  static private boolean jj_3R_PrimaryExpression_1138_7_29()
+  private boolean jj_3R_PrimaryExpression_1138_7_29()
  {
     if (jj_3R_NotExpression_1267_4_57()) return true;
     return false;
   }
 
-  static private boolean jj_3R_Statement_563_7_50()
+  private boolean jj_3R_Statement_563_7_50()
  {
     if (jj_3R_WhileStatement_730_4_76()) return true;
     return false;
   }
 
-  static private boolean jj_3R_PrimaryExpression_1135_7_28()
+  private boolean jj_3R_PrimaryExpression_1135_7_28()
  {
     if (jj_3R_AllocationExpression_1250_4_56()) return true;
     return false;
   }
 
-  static private boolean jj_3R_PrintStatement_754_4_77()
+  private boolean jj_3R_PrintStatement_754_4_77()
  {
     if (jj_scan_token(PRINT)) return true;
     if (jj_scan_token(LPAREN)) return true;
@@ -1384,31 +1384,31 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_Statement_560_7_49()
+  private boolean jj_3R_Statement_560_7_49()
  {
     if (jj_3R_IfStatement_653_4_75()) return true;
     return false;
   }
 
-  static private boolean jj_3_19()
+  private boolean jj_3_19()
  {
     if (jj_3R_ArrayAllocationExpression_1228_4_19()) return true;
     return false;
   }
 
-  static private boolean jj_3_2()
+  private boolean jj_3_2()
  {
     if (jj_3R_VarDeclaration_318_4_12()) return true;
     return false;
   }
 
-  static private boolean jj_3_5()
+  private boolean jj_3_5()
  {
     if (jj_3R_ArrayAssignmentStatement_633_4_15()) return true;
     return false;
   }
 
-  static private boolean jj_3R_AddExpression_940_4_66()
+  private boolean jj_3R_AddExpression_940_4_66()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(PLUS)) return true;
@@ -1416,43 +1416,43 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_PrimaryExpression_1128_7_27()
+  private boolean jj_3R_PrimaryExpression_1128_7_27()
  {
     if (jj_3R_ThisExpression_1208_4_55()) return true;
     return false;
   }
 
-  static private boolean jj_3_4()
+  private boolean jj_3_4()
  {
     if (jj_3R_AssignmentStatement_608_4_14()) return true;
     return false;
   }
 
-  static private boolean jj_3R_PrimaryExpression_1125_7_26()
+  private boolean jj_3R_PrimaryExpression_1125_7_26()
  {
     if (jj_3R_Identifier_1195_4_18()) return true;
     return false;
   }
 
-  static private boolean jj_3R_Statement_549_7_48()
+  private boolean jj_3R_Statement_549_7_48()
  {
     if (jj_3R_Block_585_4_74()) return true;
     return false;
   }
 
-  static private boolean jj_3R_PrimaryExpression_1122_7_25()
+  private boolean jj_3R_PrimaryExpression_1122_7_25()
  {
     if (jj_3R_FalseLiteral_1182_4_54()) return true;
     return false;
   }
 
-  static private boolean jj_3R_PrimaryExpression_1119_7_24()
+  private boolean jj_3R_PrimaryExpression_1119_7_24()
  {
     if (jj_3R_TrueLiteral_1169_4_53()) return true;
     return false;
   }
 
-  static private boolean jj_3R_Statement_548_4_22()
+  private boolean jj_3R_Statement_548_4_22()
  {
     Token xsp;
     xsp = jj_scanpos;
@@ -1475,13 +1475,13 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_PrimaryExpression_1116_7_23()
+  private boolean jj_3R_PrimaryExpression_1116_7_23()
  {
     if (jj_3R_IntegerLiteral_1156_4_52()) return true;
     return false;
   }
 
-  static private boolean jj_3R_PrimaryExpression_1115_4_17()
+  private boolean jj_3R_PrimaryExpression_1115_4_17()
  {
     Token xsp;
     xsp = jj_scanpos;
@@ -1513,7 +1513,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_neqExpression_923_4_65()
+  private boolean jj_3R_neqExpression_923_4_65()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(NE)) return true;
@@ -1521,7 +1521,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_WhileStatement_730_4_76()
+  private boolean jj_3R_WhileStatement_730_4_76()
  {
     if (jj_scan_token(WHILE)) return true;
     if (jj_scan_token(LPAREN)) return true;
@@ -1531,14 +1531,14 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_LambdaType_525_4_61()
+  private boolean jj_3R_LambdaType_525_4_61()
  {
     if (jj_scan_token(FUNCTION)) return true;
     if (jj_scan_token(LT)) return true;
     return false;
   }
 
-  static private boolean jj_3R_CompareExpression_906_4_64()
+  private boolean jj_3R_CompareExpression_906_4_64()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(LE)) return true;
@@ -1546,14 +1546,14 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_ExpressionRest_1093_4_85()
+  private boolean jj_3R_ExpressionRest_1093_4_85()
  {
     if (jj_scan_token(58)) return true;
     if (jj_3R_Expression_783_4_21()) return true;
     return false;
   }
 
-  static private boolean jj_3R_BracketExpression_1284_4_58()
+  private boolean jj_3R_BracketExpression_1284_4_58()
  {
     if (jj_scan_token(LPAREN)) return true;
     if (jj_3R_Expression_783_4_21()) return true;
@@ -1561,7 +1561,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_IfthenElseStatement_705_4_16()
+  private boolean jj_3R_IfthenElseStatement_705_4_16()
  {
     if (jj_scan_token(IF)) return true;
     if (jj_scan_token(LPAREN)) return true;
@@ -1573,14 +1573,14 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_VarDeclaration_318_4_12()
+  private boolean jj_3R_VarDeclaration_318_4_12()
  {
     if (jj_3R_Type_443_4_20()) return true;
     if (jj_3R_Identifier_1195_4_18()) return true;
     return false;
   }
 
-  static private boolean jj_3R_OrExpression_889_4_62()
+  private boolean jj_3R_OrExpression_889_4_62()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(OR)) return true;
@@ -1588,26 +1588,26 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_ExpressionList_1076_7_84()
+  private boolean jj_3R_ExpressionList_1076_7_84()
  {
     if (jj_3R_ExpressionRest_1093_4_85()) return true;
     return false;
   }
 
-  static private boolean jj_3R_IntegerType_504_4_60()
+  private boolean jj_3R_IntegerType_504_4_60()
  {
     if (jj_scan_token(INTEGER)) return true;
     return false;
   }
 
-  static private boolean jj_3R_NotExpression_1267_4_57()
+  private boolean jj_3R_NotExpression_1267_4_57()
  {
     if (jj_scan_token(NOT)) return true;
     if (jj_3R_Expression_783_4_21()) return true;
     return false;
   }
 
-  static private boolean jj_3R_ExpressionList_1074_4_82()
+  private boolean jj_3R_ExpressionList_1074_4_82()
  {
     if (jj_3R_Expression_783_4_21()) return true;
     Token xsp;
@@ -1618,13 +1618,13 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_BooleanType_491_4_59()
+  private boolean jj_3R_BooleanType_491_4_59()
  {
     if (jj_scan_token(BOOLEAN)) return true;
     return false;
   }
 
-  static private boolean jj_3R_AndExpression_872_4_63()
+  private boolean jj_3R_AndExpression_872_4_63()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(AND)) return true;
@@ -1632,7 +1632,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_IfthenStatement_679_4_83()
+  private boolean jj_3R_IfthenStatement_679_4_83()
  {
     if (jj_scan_token(IF)) return true;
     if (jj_scan_token(LPAREN)) return true;
@@ -1642,13 +1642,13 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_MessageSend_1057_7_78()
+  private boolean jj_3R_MessageSend_1057_7_78()
  {
     if (jj_3R_ExpressionList_1074_4_82()) return true;
     return false;
   }
 
-  static private boolean jj_3R_AllocationExpression_1250_4_56()
+  private boolean jj_3R_AllocationExpression_1250_4_56()
  {
     if (jj_scan_token(NEW)) return true;
     if (jj_3R_Identifier_1195_4_18()) return true;
@@ -1657,7 +1657,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_MessageSend_1052_4_72()
+  private boolean jj_3R_MessageSend_1052_4_72()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(DOT)) return true;
@@ -1670,7 +1670,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_ArrayType_476_4_13()
+  private boolean jj_3R_ArrayType_476_4_13()
  {
     if (jj_scan_token(INTEGER)) return true;
     if (jj_scan_token(LSQPAREN)) return true;
@@ -1678,13 +1678,13 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3_6()
+  private boolean jj_3_6()
  {
     if (jj_3R_IfthenElseStatement_705_4_16()) return true;
     return false;
   }
 
-  static private boolean jj_3R_LambdaExpression_853_4_73()
+  private boolean jj_3R_LambdaExpression_853_4_73()
  {
     if (jj_scan_token(LPAREN)) return true;
     if (jj_3R_Identifier_1195_4_18()) return true;
@@ -1694,19 +1694,19 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_IfStatement_658_7_81()
+  private boolean jj_3R_IfStatement_658_7_81()
  {
     if (jj_3R_IfthenStatement_679_4_83()) return true;
     return false;
   }
 
-  static private boolean jj_3R_IfStatement_654_7_80()
+  private boolean jj_3R_IfStatement_654_7_80()
  {
     if (jj_3R_IfthenElseStatement_705_4_16()) return true;
     return false;
   }
 
-  static private boolean jj_3R_ArrayAllocationExpression_1228_4_19()
+  private boolean jj_3R_ArrayAllocationExpression_1228_4_19()
  {
     if (jj_scan_token(NEW)) return true;
     if (jj_scan_token(INTEGER)) return true;
@@ -1716,7 +1716,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_IfStatement_653_4_75()
+  private boolean jj_3R_IfStatement_653_4_75()
  {
     Token xsp;
     xsp = jj_scanpos;
@@ -1727,13 +1727,13 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_Type_457_7_34()
+  private boolean jj_3R_Type_457_7_34()
  {
     if (jj_3R_LambdaType_525_4_61()) return true;
     return false;
   }
 
-  static private boolean jj_3_18()
+  private boolean jj_3_18()
  {
     if (jj_scan_token(LPAREN)) return true;
     if (jj_3R_Identifier_1195_4_18()) return true;
@@ -1742,13 +1742,13 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_Type_454_7_33()
+  private boolean jj_3R_Type_454_7_33()
  {
     if (jj_3R_Identifier_1195_4_18()) return true;
     return false;
   }
 
-  static private boolean jj_3R_ArrayLength_1029_4_71()
+  private boolean jj_3R_ArrayLength_1029_4_71()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(DOT)) return true;
@@ -1756,7 +1756,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3_17()
+  private boolean jj_3_17()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(DOT)) return true;
@@ -1765,25 +1765,25 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_Type_451_7_32()
+  private boolean jj_3R_Type_451_7_32()
  {
     if (jj_3R_IntegerType_504_4_60()) return true;
     return false;
   }
 
-  static private boolean jj_3R_Expression_832_7_47()
+  private boolean jj_3R_Expression_832_7_47()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     return false;
   }
 
-  static private boolean jj_3R_Type_448_7_31()
+  private boolean jj_3R_Type_448_7_31()
  {
     if (jj_3R_BooleanType_491_4_59()) return true;
     return false;
   }
 
-  static private boolean jj_3_16()
+  private boolean jj_3_16()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(DOT)) return true;
@@ -1791,38 +1791,38 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_Expression_828_7_46()
+  private boolean jj_3R_Expression_828_7_46()
  {
     if (jj_3R_LambdaExpression_853_4_73()) return true;
     return false;
   }
 
-  static private boolean jj_3_3()
+  private boolean jj_3_3()
  {
     if (jj_3R_ArrayType_476_4_13()) return true;
     return false;
   }
 
-  static private boolean jj_3_15()
+  private boolean jj_3_15()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(LSQPAREN)) return true;
     return false;
   }
 
-  static private boolean jj_3R_Expression_824_7_45()
+  private boolean jj_3R_Expression_824_7_45()
  {
     if (jj_3R_MessageSend_1052_4_72()) return true;
     return false;
   }
 
-  static private boolean jj_3R_ThisExpression_1208_4_55()
+  private boolean jj_3R_ThisExpression_1208_4_55()
  {
     if (jj_scan_token(THIS)) return true;
     return false;
   }
 
-  static private boolean jj_3R_Type_443_4_20()
+  private boolean jj_3R_Type_443_4_20()
  {
     Token xsp;
     xsp = jj_scanpos;
@@ -1842,14 +1842,14 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3_14()
+  private boolean jj_3_14()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(DIV)) return true;
     return false;
   }
 
-  static private boolean jj_3R_ArrayAssignmentStatement_633_4_15()
+  private boolean jj_3R_ArrayAssignmentStatement_633_4_15()
  {
     if (jj_3R_Identifier_1195_4_18()) return true;
     if (jj_scan_token(LSQPAREN)) return true;
@@ -1861,7 +1861,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_ClassDeclaration_250_4_11()
+  private boolean jj_3R_ClassDeclaration_250_4_11()
  {
     if (jj_scan_token(CLASS)) return true;
     if (jj_3R_Identifier_1195_4_18()) return true;
@@ -1869,20 +1869,20 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_Expression_820_7_44()
+  private boolean jj_3R_Expression_820_7_44()
  {
     if (jj_3R_ArrayLength_1029_4_71()) return true;
     return false;
   }
 
-  static private boolean jj_3_13()
+  private boolean jj_3_13()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(MULT)) return true;
     return false;
   }
 
-  static private boolean jj_3R_ArrayLookup_1010_4_70()
+  private boolean jj_3R_ArrayLookup_1010_4_70()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(LSQPAREN)) return true;
@@ -1891,78 +1891,78 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_Expression_816_7_43()
+  private boolean jj_3R_Expression_816_7_43()
  {
     if (jj_3R_ArrayLookup_1010_4_70()) return true;
     return false;
   }
 
-  static private boolean jj_3_12()
+  private boolean jj_3_12()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(MINUS)) return true;
     return false;
   }
 
-  static private boolean jj_3R_Expression_812_7_42()
+  private boolean jj_3R_Expression_812_7_42()
  {
     if (jj_3R_DivExpression_991_4_69()) return true;
     return false;
   }
 
-  static private boolean jj_3_11()
+  private boolean jj_3_11()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(PLUS)) return true;
     return false;
   }
 
-  static private boolean jj_3R_Identifier_1195_4_18()
+  private boolean jj_3R_Identifier_1195_4_18()
  {
     if (jj_scan_token(IDENTIFIER)) return true;
     return false;
   }
 
-  static private boolean jj_3R_Expression_808_7_41()
+  private boolean jj_3R_Expression_808_7_41()
  {
     if (jj_3R_TimesExpression_974_4_68()) return true;
     return false;
   }
 
-  static private boolean jj_3_10()
+  private boolean jj_3_10()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(NE)) return true;
     return false;
   }
 
-  static private boolean jj_3R_Expression_804_7_40()
+  private boolean jj_3R_Expression_804_7_40()
  {
     if (jj_3R_MinusExpression_957_4_67()) return true;
     return false;
   }
 
-  static private boolean jj_3_9()
+  private boolean jj_3_9()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(LE)) return true;
     return false;
   }
 
-  static private boolean jj_3R_Expression_800_7_39()
+  private boolean jj_3R_Expression_800_7_39()
  {
     if (jj_3R_AddExpression_940_4_66()) return true;
     return false;
   }
 
-  static private boolean jj_3_8()
+  private boolean jj_3_8()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(AND)) return true;
     return false;
   }
 
-  static private boolean jj_3R_DivExpression_991_4_69()
+  private boolean jj_3R_DivExpression_991_4_69()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(DIV)) return true;
@@ -1970,13 +1970,13 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_FalseLiteral_1182_4_54()
+  private boolean jj_3R_FalseLiteral_1182_4_54()
  {
     if (jj_scan_token(FALSE)) return true;
     return false;
   }
 
-  static private boolean jj_3R_AssignmentStatement_608_4_14()
+  private boolean jj_3R_AssignmentStatement_608_4_14()
  {
     if (jj_3R_Identifier_1195_4_18()) return true;
     if (jj_scan_token(ASSIGN)) return true;
@@ -1985,50 +1985,50 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_Expression_796_7_38()
+  private boolean jj_3R_Expression_796_7_38()
  {
     if (jj_3R_neqExpression_923_4_65()) return true;
     return false;
   }
 
-  static private boolean jj_3_1()
+  private boolean jj_3_1()
  {
     if (jj_3R_ClassDeclaration_250_4_11()) return true;
     return false;
   }
 
-  static private boolean jj_3_7()
+  private boolean jj_3_7()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(OR)) return true;
     return false;
   }
 
-  static private boolean jj_3R_Expression_792_7_37()
+  private boolean jj_3R_Expression_792_7_37()
  {
     if (jj_3R_CompareExpression_906_4_64()) return true;
     return false;
   }
 
-  static private boolean jj_3R_Expression_788_7_36()
+  private boolean jj_3R_Expression_788_7_36()
  {
     if (jj_3R_AndExpression_872_4_63()) return true;
     return false;
   }
 
-  static private boolean jj_3R_Expression_784_7_35()
+  private boolean jj_3R_Expression_784_7_35()
  {
     if (jj_3R_OrExpression_889_4_62()) return true;
     return false;
   }
 
-  static private boolean jj_3R_TrueLiteral_1169_4_53()
+  private boolean jj_3R_TrueLiteral_1169_4_53()
  {
     if (jj_scan_token(TRUE)) return true;
     return false;
   }
 
-  static private boolean jj_3R_TimesExpression_974_4_68()
+  private boolean jj_3R_TimesExpression_974_4_68()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(MULT)) return true;
@@ -2036,7 +2036,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_Expression_783_4_21()
+  private boolean jj_3R_Expression_783_4_21()
  {
     Token xsp;
     xsp = jj_scanpos;
@@ -2080,13 +2080,13 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_Block_587_7_79()
+  private boolean jj_3R_Block_587_7_79()
  {
     if (jj_3R_Statement_548_4_22()) return true;
     return false;
   }
 
-  static private boolean jj_3R_Block_585_4_74()
+  private boolean jj_3R_Block_585_4_74()
  {
     if (jj_scan_token(LBRACE)) return true;
     Token xsp;
@@ -2098,13 +2098,13 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_IntegerLiteral_1156_4_52()
+  private boolean jj_3R_IntegerLiteral_1156_4_52()
  {
     if (jj_scan_token(INTEGER_LITERAL)) return true;
     return false;
   }
 
-  static private boolean jj_3R_MinusExpression_957_4_67()
+  private boolean jj_3R_MinusExpression_957_4_67()
  {
     if (jj_3R_PrimaryExpression_1115_4_17()) return true;
     if (jj_scan_token(MINUS)) return true;
@@ -2112,31 +2112,30 @@ n3 = JTBToolkit.makeNodeToken(n4);
     return false;
   }
 
-  static private boolean jj_3R_PrimaryExpression_1141_7_30()
+  private boolean jj_3R_PrimaryExpression_1141_7_30()
  {
     if (jj_3R_BracketExpression_1284_4_58()) return true;
     return false;
   }
 
-  static private boolean jj_3R_Statement_566_7_51()
+  private boolean jj_3R_Statement_566_7_51()
  {
     if (jj_3R_PrintStatement_754_4_77()) return true;
     return false;
   }
 
-  static private boolean jj_initialized_once = false;
   /** Generated Token Manager. */
-  static public MiniJavaParserTokenManager token_source;
-  static JavaCharStream jj_input_stream;
+  public MiniJavaParserTokenManager token_source;
+  JavaCharStream jj_input_stream;
   /** Current token. */
-  static public Token token;
+  public Token token;
   /** Next token. */
-  static public Token jj_nt;
-  static private int jj_ntk;
-  static private Token jj_scanpos, jj_lastpos;
-  static private int jj_la;
-  static private int jj_gen;
-  static final private int[] jj_la1 = new int[20];
+  public Token jj_nt;
+  private int jj_ntk;
+  private Token jj_scanpos, jj_lastpos;
+  private int jj_la;
+  private int jj_gen;
+  final private int[] jj_la1 = new int[20];
   static private int[] jj_la1_0;
   static private int[] jj_la1_1;
   static {
@@ -2149,9 +2148,9 @@ n3 = JTBToolkit.makeNodeToken(n4);
 	private static void jj_la1_init_1() {
 	   jj_la1_1 = new int[] {0x100000,0x0,0x0,0x880040,0x400,0x880040,0x400,0x880040,0x810030,0x4000000,0x880040,0x0,0x10030,0x810030,0x10,0xc0c208,0xc0c208,0x4000000,0xc0c008,0x200,};
 	}
-  static final private JJCalls[] jj_2_rtns = new JJCalls[19];
-  static private boolean jj_rescan = false;
-  static private int jj_gc = 0;
+  final private JJCalls[] jj_2_rtns = new JJCalls[19];
+  private boolean jj_rescan = false;
+  private int jj_gc = 0;
 
   /** Constructor with InputStream. */
   public MiniJavaParser(java.io.InputStream stream) {
@@ -2159,13 +2158,6 @@ n3 = JTBToolkit.makeNodeToken(n4);
   }
   /** Constructor with InputStream and supplied encoding */
   public MiniJavaParser(java.io.InputStream stream, String encoding) {
-	 if (jj_initialized_once) {
-	   System.out.println("ERROR: Second call to constructor of static parser.  ");
-	   System.out.println("	   You must either use ReInit() or set the JavaCC option STATIC to false");
-	   System.out.println("	   during parser generation.");
-	   throw new Error();
-	 }
-	 jj_initialized_once = true;
 	 try { jj_input_stream = new JavaCharStream(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
 	 token_source = new MiniJavaParserTokenManager(jj_input_stream);
 	 token = new Token();
@@ -2176,11 +2168,11 @@ n3 = JTBToolkit.makeNodeToken(n4);
   }
 
   /** Reinitialise. */
-  static public void ReInit(java.io.InputStream stream) {
+  public void ReInit(java.io.InputStream stream) {
 	  ReInit(stream, null);
   }
   /** Reinitialise. */
-  static public void ReInit(java.io.InputStream stream, String encoding) {
+  public void ReInit(java.io.InputStream stream, String encoding) {
 	 try { jj_input_stream.ReInit(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
 	 token_source.ReInit(jj_input_stream);
 	 token = new Token();
@@ -2192,13 +2184,6 @@ n3 = JTBToolkit.makeNodeToken(n4);
 
   /** Constructor. */
   public MiniJavaParser(java.io.Reader stream) {
-	 if (jj_initialized_once) {
-	   System.out.println("ERROR: Second call to constructor of static parser. ");
-	   System.out.println("	   You must either use ReInit() or set the JavaCC option STATIC to false");
-	   System.out.println("	   during parser generation.");
-	   throw new Error();
-	 }
-	 jj_initialized_once = true;
 	 jj_input_stream = new JavaCharStream(stream, 1, 1);
 	 token_source = new MiniJavaParserTokenManager(jj_input_stream);
 	 token = new Token();
@@ -2209,7 +2194,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
   }
 
   /** Reinitialise. */
-  static public void ReInit(java.io.Reader stream) {
+  public void ReInit(java.io.Reader stream) {
 	if (jj_input_stream == null) {
 	   jj_input_stream = new JavaCharStream(stream, 1, 1);
 	} else {
@@ -2229,13 +2214,6 @@ n3 = JTBToolkit.makeNodeToken(n4);
 
   /** Constructor with generated Token Manager. */
   public MiniJavaParser(MiniJavaParserTokenManager tm) {
-	 if (jj_initialized_once) {
-	   System.out.println("ERROR: Second call to constructor of static parser. ");
-	   System.out.println("	   You must either use ReInit() or set the JavaCC option STATIC to false");
-	   System.out.println("	   during parser generation.");
-	   throw new Error();
-	 }
-	 jj_initialized_once = true;
 	 token_source = tm;
 	 token = new Token();
 	 jj_ntk = -1;
@@ -2254,7 +2232,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
 	 for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
-  static private Token jj_consume_token(int kind) throws ParseException {
+  private Token jj_consume_token(int kind) throws ParseException {
 	 Token oldToken;
 	 if ((oldToken = token).next != null) token = token.next;
 	 else token = token.next = token_source.getNextToken();
@@ -2285,8 +2263,8 @@ n3 = JTBToolkit.makeNodeToken(n4);
       return this;
     }
   }
-  static private final LookaheadSuccess jj_ls = new LookaheadSuccess();
-  static private boolean jj_scan_token(int kind) {
+  private final LookaheadSuccess jj_ls = new LookaheadSuccess();
+  private boolean jj_scan_token(int kind) {
 	 if (jj_scanpos == jj_lastpos) {
 	   jj_la--;
 	   if (jj_scanpos.next == null) {
@@ -2309,7 +2287,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
 
 
 /** Get the next Token. */
-  static final public Token getNextToken() {
+  final public Token getNextToken() {
 	 if (token.next != null) token = token.next;
 	 else token = token.next = token_source.getNextToken();
 	 jj_ntk = -1;
@@ -2318,7 +2296,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
   }
 
 /** Get the specific Token. */
-  static final public Token getToken(int index) {
+  final public Token getToken(int index) {
 	 Token t = token;
 	 for (int i = 0; i < index; i++) {
 	   if (t.next != null) t = t.next;
@@ -2327,20 +2305,20 @@ n3 = JTBToolkit.makeNodeToken(n4);
 	 return t;
   }
 
-  static private int jj_ntk_f() {
+  private int jj_ntk_f() {
 	 if ((jj_nt=token.next) == null)
 	   return (jj_ntk = (token.next=token_source.getNextToken()).kind);
 	 else
 	   return (jj_ntk = jj_nt.kind);
   }
 
-  static private java.util.List<int[]> jj_expentries = new java.util.ArrayList<int[]>();
-  static private int[] jj_expentry;
-  static private int jj_kind = -1;
-  static private int[] jj_lasttokens = new int[100];
-  static private int jj_endpos;
+  private java.util.List<int[]> jj_expentries = new java.util.ArrayList<int[]>();
+  private int[] jj_expentry;
+  private int jj_kind = -1;
+  private int[] jj_lasttokens = new int[100];
+  private int jj_endpos;
 
-  static private void jj_add_error_token(int kind, int pos) {
+  private void jj_add_error_token(int kind, int pos) {
 	 if (pos >= 100) {
 		return;
 	 }
@@ -2379,7 +2357,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
   }
 
   /** Generate ParseException. */
-  static public ParseException generateParseException() {
+  public ParseException generateParseException() {
 	 jj_expentries.clear();
 	 boolean[] la1tokens = new boolean[59];
 	 if (jj_kind >= 0) {
@@ -2415,22 +2393,22 @@ n3 = JTBToolkit.makeNodeToken(n4);
 	 return new ParseException(token, exptokseq, tokenImage);
   }
 
-  static private boolean trace_enabled;
+  private boolean trace_enabled;
 
 /** Trace enabled. */
-  static final public boolean trace_enabled() {
+  final public boolean trace_enabled() {
 	 return trace_enabled;
   }
 
   /** Enable tracing. */
-  static final public void enable_tracing() {
+  final public void enable_tracing() {
   }
 
   /** Disable tracing. */
-  static final public void disable_tracing() {
+  final public void disable_tracing() {
   }
 
-  static private void jj_rescan_token() {
+  private void jj_rescan_token() {
 	 jj_rescan = true;
 	 for (int i = 0; i < 19; i++) {
 	   try {
@@ -2469,7 +2447,7 @@ n3 = JTBToolkit.makeNodeToken(n4);
 	 jj_rescan = false;
   }
 
-  static private void jj_save(int index, int xla) {
+  private void jj_save(int index, int xla) {
 	 JJCalls p = jj_2_rtns[index];
 	 while (p.gen > jj_gen) {
 	   if (p.next == null) { p = p.next = new JJCalls(); break; }
@@ -1,26 +1,69 @@
 import syntaxtree.*;
 import visitor.*;
-import java.util.Map;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.Callable;
 
 
 public class P3 {
     public static void main(String [] args) {
-        try {
-            Node root = new MiniJavaParser(System.in).Goal();
-            
-            SymbolTableVisitor stVisitor = new SymbolTableVisitor();
-            root.accept(stVisitor, null);
-            Map<String, ClassInfo> symbolTable = stVisitor.getSymbolTable();
-            Map<Node, String> lambdaMap = stVisitor.getLambdaAstToClassName();
-            
-            MiniIRVisitor irVisitor = new MiniIRVisitor(symbolTable, lambdaMap);
-            
-            MiniIRExp result = root.accept(irVisitor, null);
-            
-            System.out.println(result.code);
+        int status = run(new InputStreamReader(System.in), System.out, System.err);
+        if (status != 0)
+            System.exit(status);
+    }
 
+    /** Prints the MiniIR for the MiniJava on in; returns main's exit status. */
+    public static int run(Reader in, PrintStream out, PrintStream err) {
+        try {
+            out.print(compile(in));
+            return 0;
         } catch (Exception e) {
-            System.exit(1);
+            if (e.getMessage() != null)
+                err.println(e.getMessage());
+            return 1;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Translates one MiniJava program to MiniIR. Returns exactly what
+     * {@link #main} prints for it.
+     */
+    public static String compile(Reader in) throws ParseException {
+        PhaseEvent ev = PhaseEvent.start("parse", 0);
+        MiniJavaParser parser = new MiniJavaParser(in);
+        Goal root = parser.Goal();
+        ev.setInputSize(parser.token.endLine);
+        int classes = root.f2.size() + 1;
+        ev.finish(classes);
+
+        ev = PhaseEvent.start("symbols", classes);
+        SymbolTableVisitor stVisitor = new SymbolTableVisitor();
+        root.accept(stVisitor, null);
+        Map<String, ClassInfo> symbolTable = stVisitor.getSymbolTable();
+        Map<Node, String> lambdaMap = stVisitor.getLambdaAstToClassName();
+        ev.finish(symbolTable.size());
+
+        MiniIRVisitor irVisitor = new MiniIRVisitor(symbolTable, lambdaMap);
+
+        MiniIRExp result = root.accept(irVisitor, null);
+
+        return result.code.append("\n").toString();
+    }
+
+    /** Parse, symbol table and MiniIR generation of input, each timed alone by Bench. */
+    public static Map<String, Callable<Object>> phases(String input) throws ParseException {
+        Node root = new MiniJavaParser(new StringReader(input)).Goal();
+        SymbolTableVisitor st = new SymbolTableVisitor();
+        root.accept(st, null);
+
+        Map<String, Callable<Object>> phases = new LinkedHashMap<>();
+        phases.put("parse", () -> new MiniJavaParser(new StringReader(input)).Goal());
+        phases.put("symbols", () -> {
+            SymbolTableVisitor v = new SymbolTableVisitor();
+            root.accept(v, null);
+            return v;
+        });
+        phases.put("miniir", () -> root.accept(new MiniIRVisitor(st.getSymbolTable(), st.getLambdaAstToClassName()), null));
+        return phases;
+    }
+}
@@ -0,0 +1,92 @@
+package visitor;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Append-only buffer for generated code, kept as a rope. Text appended to a
+ * Code is copied into its current segment once; another Code appended to it
+ * is linked in without copying. A parent can therefore wrap its children's
+ * code in O(1) per level, however deeply they nest, and the program text is
+ * assembled in a single pass by {@link #toString} or {@link #writeTo}.
+ *
+ * A Code must be finished before it is appended to another, and appended to
+ * at most one other.
+ */
+public final class Code {
+
+    /** Finished text segments (StringBuilder) and linked children (Code), in order. */
+    private final List<Object> parts = new ArrayList<>(2);
+    private StringBuilder text;
+    private int length;
+
+    public Code() {
+    }
+
+    public Code(String s) {
+        append(s);
+    }
+
+    public Code append(String s) {
+        if (s.isEmpty())
+            return this;
+        if (text == null)
+            text = new StringBuilder(Math.max(32, s.length()));
+        text.append(s);
+        length += s.length();
+        return this;
+    }
+
+    public Code append(int i) {
+        return append(Integer.toString(i));
+    }
+
+    public Code append(Code c) {
+        if (c == null || c.length == 0)
+            return this;
+        if (text != null) {
+            parts.add(text);
+            text = null;
+        }
+        parts.add(c);
+        length += c.length;
+        return this;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    public void appendTo(StringBuilder sb) {
+        for (Object p : parts) {
+            if (p instanceof Code)
+                ((Code) p).appendTo(sb);
+            else
+                sb.append((CharSequence) p);
+        }
+        if (text != null)
+            sb.append(text);
+    }
+
+    public void writeTo(Writer out) throws IOException {
+        for (Object p : parts) {
+            if (p instanceof Code)
+                ((Code) p).writeTo(out);
+            else
+                out.append((CharSequence) p);
+        }
+        if (text != null)
+            out.append(text);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(length);
+        appendTo(sb);
+        return sb.toString();
+    }
+}
@@ -6,13 +6,17 @@ import java.util.List;
 import java.util.ArrayList;
 
 public class MiniIRExp {
-    public String code;
+    public Code code;
     public String result; 
 
-    public MiniIRExp(String code, String result) {
+    public MiniIRExp(Code code, String result) {
         this.code = code;
         this.result = result;
     }
+
+    public MiniIRExp(String code, String result) {
+        this(new Code(code), result);
+    }
 }
 
 class ClassLayout {
@@ -65,4 +69,4 @@ class VTable {
             methodLabels.add(definingClass + "_" + methodName);
         }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
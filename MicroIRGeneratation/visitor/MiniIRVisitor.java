@@ -3,6 +3,14 @@ package visitor;
 import syntaxtree.*;
 import java.util.*;
 
+/**
+ * Lowers a type-checked MiniJava tree to MiniIR text.
+ *
+ * Thread safety: an instance carries the temp and label counters, class
+ * layouts and vtables of one program, so it must not be shared between
+ * compilations. Separate instances have no common state and can run on
+ * different threads at the same time.
+ */
 public class MiniIRVisitor extends GJDepthFirst<MiniIRExp, Map<String, String>> {
 
    private final Map<String, ClassInfo> symbolTable;
@@ -10,6 +18,11 @@ public class MiniIRVisitor extends GJDepthFirst<MiniIRExp, Map<String, String>>
    private final Map<String, VTable> vTables;
    private final Map<Node, String> lambdaAstToClassName;
    private static final String VTABLE_DIRECTORY_PTR = "TEMP 30";
+   /**
+    * Word 0 of every vtable points back to the vtable directory, so a method
+    * can reach the directory through this; method pointers follow it.
+    */
+   private static final int VTABLE_HEADER = 4;
    private int tempCounter = 100;
    private int labelCounter = 0;
    private String currentClassName;
@@ -263,10 +276,10 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
 
     if (!receiver.result.startsWith("TEMP")) {
         String tmp = newTemp();
-        receiver = new MiniIRExp(receiver.code + "MOVE " + tmp + " " + receiver.result + "\n", tmp);
+        receiver = new MiniIRExp(new Code().append(receiver.code).append("MOVE " + tmp + " " + receiver.result + "\n"), tmp);
     }
 
-    StringBuilder argsCode = new StringBuilder();
+    Code argsCode = new Code();
     List<String> argsTemps = new ArrayList<>();
     if (n.f4.present()) {
         ExpressionList el = (ExpressionList) n.f4.node;
@@ -309,11 +322,11 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
 
     String vtablePtr = newTemp(), methodPtr = newTemp(), resultTemp = newTemp();
     String argsList = String.join(" ", argsTemps);
-    String code = receiver.code + argsCode.toString() +
+    Code code = new Code().append(receiver.code).append(argsCode).append(
           "HLOAD " + vtablePtr + " " + receiver.result + " 0\n" +
-          "HLOAD " + methodPtr + " " + vtablePtr + " " + offset + "\n" +
+          "HLOAD " + methodPtr + " " + vtablePtr + " " + (VTABLE_HEADER + offset) + "\n" +
           "MOVE " + resultTemp + " CALL " + methodPtr + " ( " + receiver.result
-          + (argsList.isEmpty() ? "" : " " + argsList) + " )\n";
+          + (argsList.isEmpty() ? "" : " " + argsList) + " )\n");
     return new MiniIRExp(code, resultTemp);
 }
 
@@ -385,8 +398,8 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       MiniIRExp lhs = n1.accept(this, env);
       MiniIRExp rhs = n2.accept(this, env);
       String temp = newTemp();
-      String code = (lhs.code == null ? "" : lhs.code) + (rhs.code == null ? "" : rhs.code)
-            + "MOVE " + temp + " " + op + " " + lhs.result + " " + rhs.result + "\n";
+      Code code = new Code().append(lhs.code).append(rhs.code)
+            .append("MOVE " + temp + " " + op + " " + lhs.result + " " + rhs.result + "\n");
       return new MiniIRExp(code, temp);
    }
 
@@ -400,14 +413,15 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       for (String cname : sorted) {
          VTable vt = vTables.get(cname);
          String classVTablePtr = newTemp();
-         sb.append("MOVE ").append(classVTablePtr).append(" HALLOCATE ").append(vt.methodLabels.size() * 4)
-               .append("\n");
+         sb.append("MOVE ").append(classVTablePtr).append(" HALLOCATE ")
+               .append(VTABLE_HEADER + vt.methodLabels.size() * 4).append("\n");
+         sb.append("HSTORE ").append(classVTablePtr).append(" 0 ").append(VTABLE_DIRECTORY_PTR).append("\n");
          for (int i = 0; i < vt.methodLabels.size(); i++) {
             String methodLabel = vt.methodLabels.get(i);
             String methodAddrTemp = newTemp();
             sb.append("MOVE ").append(methodAddrTemp).append(" ").append(methodLabel).append("\n");
-            sb.append("HSTORE ").append(classVTablePtr).append(" ").append(i * 4).append(" ").append(methodAddrTemp)
-                  .append("\n");
+            sb.append("HSTORE ").append(classVTablePtr).append(" ").append(VTABLE_HEADER + i * 4).append(" ")
+                  .append(methodAddrTemp).append("\n");
          }
          sb.append("HSTORE ").append(VTABLE_DIRECTORY_PTR).append(" ").append(idx * 4).append(" ")
                .append(classVTablePtr).append("\n");
@@ -417,28 +431,46 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       return sb.toString();
    }
 
+   /**
+    * Puts the vtable of cname into vptr. MAIN reads it from the directory in
+    * VTABLE_DIRECTORY_PTR. A procedure cannot, because temps do not outlive
+    * the procedure that defines them; it finds the directory through the
+    * vtable of this (TEMP 0), which every procedure outside MAIN has.
+    */
+   private void loadVTable(String cname, String vptr, StringBuilder code) {
+      String dir = VTABLE_DIRECTORY_PTR;
+      if (currentMethodName != null) {
+         String thisVTable = newTemp();
+         dir = newTemp();
+         code.append("HLOAD ").append(thisVTable).append(" TEMP 0 0\n");
+         code.append("HLOAD ").append(dir).append(" ").append(thisVTable).append(" 0\n");
+      }
+      code.append("HLOAD ").append(vptr).append(" ").append(dir).append(" ")
+            .append(classLayouts.get(cname).vTableDirectoryIndex * 4).append("\n");
+   }
+
    public MiniIRExp visit(NodeList n, Map<String, String> env) {
-      StringBuilder sb = new StringBuilder();
+      Code code = new Code();
       for (Enumeration<Node> e = n.elements(); e.hasMoreElements();) {
          Node node = e.nextElement();
          MiniIRExp child = (MiniIRExp) node.accept(this, env);
-         if (child != null && child.code != null)
-            sb.append(child.code);
+         if (child != null)
+            code.append(child.code);
       }
-      return new MiniIRExp(sb.toString(), null);
+      return new MiniIRExp(code, null);
    }
 
    public MiniIRExp visit(NodeListOptional n, Map<String, String> env) {
       if (!n.present())
          return new MiniIRExp("", null);
-      StringBuilder sb = new StringBuilder();
+      Code code = new Code();
       for (Enumeration<Node> e = n.elements(); e.hasMoreElements();) {
          Node node = e.nextElement();
          MiniIRExp child = (MiniIRExp) node.accept(this, env);
-         if (child != null && child.code != null)
-            sb.append(child.code);
+         if (child != null)
+            code.append(child.code);
       }
-      return new MiniIRExp(sb.toString(), null);
+      return new MiniIRExp(code, null);
    }
 
    public MiniIRExp visit(NodeOptional n, Map<String, String> env) {
@@ -448,14 +480,14 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
    }
 
    public MiniIRExp visit(NodeSequence n, Map<String, String> env) {
-      StringBuilder sb = new StringBuilder();
+      Code code = new Code();
       for (Enumeration<Node> e = n.elements(); e.hasMoreElements();) {
          Node node = e.nextElement();
          MiniIRExp child = (MiniIRExp) node.accept(this, env);
-         if (child != null && child.code != null)
-            sb.append(child.code);
+         if (child != null)
+            code.append(child.code);
       }
-      return new MiniIRExp(sb.toString(), null);
+      return new MiniIRExp(code, null);
    }
 
    @Override
@@ -471,31 +503,28 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
     */
    @Override
    public MiniIRExp visit(Goal n, Map<String, String> env) {
+      PhaseEvent ev = PhaseEvent.start("lower", symbolTable.size());
       String vinit = getVTableInitializationCode();
 
       MiniIRExp mc = n.f1.accept(this, new LinkedHashMap<>());
-      String mainCode = (mc == null) ? "" : mc.code;
       MiniIRExp procs = n.f2.accept(this, new LinkedHashMap<>());
-      String procedures = (procs == null) ? "" : procs.code;
 
-      StringBuilder tempInits = new StringBuilder();
-      if (tempInitializations.length() > 0) {
-         tempInits.append(tempInitializations.toString());
-      }
-
-      StringBuilder full = new StringBuilder();
+      Code full = new Code();
       full.append("MAIN\n");
       if (vinit != null && !vinit.isEmpty())
          full.append(vinit);
-      if (tempInits.length() > 0)
-         full.append(tempInits.toString());
+      if (tempInitializations.length() > 0)
+         full.append(tempInitializations.toString());
       full.append("\n");
-      full.append(mainCode);
+      if (mc != null)
+         full.append(mc.code);
       full.append("END\n\n");
-      if (procedures != null && !procedures.isEmpty())
-         full.append(procedures);
+      if (procs != null)
+         full.append(procs.code);
+      ev.finish(full.length());
 
-      StringBuilder lambdaProcs = new StringBuilder();
+      ev = PhaseEvent.start("lambdas", lambdaAstToClassName.size());
+      Code lambdaProcs = new Code();
       for (Map.Entry<String, ClassInfo> centry : symbolTable.entrySet()) {
          String className = centry.getKey();
          ClassInfo ci = centry.getValue();
@@ -555,15 +584,15 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
 
          int arity = paramNames.size() + 1;
          String procLabel = className + "_apply";
-         String proc = String.format("%s [%d]\nBEGIN\n%sRETURN %s\nEND\n\n", procLabel, arity,
-               (bodyExp.code == null ? "" : bodyExp.code), bodyExp.result);
-         lambdaProcs.append(proc);
+         lambdaProcs.append(procLabel + " [" + arity + "]\nBEGIN\n").append(bodyExp.code)
+               .append("RETURN " + bodyExp.result + "\nEND\n\n");
       }
 
-      if (lambdaProcs.length() > 0)
-         full.append(lambdaProcs.toString());
+      int lambdaLength = lambdaProcs.length();
+      full.append(lambdaProcs);
+      ev.finish(lambdaLength);
 
-      return new MiniIRExp(full.toString(), null);
+      return new MiniIRExp(full, null);
    }
 
    @Override
@@ -580,7 +609,7 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       this.currentClassName = className;
       MiniIRExp codeForPrint = n.f14.accept(this, env);
       this.currentClassName = null;
-      return new MiniIRExp(codeForPrint == null ? "" : codeForPrint.code, null);
+      return new MiniIRExp(codeForPrint == null ? new Code() : codeForPrint.code, null);
    }
 
    @Override
@@ -595,7 +624,11 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       MiniIRExp fieldsCode = n.f3.accept(this, env);
       MiniIRExp methodsCode = n.f4.accept(this, env);
       this.currentClassName = null;
-      String code = (fieldsCode == null ? "" : fieldsCode.code) + (methodsCode == null ? "" : methodsCode.code);
+      Code code = new Code();
+      if (fieldsCode != null)
+         code.append(fieldsCode.code);
+      if (methodsCode != null)
+         code.append(methodsCode.code);
       return new MiniIRExp(code, null);
    }
 
@@ -606,7 +639,11 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       MiniIRExp fieldsCode = n.f5.accept(this, env);
       MiniIRExp methodsCode = n.f6.accept(this, env);
       this.currentClassName = null;
-      String code = (fieldsCode == null ? "" : fieldsCode.code) + (methodsCode == null ? "" : methodsCode.code);
+      Code code = new Code();
+      if (fieldsCode != null)
+         code.append(fieldsCode.code);
+      if (methodsCode != null)
+         code.append(methodsCode.code);
       return new MiniIRExp(code, null);
    }
 
@@ -628,15 +665,16 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
          methodEnv.put(l, newTemp());
       this.currentMethodName = methodName;
       MiniIRExp stmts = n.f8.accept(this, methodEnv);
-      String stmtsCode = (stmts == null) ? "" : stmts.code;
       MiniIRExp retExp = n.f10.accept(this, methodEnv);
       if (retExp == null)
          throw new RuntimeException("Method return expression produced null for " + methodName);
       if (retExp.result == null)
          throw new RuntimeException(
                "Return expression missing TEMP result for " + methodName + ". Code:\n" + retExp.code);
-      String procedure = String.format("%s_%s [%d]\nBEGIN\n%s%sRETURN %s\nEND\n", currentClassName, methodName,
-            mi.params.size() + 1, stmtsCode, retExp.code, retExp.result);
+      Code procedure = new Code(currentClassName + "_" + methodName + " [" + (mi.params.size() + 1) + "]\nBEGIN\n");
+      if (stmts != null)
+         procedure.append(stmts.code);
+      procedure.append(retExp.code).append("RETURN " + retExp.result + "\nEND\n");
       this.currentMethodName = null;
       return new MiniIRExp(procedure, null);
    }
@@ -713,7 +751,7 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
    public MiniIRExp visit(PrintStatement n, Map<String, String> env) {
       MiniIRExp e = n.f2.accept(this, env);
       e = ensureHasResult(e);
-      return new MiniIRExp(e.code + "PRINT " + e.result + "\n", null);
+      return new MiniIRExp(new Code().append(e.code).append("PRINT " + e.result + "\n"), null);
    }
 
    @Override
@@ -723,12 +761,12 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       rhs = ensureHasResult(rhs);
       String lhsTemp = env.get(id);
       if (lhsTemp != null) {
-         return new MiniIRExp(rhs.code + "MOVE " + lhsTemp + " " + rhs.result + "\n", null);
+         return new MiniIRExp(new Code().append(rhs.code).append("MOVE " + lhsTemp + " " + rhs.result + "\n"), null);
       } else {
          Integer offset = classLayouts.get(currentClassName).fieldOffsets.get(id);
          if (offset == null)
             throw new RuntimeException("Unknown field " + id + " of class " + currentClassName);
-         return new MiniIRExp(rhs.code + "HSTORE TEMP 0 " + offset + " " + rhs.result + "\n", null);
+         return new MiniIRExp(new Code().append(rhs.code).append("HSTORE TEMP 0 " + offset + " " + rhs.result + "\n"), null);
       }
    }
 
@@ -751,10 +789,10 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       rhs = ensureHasResult(rhs);
       String offsetTmp = newTemp();
       String addrTmp = newTemp();
-      String code = prefix + index.code + rhs.code
-            + "MOVE " + offsetTmp + " TIMES 4 " + index.result + "\n"
+      Code code = new Code(prefix).append(index.code).append(rhs.code).append(
+            "MOVE " + offsetTmp + " TIMES 4 " + index.result + "\n"
             + "MOVE " + addrTmp + " PLUS " + arrayPtr + " " + offsetTmp + "\n"
-            + "HSTORE " + addrTmp + " 4 " + rhs.result + "\n";
+            + "HSTORE " + addrTmp + " 4 " + rhs.result + "\n");
       return new MiniIRExp(code, null);
    }
 
@@ -770,9 +808,9 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       MiniIRExp thenS = n.f4.accept(this, env);
       String lend = newLabel();
 
-      String code = cond.code + "CJUMP " + cond.result + " " + lend + "\n"
-            + (thenS == null ? "" : thenS.code)
-            + lend + "\nNOOP\n";
+      Code code = new Code().append(cond.code).append("CJUMP " + cond.result + " " + lend + "\n")
+            .append(thenS == null ? null : thenS.code)
+            .append(lend + "\nNOOP\n");
       return new MiniIRExp(code, null);
    }
 
@@ -784,11 +822,10 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       MiniIRExp elseS = n.f6.accept(this, env);
       String lelse = newLabel(), lend = newLabel();
 
-      String code = cond.code + "CJUMP " + cond.result + " " + lelse + "\n" +
-            (thenS == null ? "" : thenS.code) + "JUMP " + lend + "\n" +
-            lelse + "\n" +
-            (elseS == null ? "" : elseS.code) +
-            lend + "\nNOOP\n";
+      Code code = new Code().append(cond.code).append("CJUMP " + cond.result + " " + lelse + "\n")
+            .append(thenS == null ? null : thenS.code).append("JUMP " + lend + "\n" + lelse + "\n")
+            .append(elseS == null ? null : elseS.code)
+            .append(lend + "\nNOOP\n");
       return new MiniIRExp(code, null);
    }
 
@@ -798,8 +835,8 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       MiniIRExp cond = n.f2.accept(this, env);
       cond = ensureHasResult(cond);
       MiniIRExp body = n.f4.accept(this, env);
-      String code = lstart + "\n" + cond.code + "CJUMP " + cond.result + " " + lend + "\n"
-            + (body == null ? "" : body.code) + "JUMP " + lstart + "\n" + lend + "\nNOOP\n";
+      Code code = new Code(lstart + "\n").append(cond.code).append("CJUMP " + cond.result + " " + lend + "\n")
+            .append(body == null ? null : body.code).append("JUMP " + lstart + "\n" + lend + "\nNOOP\n");
       return new MiniIRExp(code, null);
    }
 
@@ -819,7 +856,7 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
         String vptr = newTemp();
         StringBuilder code = new StringBuilder();
         code.append("MOVE ").append(objPtr).append(" HALLOCATE ").append(layout.objectSize).append("\n");
-        code.append("HLOAD ").append(vptr).append(" ").append(VTABLE_DIRECTORY_PTR).append(" ").append(layout.vTableDirectoryIndex * 4).append("\n");
+        loadVTable(lambdaClassName, vptr, code);
         code.append("HSTORE ").append(objPtr).append(" 0 ").append(vptr).append("\n");
 
         MethodInfo apply = symbolTable.get(lambdaClassName).methods.get("apply");
@@ -866,14 +903,14 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       MiniIRExp lhs = n.f0.accept(this, env);
       MiniIRExp rhs = n.f2.accept(this, env);
 
-      String code = lhs.code +
-            "CJUMP " + lhs.result + " " + falseLabel + "\n" +
-            rhs.code +
+      Code code = new Code().append(lhs.code).append(
+            "CJUMP " + lhs.result + " " + falseLabel + "\n").append(
+            rhs.code).append(
             "MOVE " + resultTemp + " " + rhs.result + "\n" +
             "JUMP " + endLabel + "\n" +
             falseLabel + "\n" +
             "MOVE " + resultTemp + " 0\n" +
-            endLabel + "\n" + "NOOP\n";
+            endLabel + "\n" + "NOOP\n");
       return new MiniIRExp(code, resultTemp);
    }
 
@@ -887,15 +924,15 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
 
       String not_lhs = newTemp();
 
-      String code = lhs.code +
+      Code code = new Code().append(lhs.code).append(
             "MOVE " + not_lhs + " MINUS 1 " + lhs.result + "\n" +
-            "CJUMP " + not_lhs + " " + trueLabel + "\n" +
-            rhs.code +
+            "CJUMP " + not_lhs + " " + trueLabel + "\n").append(
+            rhs.code).append(
             "MOVE " + resultTemp + " " + rhs.result + "\n" +
             "JUMP " + endLabel + "\n" +
             trueLabel + "\n" +
             "MOVE " + resultTemp + " 1\n" +
-            endLabel + "\n" + "NOOP\n";
+            endLabel + "\n" + "NOOP\n");
 
       return new MiniIRExp(code, resultTemp);
    }
@@ -929,7 +966,7 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       MiniIRExp arr = n.f0.accept(this, env);
       arr = ensureHasResult(arr);
       String r = newTemp();
-      String code = arr.code + "HLOAD " + r + " " + arr.result + " 0\n";
+      Code code = new Code().append(arr.code).append("HLOAD " + r + " " + arr.result + " 0\n");
       return new MiniIRExp(code, r);
    }
 
@@ -940,10 +977,10 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       MiniIRExp idx = n.f2.accept(this, env);
       idx = ensureHasResult(idx);
       String off = newTemp(), addr = newTemp(), res = newTemp();
-      String code = arr.code + idx.code
-            + "MOVE " + off + " TIMES 4 " + idx.result + "\n"
+      Code code = new Code().append(arr.code).append(idx.code).append(
+            "MOVE " + off + " TIMES 4 " + idx.result + "\n"
             + "MOVE " + addr + " PLUS " + arr.result + " " + off + "\n"
-            + "HLOAD " + res + " " + addr + " 4\n";
+            + "HLOAD " + res + " " + addr + " 4\n");
       return new MiniIRExp(code, res);
    }
 
@@ -955,15 +992,15 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
    @Override
    public MiniIRExp visit(ExpressionList n, Map<String, String> env) {
       MiniIRExp first = n.f0.accept(this, env);
-      StringBuilder sb = new StringBuilder();
-      if (first != null && first.code != null)
-         sb.append(first.code);
+      Code code = new Code();
+      if (first != null)
+         code.append(first.code);
       for (Node node : n.f1.nodes) {
          MiniIRExp r = ((ExpressionRest) node).f1.accept(this, env);
-         if (r != null && r.code != null)
-            sb.append(r.code);
+         if (r != null)
+            code.append(r.code);
       }
-      return new MiniIRExp(sb.toString(), null);
+      return new MiniIRExp(code, null);
    }
 
    @Override
@@ -1060,7 +1097,6 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       String Lend = newLabel();
 
       StringBuilder code = new StringBuilder();
-      code.append(size.code);
       code.append("MOVE ").append(numElements).append(" ").append(size.result).append("\n");
       code.append("MOVE ").append(total).append(" PLUS 1 ").append(numElements).append("\n");
       code.append("MOVE ").append(total).append(" TIMES 4 ").append(total).append("\n");
@@ -1082,7 +1118,7 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       code.append(Lend).append("\n");
       code.append("NOOP\n");
 
-      return new MiniIRExp(code.toString(), arrayPtr);
+      return new MiniIRExp(new Code().append(size.code).append(code.toString()), arrayPtr);
    }
 
    @Override
@@ -1091,11 +1127,9 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       ClassLayout layout = classLayouts.get(className);
       String objPtr = newTemp();
       String vptr = newTemp();
-      int vIndex = layout.vTableDirectoryIndex;
       StringBuilder code = new StringBuilder();
       code.append("MOVE ").append(objPtr).append(" HALLOCATE ").append(layout.objectSize).append("\n");
-      code.append("HLOAD ").append(vptr).append(" ").append(VTABLE_DIRECTORY_PTR).append(" ").append(vIndex * 4)
-            .append("\n");
+      loadVTable(className, vptr, code);
       code.append("HSTORE ").append(objPtr).append(" 0 ").append(vptr).append("\n");
       for (int offset = 4; offset < layout.objectSize; offset += 4) {
          code.append("HSTORE ").append(objPtr).append(" ").append(offset).append(" 0\n");
@@ -1108,7 +1142,7 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
       MiniIRExp e = n.f1.accept(this, env);
       e = ensureHasResult(e);
       String t = newTemp();
-      String code = e.code + "MOVE " + t + " MINUS 1 " + e.result + "\n";
+      Code code = new Code().append(e.code).append("MOVE " + t + " MINUS 1 " + e.result + "\n");
       return new MiniIRExp(code, t);
    }
 
@@ -1116,4 +1150,4 @@ public MiniIRExp visit(MessageSend n, Map<String, String> env) {
    public MiniIRExp visit(BracketExpression n, Map<String, String> env) {
       return n.f1.accept(this, env);
    }
-}
\ No newline at end of file
+}
\ No newline at end of file
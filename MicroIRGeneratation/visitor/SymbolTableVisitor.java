@@ -26,8 +26,7 @@ public class SymbolTableVisitor extends GJDepthFirst<String, Void> {
    }
 
    private void handleError(String message) {
-      System.err.println("Symbol Table Error: " + message);
-      System.exit(1);
+      throw new IllegalStateException("Symbol Table Error: " + message);
    }
 
    @Override
@@ -569,4 +568,4 @@ public class SymbolTableVisitor extends GJDepthFirst<String, Void> {
       n.f2.accept(this, argu);
       return null;
    }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -9,7 +9,7 @@ public
 class JavaCharStream
 {
   /** Whether parser is static. */
-  public static final boolean staticFlag = true;
+  public static final boolean staticFlag = false;
 
   static final int hexval(char c) throws java.io.IOException {
     switch(c)
@@ -59,33 +59,33 @@ class JavaCharStream
   }
 
 /* Position in buffer. */
-  static public int bufpos = -1;
-  static int bufsize;
-  static int available;
-  static int tokenBegin;
-  static protected int bufline[];
-  static protected int bufcolumn[];
+  public int bufpos = -1;
+  int bufsize;
+  int available;
+  int tokenBegin;
+  protected int bufline[];
+  protected int bufcolumn[];
 
-  static protected int column = 0;
-  static protected int line = 1;
+  protected int column = 0;
+  protected int line = 1;
 
-  static protected boolean prevCharIsCR = false;
-  static protected boolean prevCharIsLF = false;
+  protected boolean prevCharIsCR = false;
+  protected boolean prevCharIsLF = false;
 
-  static protected java.io.Reader inputStream;
+  protected java.io.Reader inputStream;
 
-  static protected char[] nextCharBuf;
-  static protected char[] buffer;
-  static protected int maxNextCharInd = 0;
-  static protected int nextCharInd = -1;
-  static protected int inBuf = 0;
-  static protected int tabSize = 1;
-  static protected boolean trackLineColumn = true;
+  protected char[] nextCharBuf;
+  protected char[] buffer;
+  protected int maxNextCharInd = 0;
+  protected int nextCharInd = -1;
+  protected int inBuf = 0;
+  protected int tabSize = 1;
+  protected boolean trackLineColumn = true;
 
-  static public void setTabSize(int i) { tabSize = i; }
-  static public int getTabSize() { return tabSize; }
+  public void setTabSize(int i) { tabSize = i; }
+  public int getTabSize() { return tabSize; }
 
-  static protected void ExpandBuff(boolean wrapAround)
+  protected void ExpandBuff(boolean wrapAround)
   {
     char[] newbuffer = new char[bufsize + 2048];
     int newbufline[] = new int[bufsize + 2048];
@@ -132,7 +132,7 @@ class JavaCharStream
     tokenBegin = 0;
   }
 
-  static protected void FillBuff() throws java.io.IOException
+  protected void FillBuff() throws java.io.IOException
   {
     int i;
     if (maxNextCharInd == 4096)
@@ -164,7 +164,7 @@ class JavaCharStream
     }
   }
 
-  static protected char ReadByte() throws java.io.IOException
+  protected char ReadByte() throws java.io.IOException
   {
     if (++nextCharInd >= maxNextCharInd)
       FillBuff();
@@ -173,7 +173,7 @@ class JavaCharStream
   }
 
 /* @return starting character for token. */
-  static public char BeginToken() throws java.io.IOException
+  public char BeginToken() throws java.io.IOException
   {
     if (inBuf > 0)
     {
@@ -192,7 +192,7 @@ class JavaCharStream
     return readChar();
   }
 
-  static protected void AdjustBuffSize()
+  protected void AdjustBuffSize()
   {
     if (available == bufsize)
     {
@@ -212,7 +212,7 @@ class JavaCharStream
       available = tokenBegin;
   }
 
-  static protected void UpdateLineColumn(char c)
+  protected void UpdateLineColumn(char c)
   {
     column++;
 
@@ -253,7 +253,7 @@ class JavaCharStream
   }
 
 /* Read a character. */
-  static public char readChar() throws java.io.IOException
+  public char readChar() throws java.io.IOException
   {
     if (inBuf > 0)
     {
@@ -351,7 +351,7 @@ class JavaCharStream
    * @see #getEndColumn
    */
   @Deprecated
-  static public int getColumn() {
+  public int getColumn() {
     return bufcolumn[bufpos];
   }
 
@@ -361,37 +361,37 @@ class JavaCharStream
    * @return the line number.
    */
   @Deprecated
-  static public int getLine() {
+  public int getLine() {
     return bufline[bufpos];
   }
 
 /** Get end column.
  * @return the end column or -1
  */
-  static public int getEndColumn() {
+  public int getEndColumn() {
     return bufcolumn[bufpos];
   }
 
 /** Get end line.
  * @return the end line number or -1
  */
-  static public int getEndLine() {
+  public int getEndLine() {
     return bufline[bufpos];
   }
 
 /** Get the beginning column.
  * @return column of token start */
-  static public int getBeginColumn() {
+  public int getBeginColumn() {
     return bufcolumn[tokenBegin];
   }
 
 /** @return line number of token start */
-  static public int getBeginLine() {
+  public int getBeginLine() {
     return bufline[tokenBegin];
   }
 
 /** Retreat. */
-  static public void backup(int amount) {
+  public void backup(int amount) {
 
     inBuf += amount;
     if ((bufpos -= amount) < 0)
@@ -407,10 +407,6 @@ class JavaCharStream
   public JavaCharStream(java.io.Reader dstream,
                  int startline, int startcolumn, int buffersize)
   {
-    if (inputStream != null)
-      throw new Error("\n   ERROR: Second call to the constructor of a static JavaCharStream.\n" +
-      "       You must either use ReInit() or set the JavaCC option STATIC to false\n" +
-      "       during the generation of this class.");
     inputStream = dstream;
     line = startline;
     column = startcolumn - 1;
@@ -601,7 +597,7 @@ class JavaCharStream
 
   /** Get the token timage.
    * @return token image as String */
-  static public String GetImage()
+  public String GetImage()
   {
     if (bufpos >= tokenBegin)
       return new String(buffer, tokenBegin, bufpos - tokenBegin + 1);
@@ -613,7 +609,7 @@ class JavaCharStream
   /** Get the suffix as an array of characters.
    * @param len the length of the array to return.
    * @return suffix */
-  static public char[] GetSuffix(int len)
+  public char[] GetSuffix(int len)
   {
     char[] ret = new char[len];
 
@@ -630,7 +626,7 @@ class JavaCharStream
   }
 
   /** Set buffers back to null when finished. */
-  static public void Done()
+  public void Done()
   {
     nextCharBuf = null;
     buffer = null;
@@ -644,7 +640,7 @@ class JavaCharStream
    * @param newLine the new line number.
    * @param newCol the new column number.
    */
-  static public void adjustBeginLineColumn(int newLine, int newCol)
+  public void adjustBeginLineColumn(int newLine, int newCol)
   {
     int start = tokenBegin;
     int len;
@@ -687,8 +683,8 @@ class JavaCharStream
     line = bufline[j];
     column = bufcolumn[j];
   }
-  static boolean getTrackLineColumn() { return trackLineColumn; }
-  static void setTrackLineColumn(boolean tlc) { trackLineColumn = tlc; }
+  boolean getTrackLineColumn() { return trackLineColumn; }
+  void setTrackLineColumn(boolean tlc) { trackLineColumn = tlc; }
 
 }
 /* JavaCC - OriginalChecksum=baed5c4ff4912e9ebc3efb69c086545b (do not edit this line) */
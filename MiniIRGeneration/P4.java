@@ -1,20 +1,58 @@
 import syntaxtree.*;
 import visitor.*;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.Callable;
 
 public class P4 {
    public static void main(String [] args) {
+      int status = run(new InputStreamReader(System.in), System.out, System.err);
+      if (status != 0)
+         System.exit(status);
+   }
+
+   /** Prints the microIR for the MiniIR on in; returns main's exit status. */
+   public static int run(Reader in, PrintStream out, PrintStream err) {
       try {
-         Node root = new MiniIRParser(System.in).Goal();
-         
-         GJVisitor<Object, Void> visitor = new GJDepthFirst<Object, Void>();
-         Object result = root.accept(visitor, null);
-         
-         if (result instanceof String) {
-            System.out.println((String) result);
-         }
+         out.print(compile(in));
       }
       catch (ParseException e) {
-         System.out.println(e.toString());
+         out.println(e.toString());
+      }
+      return 0;
+   }
+
+   /**
+    * Translates one MiniIR program to microIR. Returns exactly what
+    * {@link #main} prints for it.
+    */
+   public static String compile(Reader in) throws ParseException {
+      PhaseEvent ev = PhaseEvent.start("parse", 0);
+      MiniIRParser parser = new MiniIRParser(in);
+      Goal root = parser.Goal();
+      ev.setInputSize(parser.token.endLine);
+      int procedures = root.f3.size() + 1;
+      ev.finish(procedures);
+
+      ev = PhaseEvent.start("flatten", procedures);
+      GJVisitor<Object, Void> visitor = new GJDepthFirst<Object, Void>();
+      Object result = root.accept(visitor, null);
+
+      if (result instanceof String) {
+         ev.finish(((String) result).length());
+         return (String) result + "\n";
       }
+      ev.finish(0);
+      return "";
+   }
+
+   /** Parse and microIR generation of input, each timed alone by Bench. */
+   public static Map<String, Callable<Object>> phases(String input) throws ParseException {
+      Node root = new MiniIRParser(new StringReader(input)).Goal();
+
+      Map<String, Callable<Object>> phases = new LinkedHashMap<>();
+      phases.put("parse", () -> new MiniIRParser(new StringReader(input)).Goal());
+      phases.put("microir", () -> root.accept(new GJDepthFirst<Object, Void>(), null));
+      return phases;
    }
-}
\ No newline at end of file
+}
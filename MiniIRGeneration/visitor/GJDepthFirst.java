@@ -7,6 +7,10 @@ import syntaxtree.*;
 import java.util.*;
 
 
+/**
+ * Flattens MiniIR into microIR. Each instance numbers its own temps, so use
+ * a fresh one per program; instances share nothing and may run in parallel.
+ */
 public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
 
 
@@ -16,29 +20,29 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
    }
 
 
+   /** Statements and procedures come back as Code, everything else as its text. */
+   private static void append(Code code, Object result) {
+      if (result instanceof Code)
+         code.append((Code) result);
+      else if (result != null)
+         code.append(result.toString());
+   }
+
    public R visit(NodeList n, A argu) {
       if (n.size() < 1) return null;
-      StringBuilder sb = new StringBuilder();
-      for (Enumeration<Node> e = n.elements(); e.hasMoreElements(); ) {
-         Object result = e.nextElement().accept(this, argu);
-         if (result != null) {
-            sb.append(result.toString());
-         }
-      }
-      return (R) sb.toString();
+      Code code = new Code();
+      for (Enumeration<Node> e = n.elements(); e.hasMoreElements(); )
+         append(code, e.nextElement().accept(this, argu));
+      return (R) code;
    }
 
    public R visit(NodeListOptional n, A argu) {
       if ( n.present() ) {
          if (n.size() < 1) return null;
-         StringBuilder sb = new StringBuilder();
-         for (Enumeration<Node> e = n.elements(); e.hasMoreElements(); ) {
-            Object result = e.nextElement().accept(this, argu);
-            if (result != null) {
-               sb.append(result.toString());
-            }
-         }
-         return (R) sb.toString();
+         Code code = new Code();
+         for (Enumeration<Node> e = n.elements(); e.hasMoreElements(); )
+            append(code, e.nextElement().accept(this, argu));
+         return (R) code;
       }
       else
          return null;
@@ -53,14 +57,10 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
 
    public R visit(NodeSequence n, A argu) {
       if (n.size() < 1) return null;
-      StringBuilder sb = new StringBuilder();
-      for (Enumeration<Node> e = n.elements(); e.hasMoreElements(); ) {
-         Object result = e.nextElement().accept(this, argu);
-         if (result != null) {
-            sb.append(result.toString());
-         }
-      }
-      return (R) sb.toString();
+      Code code = new Code();
+      for (Enumeration<Node> e = n.elements(); e.hasMoreElements(); )
+         append(code, e.nextElement().accept(this, argu));
+      return (R) code;
    }
 
    public R visit(NodeToken n, A argu) { return (R) n.tokenImage; }
@@ -74,13 +74,21 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
     * f4 -> <EOF>
     */
    public R visit(Goal n, A argu) {
-      String mainStmts = (String) n.f1.accept(this, argu);
-      String procedures = (String) n.f3.accept(this, argu);
-      
-      String mainCode = "MAIN\n" + (mainStmts != null ? mainStmts : "") + "END\n";
-      String procCode = (procedures != null ? procedures : "");
-
-      return (R) (mainCode + procCode);
+      // MiniIR numbers its temps program-wide, so a large program already
+      // uses numbers past 200; new temps must start above all of them.
+      final int[] maxTemp = { -1 };
+      n.accept(new DepthFirstVisitor() {
+         public void visit(Temp t) {
+            maxTemp[0] = Math.max(maxTemp[0], Integer.parseInt(t.f1.f0.tokenImage));
+         }
+      });
+      tempCounter = Math.max(tempCounter, maxTemp[0] + 1);
+
+      Code code = new Code("MAIN\n");
+      code.append((Code) n.f1.accept(this, argu));
+      code.append("END\n");
+      code.append((Code) n.f3.accept(this, argu));
+      return (R) code.toString();
    }
 
    /**
@@ -91,7 +99,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
          return null;
       }
 
-      StringBuilder sb = new StringBuilder();
+      Code code = new Code();
       for (Node node : n.f0.nodes) {
          NodeSequence seq = (NodeSequence) node;
          NodeOptional labelOpt = (NodeOptional) seq.elementAt(0);
@@ -99,14 +107,13 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
 
          if (labelOpt.present()) {
             TranslationResult labelRes = (TranslationResult) labelOpt.node.accept(this, argu);
-            sb.append(labelRes.resultIdentifier).append("\n");
+            code.append(labelRes.resultIdentifier + "\n");
          }
 
-         String stmtCode = (String) stmt.accept(this, argu);
-         sb.append(stmtCode);
+         code.append((Code) stmt.accept(this, argu));
       }
 
-      return (R) sb.toString();
+      return (R) code;
    }
 
    /**
@@ -121,9 +128,8 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
       TranslationResult intLitRes = (TranslationResult) n.f2.accept(this, argu);
       
       TranslationResult bodyRes = (TranslationResult) n.f4.accept(this, argu);
-      String procedureBody = "BEGIN\n" + bodyRes.code + "RETURN " + bodyRes.resultIdentifier + "\nEND";
-      
-      String procedureCode = labelRes.resultIdentifier + " [" + intLitRes.resultIdentifier + "]\n" + procedureBody + "\n";
+      Code procedureCode = new Code(labelRes.resultIdentifier + " [" + intLitRes.resultIdentifier + "]\nBEGIN\n");
+      procedureCode.append(bodyRes.code).append("RETURN " + bodyRes.resultIdentifier + "\nEND\n");
       return (R) procedureCode;
    }
 
@@ -145,14 +151,14 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
     * f0 -> "NOOP"
     */
    public R visit(NoOpStmt n, A argu) {
-      return (R) "NOOP\n";
+      return (R) new Code("NOOP\n");
    }
 
    /**
     * f0 -> "ERROR"
     */
    public R visit(ErrorStmt n, A argu) {
-      return (R) "ERROR\n";
+      return (R) new Code("ERROR\n");
    }
 
    /**
@@ -164,16 +170,16 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
       TranslationResult condRes = (TranslationResult) n.f1.accept(this, argu);
       TranslationResult labelRes = (TranslationResult) n.f2.accept(this, argu);
       
-      String precedingCode = condRes.code;
+      Code code = new Code().append(condRes.code);
       String conditionIdentifier = condRes.resultIdentifier;
       
       if (!conditionIdentifier.startsWith("TEMP")) {
           String newTemp = getNewTemp();
-          precedingCode += "MOVE " + newTemp + " " + conditionIdentifier + "\n";
+          code.append("MOVE " + newTemp + " " + conditionIdentifier + "\n");
           conditionIdentifier = newTemp;
       }
 
-      String code = precedingCode + "CJUMP " + conditionIdentifier + " " + labelRes.resultIdentifier + "\n";
+      code.append("CJUMP " + conditionIdentifier + " " + labelRes.resultIdentifier + "\n");
       return (R) code;
    }
 
@@ -183,7 +189,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
     */
    public R visit(JumpStmt n, A argu) {
       TranslationResult labelRes = (TranslationResult) n.f1.accept(this, argu);
-      String code = "JUMP " + labelRes.resultIdentifier + "\n";
+      Code code = new Code("JUMP " + labelRes.resultIdentifier + "\n");
       return (R) code;
    }
 
@@ -198,7 +204,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
       TranslationResult offsetRes = (TranslationResult) n.f2.accept(this, argu);
       TranslationResult valRes = (TranslationResult) n.f3.accept(this, argu);
       
-      StringBuilder precedingCode = new StringBuilder();
+      Code precedingCode = new Code();
       precedingCode.append(addrRes.code);
       precedingCode.append(valRes.code);
       
@@ -218,7 +224,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
       }
       
       String hstoreCode = "HSTORE " + addressIdentifier + " " + offsetRes.resultIdentifier + " " + valueIdentifier + "\n";
-      return (R) (precedingCode.toString() + hstoreCode);
+      return (R) precedingCode.append(hstoreCode);
    }
 
    /**
@@ -232,7 +238,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
       TranslationResult srcAddrRes = (TranslationResult) n.f2.accept(this, argu);
       TranslationResult offsetRes = (TranslationResult) n.f3.accept(this, argu);
 
-      StringBuilder precedingCode = new StringBuilder();
+      Code precedingCode = new Code();
       precedingCode.append(srcAddrRes.code);
       String addressIdentifier = srcAddrRes.resultIdentifier;
 
@@ -243,7 +249,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
       }
       
       String hloadCode = "HLOAD " + destRes.resultIdentifier + " " + addressIdentifier + " " + offsetRes.resultIdentifier + "\n";
-      return (R) (precedingCode.toString() + hloadCode);
+      return (R) precedingCode.append(hloadCode);
    }
 
    /**
@@ -255,7 +261,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
       TranslationResult destRes = (TranslationResult) n.f1.accept(this, argu);
       TranslationResult expRes = (TranslationResult) n.f2.accept(this, argu);
       
-      String code = expRes.code + "MOVE " + destRes.resultIdentifier + " " + expRes.resultIdentifier + "\n";
+      Code code = new Code().append(expRes.code).append("MOVE " + destRes.resultIdentifier + " " + expRes.resultIdentifier + "\n");
       return (R) code;
    }
 
@@ -265,7 +271,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
     */
    public R visit(PrintStmt n, A argu) {
       TranslationResult expRes = (TranslationResult) n.f1.accept(this, argu);
-      String code = expRes.code + "PRINT " + expRes.resultIdentifier + "\n";
+      Code code = new Code().append(expRes.code).append("PRINT " + expRes.resultIdentifier + "\n");
       return (R) code;
    }
 
@@ -290,10 +296,10 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
     * f4 -> "END"
     */
    public R visit(StmtExp n, A argu) {
-      String stmts = (String) n.f1.accept(this, argu);
+      Code stmts = (Code) n.f1.accept(this, argu);
       TranslationResult retExpRes = (TranslationResult) n.f3.accept(this, argu);
 
-      String precedingCode = (stmts != null ? stmts : "") + retExpRes.code;
+      Code precedingCode = new Code().append(stmts).append(retExpRes.code);
       String resultId = retExpRes.resultIdentifier;
       
       return (R) new TranslationResult(precedingCode, resultId);
@@ -309,7 +315,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
    public R visit(Call n, A argu) {
       TranslationResult funcRes = (TranslationResult) n.f1.accept(this, argu);
       
-      StringBuilder precedingCode = new StringBuilder();
+      Code precedingCode = new Code();
       precedingCode.append(funcRes.code);
 
       String funcIdentifier = funcRes.resultIdentifier;
@@ -338,7 +344,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
       String resultTemp = getNewTemp();
       String callStmt = "MOVE " + resultTemp + " CALL " + funcIdentifier + " ( " + argsList.toString() + ")\n";
       
-      return (R) new TranslationResult(precedingCode.toString() + callStmt, resultTemp);
+      return (R) new TranslationResult(precedingCode.append(callStmt), resultTemp);
    }
 
    /**
@@ -349,7 +355,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
       TranslationResult sizeRes = (TranslationResult) n.f1.accept(this, argu);
       String newTemp = getNewTemp();
       
-      String code = sizeRes.code + "MOVE " + newTemp + " HALLOCATE " + sizeRes.resultIdentifier + "\n";
+      Code code = new Code().append(sizeRes.code).append("MOVE " + newTemp + " HALLOCATE " + sizeRes.resultIdentifier + "\n");
       return (R) new TranslationResult(code, newTemp);
    }
 
@@ -363,7 +369,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
       TranslationResult op1Res = (TranslationResult) n.f1.accept(this, argu);
       TranslationResult op2Res = (TranslationResult) n.f2.accept(this, argu);
       
-      StringBuilder precedingCode = new StringBuilder();
+      Code precedingCode = new Code();
       precedingCode.append(op1Res.code);
       precedingCode.append(op2Res.code);
       
@@ -377,7 +383,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
       String resultTemp = getNewTemp();
       String binOpStmt = "MOVE " + resultTemp + " " + op + " " + operand1 + " " + op2Res.resultIdentifier + "\n";
 
-      return (R) new TranslationResult(precedingCode.toString() + binOpStmt, resultTemp);
+      return (R) new TranslationResult(precedingCode.append(binOpStmt), resultTemp);
    }
 
    /**
@@ -418,4 +424,4 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
       return (R) new TranslationResult("", labelStr);
    }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -4,6 +4,10 @@ import syntaxtree.*;
 import java.util.*;
 
 
+/**
+ * Not thread-safe: the temp counter is per instance. Use one instance per
+ * program; independent instances can run concurrently.
+ */
 public class MiniIRtoMicroIR extends GJDepthFirst<Object, Void> {
 
     private int tempCounter = 100; 
@@ -22,21 +26,26 @@ public class MiniIRtoMicroIR extends GJDepthFirst<Object, Void> {
      * f4 -> <EOF>
      */
     public Object visit(Goal n, Void argu) {
-        String mainStmts = (String) n.f1.accept(this, argu);
-        String procedures = (String) n.f3.accept(this, argu);
-        return "MAIN\n" + mainStmts + "END\n" + procedures;
+        Code code = new Code("MAIN\n");
+        code.append((Code) n.f1.accept(this, argu)).append("END\n");
+        for (Node node : n.f3.nodes)
+            code.append((Code) node.accept(this, argu));
+        return code.toString();
     }
 
     /**
      * f0 -> ( ( Label() )? Stmt() )*
      */
     public Object visit(StmtList n, Void argu) {
-        if (!n.f0.present()) return "";
-        StringBuilder sb = new StringBuilder();
+        Code code = new Code();
         for (Node node : n.f0.nodes) {
-            sb.append(node.accept(this, argu));
+            NodeSequence seq = (NodeSequence) node;
+            NodeOptional label = (NodeOptional) seq.elementAt(0);
+            if (label.present())
+                code.append(((TranslationResult) label.node.accept(this, argu)).resultIdentifier + "\n");
+            code.append((Code) seq.elementAt(1).accept(this, argu));
         }
-        return sb.toString();
+        return code;
     }
 
     /**
@@ -49,9 +58,9 @@ public class MiniIRtoMicroIR extends GJDepthFirst<Object, Void> {
     public Object visit(Procedure n, Void argu) {
         TranslationResult labelRes = (TranslationResult) n.f0.accept(this, argu);
         TranslationResult intLitRes = (TranslationResult) n.f2.accept(this, argu);
-        String stmtExp = (String) n.f4.accept(this, argu);
+        Code stmtExp = (Code) n.f4.accept(this, argu);
         
-        return labelRes.resultIdentifier + " [" + intLitRes.resultIdentifier + "]\n" + stmtExp + "\n";
+        return new Code(labelRes.resultIdentifier + " [" + intLitRes.resultIdentifier + "]\n").append(stmtExp).append("\n");
     }
 
     /**
@@ -62,8 +71,8 @@ public class MiniIRtoMicroIR extends GJDepthFirst<Object, Void> {
         return n.f0.accept(this, argu);
     }
 
-    public Object visit(NoOpStmt n, Void argu) { return "NOOP\n"; }
-    public Object visit(ErrorStmt n, Void argu) { return "ERROR\n"; }
+    public Object visit(NoOpStmt n, Void argu) { return new Code("NOOP\n"); }
+    public Object visit(ErrorStmt n, Void argu) { return new Code("ERROR\n"); }
 
     /**
      * f0 -> "CJUMP"
@@ -73,7 +82,7 @@ public class MiniIRtoMicroIR extends GJDepthFirst<Object, Void> {
     public Object visit(CJumpStmt n, Void argu) {
         TranslationResult cond = (TranslationResult) n.f1.accept(this, argu);
         TranslationResult label = (TranslationResult) n.f2.accept(this, argu);
-        return cond.code + "CJUMP " + cond.resultIdentifier + " " + label.resultIdentifier + "\n";
+        return new Code().append(cond.code).append("CJUMP " + cond.resultIdentifier + " " + label.resultIdentifier + "\n");
     }
 
     /**
@@ -82,7 +91,7 @@ public class MiniIRtoMicroIR extends GJDepthFirst<Object, Void> {
      */
     public Object visit(JumpStmt n, Void argu) {
         TranslationResult label = (TranslationResult) n.f1.accept(this, argu);
-        return "JUMP " + label.resultIdentifier + "\n";
+        return new Code("JUMP " + label.resultIdentifier + "\n");
     }
 
     /**
@@ -95,7 +104,7 @@ public class MiniIRtoMicroIR extends GJDepthFirst<Object, Void> {
         TranslationResult addr = (TranslationResult) n.f1.accept(this, argu);
         TranslationResult offset = (TranslationResult) n.f2.accept(this, argu);
         TranslationResult val = (TranslationResult) n.f3.accept(this, argu);
-        return addr.code + val.code + "HSTORE " + addr.resultIdentifier + " " + offset.resultIdentifier + " " + val.resultIdentifier + "\n";
+        return new Code().append(addr.code).append(val.code).append("HSTORE " + addr.resultIdentifier + " " + offset.resultIdentifier + " " + val.resultIdentifier + "\n");
     }
 
     /**
@@ -108,7 +117,7 @@ public class MiniIRtoMicroIR extends GJDepthFirst<Object, Void> {
         TranslationResult destTemp = (TranslationResult) n.f1.accept(this, argu);
         TranslationResult srcAddr = (TranslationResult) n.f2.accept(this, argu);
         TranslationResult offset = (TranslationResult) n.f3.accept(this, argu);
-        return srcAddr.code + "HLOAD " + destTemp.resultIdentifier + " " + srcAddr.resultIdentifier + " " + offset.resultIdentifier + "\n";
+        return new Code().append(srcAddr.code).append("HLOAD " + destTemp.resultIdentifier + " " + srcAddr.resultIdentifier + " " + offset.resultIdentifier + "\n");
     }
 
     /**
@@ -119,7 +128,7 @@ public class MiniIRtoMicroIR extends GJDepthFirst<Object, Void> {
     public Object visit(MoveStmt n, Void argu) {
         TranslationResult destTemp = (TranslationResult) n.f1.accept(this, argu);
         TranslationResult exp = (TranslationResult) n.f2.accept(this, argu);
-        return exp.code + "MOVE " + destTemp.resultIdentifier + " " + exp.resultIdentifier + "\n";
+        return new Code().append(exp.code).append("MOVE " + destTemp.resultIdentifier + " " + exp.resultIdentifier + "\n");
     }
 
     /**
@@ -128,7 +137,7 @@ public class MiniIRtoMicroIR extends GJDepthFirst<Object, Void> {
      */
     public Object visit(PrintStmt n, Void argu) {
         TranslationResult exp = (TranslationResult) n.f1.accept(this, argu);
-        return exp.code + "PRINT " + exp.resultIdentifier + "\n";
+        return new Code().append(exp.code).append("PRINT " + exp.resultIdentifier + "\n");
     }
 
     /**
@@ -146,9 +155,10 @@ public class MiniIRtoMicroIR extends GJDepthFirst<Object, Void> {
      * f4 -> "END"
      */
     public Object visit(StmtExp n, Void argu) {
-        String stmts = (String) n.f1.accept(this, argu);
+        Code stmts = (Code) n.f1.accept(this, argu);
         TranslationResult retExp = (TranslationResult) n.f3.accept(this, argu);
-        return "BEGIN\n" + stmts + retExp.code + "RETURN " + retExp.resultIdentifier + "\nEND";
+        return new Code("BEGIN\n").append(stmts).append(retExp.code)
+                .append("RETURN " + retExp.resultIdentifier + "\nEND");
     }
 
     /**
@@ -160,20 +170,20 @@ public class MiniIRtoMicroIR extends GJDepthFirst<Object, Void> {
      */
     public Object visit(Call n, Void argu) {
         TranslationResult func = (TranslationResult) n.f1.accept(this, argu);
-        StringBuilder argsCode = new StringBuilder();
+        Code code = new Code().append(func.code);
         StringBuilder argsList = new StringBuilder();
         
         if (n.f3.present()) {
             for (Node node : n.f3.nodes) {
                 TranslationResult arg = (TranslationResult) node.accept(this, argu);
-                argsCode.append(arg.code);
+                code.append(arg.code);
                 argsList.append(arg.resultIdentifier).append(" ");
             }
         }
         
         String resultTemp = getNewTemp();
         String callStmt = "MOVE " + resultTemp + " CALL " + func.resultIdentifier + " ( " + argsList.toString() + ")\n";
-        return new TranslationResult(func.code + argsCode.toString() + callStmt, resultTemp);
+        return new TranslationResult(code.append(callStmt), resultTemp);
     }
 
     /**
@@ -184,7 +194,7 @@ public class MiniIRtoMicroIR extends GJDepthFirst<Object, Void> {
         TranslationResult size = (TranslationResult) n.f1.accept(this, argu);
         String resultTemp = getNewTemp();
         String hallocateStmt = "MOVE " + resultTemp + " HALLOCATE " + size.resultIdentifier + "\n";
-        return new TranslationResult(size.code + hallocateStmt, resultTemp);
+        return new TranslationResult(new Code().append(size.code).append(hallocateStmt), resultTemp);
     }
 
     /**
@@ -198,7 +208,7 @@ public class MiniIRtoMicroIR extends GJDepthFirst<Object, Void> {
         TranslationResult op2 = (TranslationResult) n.f2.accept(this, argu);
         String resultTemp = getNewTemp();
         String binOpStmt = "MOVE " + resultTemp + " " + op + " " + op1.resultIdentifier + " " + op2.resultIdentifier + "\n";
-        return new TranslationResult(op1.code + op2.code + binOpStmt, resultTemp);
+        return new TranslationResult(new Code().append(op1.code).append(op2.code).append(binOpStmt), resultTemp);
     }
 
     public Object visit(Operator n, Void argu) { return ((NodeToken) n.f0.choice).tokenImage; }
@@ -226,4 +236,4 @@ public class MiniIRtoMicroIR extends GJDepthFirst<Object, Void> {
     public Object visit(Label n, Void argu) {
         return new TranslationResult("", n.f0.tokenImage);
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
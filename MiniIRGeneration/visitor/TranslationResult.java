@@ -6,17 +6,21 @@ package visitor;
  * that holds the final result of the expression.
  */
 class TranslationResult {
-    String code;
+    Code code;
     String resultIdentifier;
 
-    public TranslationResult(String code, String resultIdentifier) {
+    public TranslationResult(Code code, String resultIdentifier) {
         this.code = code;
         this.resultIdentifier = resultIdentifier;
     }
 
+    public TranslationResult(String code, String resultIdentifier) {
+        this(new Code(code), resultIdentifier);
+    }
+
     @Override
     public String toString() {
         // This is helpful for debugging but should not be relied on by the visitor logic.
         return this.code + this.resultIdentifier;
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,34 +1,148 @@
 import syntaxtree.*;
 import visitor.*;
 import java.io.*;
+import java.util.*;
+import java.util.concurrent.Callable;
+import visitor.MicroIRtoMiniRAVisitor.Allocator;
 
+/**
+ * microIR to miniRA.
+ *
+ *   java P5 [-alloc linear|irc|binpack|best] < Prog.microIR
+ *
+ * -alloc picks the register allocator: linear scan over whole-procedure
+ * intervals (the default), graph coloring with iterated register coalescing,
+ * or second-chance binpacking, which splits live ranges. best runs all three
+ * on each procedure and keeps the one whose emitted code costs least.
+ */
 public class P5 {
-    
 
-    public static void main(String[] args) {
-        InputStream in = System.in;
-        try {
-            microIRParser parser = new microIRParser(in);
-            Node root = parser.Goal();
+    /**
+     * Allocated miniRA per procedure and allocator, shared by every compile
+     * in this JVM, so a long-lived driver only reallocates the procedures
+     * that changed.
+     */
+    private static final Map<Allocator, ProcedureMemo> MEMOS = new EnumMap<>(Allocator.class);
 
-            BuildCFGAndLiveness builder = new BuildCFGAndLiveness();
-            root.accept(builder, null);
+    static {
+        for (Allocator a : Allocator.values())
+            MEMOS.put(a, new ProcedureMemo(4096));
+    }
+
+    public static void main(String[] args) {
+        int status = run(args, new InputStreamReader(System.in), System.out, System.err);
+        if (status != 0)
+            System.exit(status);
+    }
 
+    /** Prints the miniRA for the microIR on in, -alloc picking the allocator; returns main's exit status. */
+    public static int run(String[] args, Reader in, PrintStream out, PrintStream err) {
+        Allocator allocator = Allocator.LINEAR;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-alloc") && i + 1 < args.length) {
+                try {
+                    allocator = Allocator.parse(args[++i]);
+                } catch (IllegalArgumentException e) {
+                    err.println(e.getMessage());
+                    return 2;
+                }
+            } else {
+                err.println("usage: P5 [-alloc linear|irc|binpack|best] < Prog.microIR");
+                return 2;
+            }
+        }
+        return run(in, out, err, allocator);
+    }
 
-            MicroIRtoMiniRAVisitor miniRAVisitor = new MicroIRtoMiniRAVisitor(builder);
-            root.accept(miniRAVisitor, null);
+    /** The same with the default allocator. */
+    public static int run(Reader in, PrintStream out, PrintStream err) {
+        return run(in, out, err, Allocator.LINEAR);
+    }
 
-            String miniRA = miniRAVisitor.getMiniRACode();
-            System.out.print(miniRA);
+    private static int run(Reader in, PrintStream out, PrintStream err, Allocator allocator) {
+        try {
+            out.print(compile(in, allocator));
+            return 0;
 
         } catch (ParseException pex) {
-            System.err.println("Parse error while reading microIR: " + pex.getMessage());
-            pex.printStackTrace(System.err);
-            System.exit(2);
+            err.println("Parse error while reading microIR: " + pex.getMessage());
+            pex.printStackTrace(err);
+            return 2;
         } catch (Throwable t) {
-            System.err.println("Unhandled exception in P5: " + t.getMessage());
-            t.printStackTrace(System.err);
-            System.exit(4);
+            err.println("Unhandled exception in P5: " + t.getMessage());
+            t.printStackTrace(err);
+            return 4;
+        }
+    }
+
+    /**
+     * Translates one microIR program to miniRA. Returns exactly what
+     * {@link #main} prints for it. Each procedure gets its own liveness,
+     * which is garbage as soon as its miniRA is emitted, so the analysis
+     * needs memory for the largest procedure rather than the whole program.
+     */
+    public static String compile(Reader in) throws ParseException {
+        return compile(in, Allocator.LINEAR);
+    }
+
+    public static String compile(Reader in, Allocator allocator) throws ParseException {
+        ProcedureMemo memo = MEMOS.get(allocator);
+        PhaseEvent ev = PhaseEvent.start("parse", 0);
+        microIRParser parser = new microIRParser(in);
+        Goal root = parser.Goal();
+        ev.setInputSize(parser.token.endLine);
+        ev.finish(root.f3.size() + 1);
+
+        StringBuilder out = new StringBuilder();
+        ProcedureMemo.Key key = ProcedureMemo.keyOf(root);
+        String code = memo.get(key);
+        if (code == null) {
+            BuildCFGAndLiveness builder = new BuildCFGAndLiveness();
+            builder.visitMain(root);
+            MicroIRtoMiniRAVisitor miniRAVisitor = new MicroIRtoMiniRAVisitor(builder, allocator);
+            miniRAVisitor.visitMain(root, null);
+            code = miniRAVisitor.getMiniRACode();
+            memo.put(key, code);
+        }
+        out.append(code);
+
+        for (Node node : root.f3.nodes) {
+            Procedure proc = (Procedure) node;
+            key = ProcedureMemo.keyOf(proc);
+            code = memo.get(key);
+            if (code == null) {
+                BuildCFGAndLiveness builder = new BuildCFGAndLiveness();
+                proc.accept(builder, null);
+                MicroIRtoMiniRAVisitor miniRAVisitor = new MicroIRtoMiniRAVisitor(builder, allocator);
+                proc.accept(miniRAVisitor, null);
+                code = miniRAVisitor.getMiniRACode();
+                memo.put(key, code);
+            }
+            out.append(code);
+        }
+        return out.toString();
+    }
+
+    /** Parse, liveness and one regalloc-NAME per allocator, each timed alone by Bench without the memo. */
+    public static Map<String, Callable<Object>> phases(String input) throws ParseException {
+        Goal root = new microIRParser(new StringReader(input)).Goal();
+        BuildCFGAndLiveness liveness = new BuildCFGAndLiveness();
+        root.accept(liveness, null);
+
+        Map<String, Callable<Object>> phases = new LinkedHashMap<>();
+        phases.put("parse", () -> new microIRParser(new StringReader(input)).Goal());
+        phases.put("liveness", () -> {
+            BuildCFGAndLiveness v = new BuildCFGAndLiveness();
+            root.accept(v, null);
+            return v;
+        });
+        for (Allocator a : Allocator.values()) {
+            phases.put("regalloc-" + a.flag, () -> {
+                MicroIRtoMiniRAVisitor v = new MicroIRtoMiniRAVisitor(liveness, a);
+                root.accept(v, null);
+                return v.getMiniRACode();
+            });
         }
+        return phases;
     }
 }
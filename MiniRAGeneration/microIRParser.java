@@ -6,7 +6,7 @@ import java.util.Vector;
 
 public class microIRParser implements microIRParserConstants {
 
-  static final public Goal Goal() throws ParseException {NodeToken n0;
+  final public Goal Goal() throws ParseException {NodeToken n0;
    Token n1;
    StmtList n2;
    NodeToken n3;
@@ -42,7 +42,7 @@ n8.beginColumn++; n8.endColumn++;
     throw new Error("Missing return statement in function");
 }
 
-  static final public StmtList StmtList() throws ParseException {NodeListOptional n0 = new NodeListOptional();
+  final public StmtList StmtList() throws ParseException {NodeListOptional n0 = new NodeListOptional();
    NodeSequence n1;
    NodeOptional n2;
    Label n3;
@@ -88,7 +88,7 @@ n0.nodes.trimToSize();
     throw new Error("Missing return statement in function");
 }
 
-  static final public Procedure Procedure() throws ParseException {Label n0;
+  final public Procedure Procedure() throws ParseException {Label n0;
    NodeToken n1;
    Token n2;
    IntegerLiteral n3;
@@ -106,7 +106,7 @@ n4 = JTBToolkit.makeNodeToken(n5);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Stmt Stmt() throws ParseException {NodeChoice n0;
+  final public Stmt Stmt() throws ParseException {NodeChoice n0;
    NoOpStmt n1;
    ErrorStmt n2;
    CJumpStmt n3;
@@ -165,7 +165,7 @@ n0 = new NodeChoice(n8, 7);
     throw new Error("Missing return statement in function");
 }
 
-  static final public NoOpStmt NoOpStmt() throws ParseException {NodeToken n0;
+  final public NoOpStmt NoOpStmt() throws ParseException {NodeToken n0;
    Token n1;
     n1 = jj_consume_token(NOOP);
 n0 = JTBToolkit.makeNodeToken(n1);
@@ -173,7 +173,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public ErrorStmt ErrorStmt() throws ParseException {NodeToken n0;
+  final public ErrorStmt ErrorStmt() throws ParseException {NodeToken n0;
    Token n1;
     n1 = jj_consume_token(ERROR);
 n0 = JTBToolkit.makeNodeToken(n1);
@@ -181,7 +181,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public CJumpStmt CJumpStmt() throws ParseException {NodeToken n0;
+  final public CJumpStmt CJumpStmt() throws ParseException {NodeToken n0;
    Token n1;
    Temp n2;
    Label n3;
@@ -193,7 +193,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public JumpStmt JumpStmt() throws ParseException {NodeToken n0;
+  final public JumpStmt JumpStmt() throws ParseException {NodeToken n0;
    Token n1;
    Label n2;
     n1 = jj_consume_token(JUMP);
@@ -203,7 +203,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public HStoreStmt HStoreStmt() throws ParseException {NodeToken n0;
+  final public HStoreStmt HStoreStmt() throws ParseException {NodeToken n0;
    Token n1;
    Temp n2;
    IntegerLiteral n3;
@@ -217,7 +217,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public HLoadStmt HLoadStmt() throws ParseException {NodeToken n0;
+  final public HLoadStmt HLoadStmt() throws ParseException {NodeToken n0;
    Token n1;
    Temp n2;
    Temp n3;
@@ -231,7 +231,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public MoveStmt MoveStmt() throws ParseException {NodeToken n0;
+  final public MoveStmt MoveStmt() throws ParseException {NodeToken n0;
    Token n1;
    Temp n2;
    Exp n3;
@@ -243,7 +243,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public PrintStmt PrintStmt() throws ParseException {NodeToken n0;
+  final public PrintStmt PrintStmt() throws ParseException {NodeToken n0;
    Token n1;
    SimpleExp n2;
     n1 = jj_consume_token(PRINT);
@@ -253,7 +253,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Exp Exp() throws ParseException {NodeChoice n0;
+  final public Exp Exp() throws ParseException {NodeChoice n0;
    Call n1;
    HAllocate n2;
    BinOp n3;
@@ -295,7 +295,7 @@ n0 = new NodeChoice(n4, 3);
     throw new Error("Missing return statement in function");
 }
 
-  static final public StmtExp StmtExp() throws ParseException {NodeToken n0;
+  final public StmtExp StmtExp() throws ParseException {NodeToken n0;
    Token n1;
    StmtList n2;
    NodeToken n3;
@@ -315,7 +315,7 @@ n6 = JTBToolkit.makeNodeToken(n7);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Call Call() throws ParseException {NodeToken n0;
+  final public Call Call() throws ParseException {NodeToken n0;
    Token n1;
    SimpleExp n2;
    NodeToken n3;
@@ -350,7 +350,7 @@ n7 = JTBToolkit.makeNodeToken(n8);
     throw new Error("Missing return statement in function");
 }
 
-  static final public HAllocate HAllocate() throws ParseException {NodeToken n0;
+  final public HAllocate HAllocate() throws ParseException {NodeToken n0;
    Token n1;
    SimpleExp n2;
     n1 = jj_consume_token(HALLOCATE);
@@ -360,7 +360,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public BinOp BinOp() throws ParseException {Operator n0;
+  final public BinOp BinOp() throws ParseException {Operator n0;
    Temp n1;
    SimpleExp n2;
     n0 = Operator();
@@ -370,7 +370,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Operator Operator() throws ParseException {NodeChoice n0;
+  final public Operator Operator() throws ParseException {NodeChoice n0;
    NodeToken n1;
    Token n2;
    NodeToken n3;
@@ -429,7 +429,7 @@ n0 = new NodeChoice(n11, 5);
     throw new Error("Missing return statement in function");
 }
 
-  static final public SimpleExp SimpleExp() throws ParseException {NodeChoice n0;
+  final public SimpleExp SimpleExp() throws ParseException {NodeChoice n0;
    Temp n1;
    IntegerLiteral n2;
    Label n3;
@@ -458,7 +458,7 @@ n0 = new NodeChoice(n3, 2);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Temp Temp() throws ParseException {NodeToken n0;
+  final public Temp Temp() throws ParseException {NodeToken n0;
    Token n1;
    IntegerLiteral n2;
     n1 = jj_consume_token(TEMP);
@@ -468,7 +468,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public IntegerLiteral IntegerLiteral() throws ParseException {NodeToken n0;
+  final public IntegerLiteral IntegerLiteral() throws ParseException {NodeToken n0;
    Token n1;
     n1 = jj_consume_token(INTEGER_LITERAL);
 n0 = JTBToolkit.makeNodeToken(n1);
@@ -476,7 +476,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static final public Label Label() throws ParseException {NodeToken n0;
+  final public Label Label() throws ParseException {NodeToken n0;
    Token n1;
     n1 = jj_consume_token(IDENTIFIER);
 n0 = JTBToolkit.makeNodeToken(n1);
@@ -484,17 +484,16 @@ n0 = JTBToolkit.makeNodeToken(n1);
     throw new Error("Missing return statement in function");
 }
 
-  static private boolean jj_initialized_once = false;
   /** Generated Token Manager. */
-  static public microIRParserTokenManager token_source;
-  static JavaCharStream jj_input_stream;
+  public microIRParserTokenManager token_source;
+  JavaCharStream jj_input_stream;
   /** Current token. */
-  static public Token token;
+  public Token token;
   /** Next token. */
-  static public Token jj_nt;
-  static private int jj_ntk;
-  static private int jj_gen;
-  static final private int[] jj_la1 = new int[8];
+  public Token jj_nt;
+  private int jj_ntk;
+  private int jj_gen;
+  final private int[] jj_la1 = new int[8];
   static private int[] jj_la1_0;
   static private int[] jj_la1_1;
   static {
@@ -514,13 +513,6 @@ n0 = JTBToolkit.makeNodeToken(n1);
   }
   /** Constructor with InputStream and supplied encoding */
   public microIRParser(java.io.InputStream stream, String encoding) {
-	 if (jj_initialized_once) {
-	   System.out.println("ERROR: Second call to constructor of static parser.  ");
-	   System.out.println("	   You must either use ReInit() or set the JavaCC option STATIC to false");
-	   System.out.println("	   during parser generation.");
-	   throw new Error();
-	 }
-	 jj_initialized_once = true;
 	 try { jj_input_stream = new JavaCharStream(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
 	 token_source = new microIRParserTokenManager(jj_input_stream);
 	 token = new Token();
@@ -530,11 +522,11 @@ n0 = JTBToolkit.makeNodeToken(n1);
   }
 
   /** Reinitialise. */
-  static public void ReInit(java.io.InputStream stream) {
+  public void ReInit(java.io.InputStream stream) {
 	  ReInit(stream, null);
   }
   /** Reinitialise. */
-  static public void ReInit(java.io.InputStream stream, String encoding) {
+  public void ReInit(java.io.InputStream stream, String encoding) {
 	 try { jj_input_stream.ReInit(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
 	 token_source.ReInit(jj_input_stream);
 	 token = new Token();
@@ -545,13 +537,6 @@ n0 = JTBToolkit.makeNodeToken(n1);
 
   /** Constructor. */
   public microIRParser(java.io.Reader stream) {
-	 if (jj_initialized_once) {
-	   System.out.println("ERROR: Second call to constructor of static parser. ");
-	   System.out.println("	   You must either use ReInit() or set the JavaCC option STATIC to false");
-	   System.out.println("	   during parser generation.");
-	   throw new Error();
-	 }
-	 jj_initialized_once = true;
 	 jj_input_stream = new JavaCharStream(stream, 1, 1);
 	 token_source = new microIRParserTokenManager(jj_input_stream);
 	 token = new Token();
@@ -561,7 +546,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
   }
 
   /** Reinitialise. */
-  static public void ReInit(java.io.Reader stream) {
+  public void ReInit(java.io.Reader stream) {
 	if (jj_input_stream == null) {
 	   jj_input_stream = new JavaCharStream(stream, 1, 1);
 	} else {
@@ -580,13 +565,6 @@ n0 = JTBToolkit.makeNodeToken(n1);
 
   /** Constructor with generated Token Manager. */
   public microIRParser(microIRParserTokenManager tm) {
-	 if (jj_initialized_once) {
-	   System.out.println("ERROR: Second call to constructor of static parser. ");
-	   System.out.println("	   You must either use ReInit() or set the JavaCC option STATIC to false");
-	   System.out.println("	   during parser generation.");
-	   throw new Error();
-	 }
-	 jj_initialized_once = true;
 	 token_source = tm;
 	 token = new Token();
 	 jj_ntk = -1;
@@ -603,7 +581,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
 	 for (int i = 0; i < 8; i++) jj_la1[i] = -1;
   }
 
-  static private Token jj_consume_token(int kind) throws ParseException {
+  private Token jj_consume_token(int kind) throws ParseException {
 	 Token oldToken;
 	 if ((oldToken = token).next != null) token = token.next;
 	 else token = token.next = token_source.getNextToken();
@@ -619,7 +597,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
 
 
 /** Get the next Token. */
-  static final public Token getNextToken() {
+  final public Token getNextToken() {
 	 if (token.next != null) token = token.next;
 	 else token = token.next = token_source.getNextToken();
 	 jj_ntk = -1;
@@ -628,7 +606,7 @@ n0 = JTBToolkit.makeNodeToken(n1);
   }
 
 /** Get the specific Token. */
-  static final public Token getToken(int index) {
+  final public Token getToken(int index) {
 	 Token t = token;
 	 for (int i = 0; i < index; i++) {
 	   if (t.next != null) t = t.next;
@@ -637,19 +615,19 @@ n0 = JTBToolkit.makeNodeToken(n1);
 	 return t;
   }
 
-  static private int jj_ntk_f() {
+  private int jj_ntk_f() {
 	 if ((jj_nt=token.next) == null)
 	   return (jj_ntk = (token.next=token_source.getNextToken()).kind);
 	 else
 	   return (jj_ntk = jj_nt.kind);
   }
 
-  static private java.util.List<int[]> jj_expentries = new java.util.ArrayList<int[]>();
-  static private int[] jj_expentry;
-  static private int jj_kind = -1;
+  private java.util.List<int[]> jj_expentries = new java.util.ArrayList<int[]>();
+  private int[] jj_expentry;
+  private int jj_kind = -1;
 
   /** Generate ParseException. */
-  static public ParseException generateParseException() {
+  public ParseException generateParseException() {
 	 jj_expentries.clear();
 	 boolean[] la1tokens = new boolean[48];
 	 if (jj_kind >= 0) {
@@ -682,19 +660,19 @@ n0 = JTBToolkit.makeNodeToken(n1);
 	 return new ParseException(token, exptokseq, tokenImage);
   }
 
-  static private boolean trace_enabled;
+  private boolean trace_enabled;
 
 /** Trace enabled. */
-  static final public boolean trace_enabled() {
+  final public boolean trace_enabled() {
 	 return trace_enabled;
   }
 
   /** Enable tracing. */
-  static final public void enable_tracing() {
+  final public void enable_tracing() {
   }
 
   /** Disable tracing. */
-  static final public void disable_tracing() {
+  final public void disable_tracing() {
   }
 
 }
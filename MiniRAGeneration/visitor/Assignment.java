@@ -0,0 +1,32 @@
+package visitor;
+
+/**
+ * Where a register allocator put each temp of one procedure: in one of the
+ * registers it was given, by index, or in a stack slot. The emitter reads
+ * operands and writes results through this alone, whichever allocator made
+ * it.
+ */
+public interface Assignment {
+
+    /** The index of the register holding temp t at statement i, or -1 when it is not in one. */
+    int location(int t, int i);
+
+    /**
+     * The stack slot temp t lives in whenever it is out of a register, or -1
+     * when it never needs one: it is unused, always in a register, or a
+     * constant the emitter recomputes.
+     */
+    int slot(int t);
+
+    /** How many stack slots the spilled temps need. */
+    int spillCount();
+
+    /** Whether register r holds some temp anywhere in the procedure. */
+    boolean used(int r);
+
+    /**
+     * Whether a temp's location can change from one statement to the next,
+     * in which case the emitter moves it on every CFG edge where it does.
+     */
+    boolean splits();
+}
@@ -0,0 +1,71 @@
+package visitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Runs several allocators on the same procedure and keeps the assignment
+ * the scorer rates cheapest, the earliest one on a tie. All but the first
+ * allocate and are scored on the common fork-join pool while the calling
+ * thread does the first; the allocators and the scorer only read the
+ * procedure, so they can share it. Phase events from the pool threads do
+ * not reach the caller's stats sink, which is installed per thread.
+ */
+public final class BestOf implements RegisterAllocator {
+
+    private final ToLongBiFunction<BuildCFGAndLiveness.ProcedureInfo, Assignment> cost;
+    private final RegisterAllocator[] candidates;
+
+    public BestOf(ToLongBiFunction<BuildCFGAndLiveness.ProcedureInfo, Assignment> cost,
+            RegisterAllocator... candidates) {
+        this.cost = cost;
+        this.candidates = candidates.clone();
+    }
+
+    @Override
+    public Assignment allocate(BuildCFGAndLiveness.ProcedureInfo proc, String[] regs) {
+        List<CompletableFuture<Scored>> pending = new ArrayList<>(candidates.length - 1);
+        for (int c = 1; c < candidates.length; c++) {
+            RegisterAllocator candidate = candidates[c];
+            pending.add(CompletableFuture.supplyAsync(() -> score(proc, candidate.allocate(proc, regs))));
+        }
+
+        Scored best = score(proc, candidates[0].allocate(proc, regs));
+        for (CompletableFuture<Scored> f : pending) {
+            Scored s = join(f);
+            if (s.cost < best.cost)
+                best = s;
+        }
+        return best.assignment;
+    }
+
+    private Scored score(BuildCFGAndLiveness.ProcedureInfo proc, Assignment a) {
+        return new Scored(a, cost.applyAsLong(proc, a));
+    }
+
+    private static final class Scored {
+        final Assignment assignment;
+        final long cost;
+
+        Scored(Assignment assignment, long cost) {
+            this.assignment = assignment;
+            this.cost = cost;
+        }
+    }
+
+    private static Scored join(CompletableFuture<Scored> f) {
+        try {
+            return f.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw e;
+        }
+    }
+}
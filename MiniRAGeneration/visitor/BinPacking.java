@@ -0,0 +1,325 @@
+package visitor;
+
+import java.util.*;
+
+/**
+ * Second-chance binpacking (Traub, Holloway and Smith) for one procedure.
+ * Unlike the whole-procedure intervals of the default linear scan, a temp
+ * only occupies the statements where it is live on entry or defined, so it
+ * holds nothing in the holes between its live ranges, and its location may
+ * change from one statement to the next.
+ *
+ * Statements are scanned in order with one register file. A temp that starts
+ * or resumes a live range takes a free register: the one it held before if
+ * it can, else the cheapest for it (see {@link RegisterClasses}). When none
+ * is free, the holder whose next reference is farthest away is evicted to
+ * its stack slot, provided that is farther than the newcomer's. An evicted
+ * temp stays in memory, where the emitter reads it through scratch
+ * registers, until it is next referenced; then it gets its second chance at
+ * a register.
+ *
+ * The result is a location per temp and statement. Where a temp's location
+ * differs across a CFG edge, the emitter resolves it on that edge; see
+ * {@link #location}.
+ */
+public final class BinPacking implements Assignment {
+
+    private static final int[] NONE = {};
+
+    private final BuildCFGAndLiveness.ProcedureInfo proc;
+    private final BuildCFGAndLiveness.ProcedureInfo.Liveness live;
+    private final String[] regs;
+    private final int n;
+
+    /** Stack slot of each temp that is ever in memory while live, or -1; constants never get one. */
+    private final int[] slot;
+    private int spillCount;
+    /** Which of {@code regs} hold a temp anywhere, as a bit mask. */
+    private int used;
+
+    /** Per temp, the statements where its location changes and the register from there on (-1 for memory). */
+    private final int[][] changeAt;
+    private final int[][] changeTo;
+    private final int[] changes;
+
+    /** {@link BuildCFGAndLiveness.ProcedureInfo#callsCrossed}, to pick a temp's register class. */
+    private final int[] callsCrossed;
+
+    /** Per temp, the statements that use or define it, ascending. */
+    private final int[][] refs;
+    private final int[] refCount;
+
+    public BinPacking(BuildCFGAndLiveness.ProcedureInfo proc, String[] regs) {
+        if (regs.length > 31)
+            throw new IllegalArgumentException("at most 31 registers: " + regs.length);
+        this.proc = proc;
+        this.live = proc.liveness();
+        this.regs = regs;
+        this.n = proc.tempCount;
+        slot = new int[n];
+        Arrays.fill(slot, -1);
+        changeAt = new int[n][];
+        changeTo = new int[n][];
+        changes = new int[n];
+        refs = new int[n][];
+        refCount = new int[n];
+        callsCrossed = proc.callsCrossed();
+        Arrays.fill(changeAt, NONE);
+        Arrays.fill(changeTo, NONE);
+        Arrays.fill(refs, NONE);
+    }
+
+    /** The register index of temp t at statement i, or -1 when it is in its stack slot. */
+    @Override
+    public int location(int t, int i) {
+        int lo = 0, hi = changes[t] - 1, found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (changeAt[t][mid] <= i) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found < 0 ? -1 : changeTo[t][found];
+    }
+
+    @Override
+    public int slot(int t) {
+        return slot[t];
+    }
+
+    @Override
+    public int spillCount() {
+        return spillCount;
+    }
+
+    @Override
+    public boolean used(int r) {
+        return (used & 1 << r) != 0;
+    }
+
+    @Override
+    public boolean splits() {
+        return true;
+    }
+
+    public BinPacking run() {
+        PhaseEvent ev = PhaseEvent.start("allocation", n);
+        List<Instr> code = proc.code;
+        int size = code.size();
+        for (int i = 0; i < size; i++) {
+            Instr ins = code.get(i);
+            addRef(ins.dst, i);
+            addRef(ins.a, i);
+            addRef(ins.b, i);
+            for (int t : ins.args)
+                addRef(t, i);
+        }
+
+        int[] holder = new int[regs.length];
+        Arrays.fill(holder, -1);
+        int[] current = new int[n];
+        Arrays.fill(current, -1);
+        int[] lastOccupied = new int[n];
+        Arrays.fill(lastOccupied, -2);
+
+        for (int i = 0; i < size; i++) {
+            Instr ins = code.get(i);
+            for (int r = 0; r < regs.length; r++) {
+                int h = holder[r];
+                if (h >= 0 && !occupies(h, i, ins)) {
+                    holder[r] = -1;
+                    current[h] = -1;
+                    setLocation(h, i, -1);
+                }
+            }
+
+            for (int t = live.nextLiveIn(i, 0); t >= 0; t = live.nextLiveIn(i, t + 1))
+                place(t, i, ins, holder, current, lastOccupied);
+            if (ins.dst >= 0 && !live.isLiveIn(i, ins.dst) && !coalesce(ins, i, holder, current, lastOccupied))
+                place(ins.dst, i, ins, holder, current, lastOccupied);
+        }
+        shareSlots(size);
+        ev.finish(spillCount);
+        return this;
+    }
+
+    /**
+     * Renumbers the stack slots so that temps whose spans, from the first to
+     * the last statement they occupy, are disjoint share one. A slot only
+     * holds a value while its temp is live, so that is enough.
+     */
+    private void shareSlots(int size) {
+        int[] first = new int[n];
+        int[] last = new int[n];
+        Arrays.fill(first, -1);
+        for (int i = 0; i < size; i++) {
+            for (int t = live.nextLiveIn(i, 0); t >= 0; t = live.nextLiveIn(i, t + 1))
+                span(t, i, first, last);
+            int d = proc.code.get(i).dst;
+            if (d >= 0)
+                span(d, i, first, last);
+        }
+        spillCount = SpillSlots.color(first, last, slot);
+    }
+
+    private static void span(int t, int i, int[] first, int[] last) {
+        if (first[t] < 0)
+            first[t] = i;
+        last[t] = i;
+    }
+
+    /**
+     * Decides where t, which occupies statement i, lives there. A temp that
+     * keeps its register, or that stays in memory without being referenced,
+     * is left alone.
+     */
+    private void place(int t, int i, Instr ins, int[] holder, int[] current, int[] lastOccupied) {
+        boolean resumes = lastOccupied[t] != i - 1;
+        lastOccupied[t] = i;
+        if (current[t] >= 0)
+            return;
+        if (!resumes && !references(ins, t))
+            return;
+
+        int r = preferred(t, i, holder);
+        if (r < 0) {
+            int free = 0;
+            for (int q = 0; q < regs.length; q++)
+                if (holder[q] < 0)
+                    free |= 1 << q;
+            r = RegisterClasses.cheapest(regs, free, used, callsCrossed[t]);
+        }
+        if (r < 0) {
+            int victim = -1;
+            int victimNext = nextRef(t, i);
+            for (int q = 0; q < regs.length; q++) {
+                int h = holder[q];
+                if (references(ins, h))
+                    continue;
+                int next = nextRef(h, i);
+                if (next > victimNext) {
+                    victim = q;
+                    victimNext = next;
+                }
+            }
+            if (victim < 0) {
+                park(t, i);
+                return;
+            }
+            r = victim;
+            int h = holder[r];
+            current[h] = -1;
+            park(h, i);
+        }
+        holder[r] = t;
+        current[t] = r;
+        used |= 1 << r;
+        setLocation(t, i, r);
+    }
+
+    /**
+     * Hands the source's register to the destination of a copy at statement
+     * i when the source dies there, so the copy vanishes. Returns whether it
+     * did.
+     */
+    private boolean coalesce(Instr ins, int i, int[] holder, int[] current, int[] lastOccupied) {
+        int src = ins.a;
+        if (ins.op != Instr.MOVE || src < 0 || current[src] < 0)
+            return false;
+        for (int e = proc.succStart[i]; e < proc.succStart[i + 1]; e++)
+            if (live.isLiveIn(proc.succ[e], src))
+                return false;
+        int r = current[src];
+        current[src] = -1;
+        setLocation(src, i + 1, -1);
+        holder[r] = ins.dst;
+        current[ins.dst] = r;
+        lastOccupied[ins.dst] = i;
+        setLocation(ins.dst, i, r);
+        return true;
+    }
+
+    /**
+     * A free register that saves a move on the way into statement i: where
+     * t is at the end of a predecessor already scanned, or else the register
+     * it last held. Returns -1 if neither is free.
+     */
+    private int preferred(int t, int i, int[] holder) {
+        for (int e = proc.predStart[i]; e < proc.predStart[i + 1]; e++) {
+            int p = proc.pred[e];
+            if (p < i) {
+                int r = location(t, p);
+                if (r >= 0 && holder[r] < 0)
+                    return r;
+            }
+        }
+        for (int c = changes[t] - 1; c >= 0; c--) {
+            int r = changeTo[t][c];
+            if (r >= 0)
+                return holder[r] < 0 ? r : -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Puts t in its stack slot from statement i on. A constant gets no slot:
+     * the emitter recomputes it wherever it is out of a register.
+     */
+    private void park(int t, int i) {
+        if (slot[t] < 0 && proc.constant[t] == null)
+            slot[t] = spillCount++;
+        setLocation(t, i, -1);
+    }
+
+    private boolean occupies(int t, int i, Instr ins) {
+        return ins.dst == t || live.isLiveIn(i, t);
+    }
+
+    private static boolean references(Instr ins, int t) {
+        if (ins.dst == t || ins.a == t || ins.b == t)
+            return true;
+        for (int x : ins.args)
+            if (x == t)
+                return true;
+        return false;
+    }
+
+    /** The first statement at or after i that references t, or MAX_VALUE. */
+    private int nextRef(int t, int i) {
+        int k = Arrays.binarySearch(refs[t], 0, refCount[t], i);
+        if (k < 0)
+            k = -k - 1;
+        return k < refCount[t] ? refs[t][k] : Integer.MAX_VALUE;
+    }
+
+    private void addRef(int t, int i) {
+        if (t < 0)
+            return;
+        int c = refCount[t];
+        if (c > 0 && refs[t][c - 1] == i)
+            return;
+        if (c == refs[t].length)
+            refs[t] = Arrays.copyOf(refs[t], Math.max(4, c * 2));
+        refs[t][refCount[t]++] = i;
+    }
+
+    private void setLocation(int t, int i, int r) {
+        int c = changes[t];
+        if (c > 0 && changeAt[t][c - 1] == i) {
+            c--;
+            changes[t] = c;
+        }
+        if (c > 0 && changeTo[t][c - 1] == r)
+            return;
+        if (c == changeAt[t].length) {
+            changeAt[t] = Arrays.copyOf(changeAt[t], Math.max(4, c * 2));
+            changeTo[t] = Arrays.copyOf(changeTo[t], Math.max(4, c * 2));
+        }
+        changeAt[t][c] = i;
+        changeTo[t][c] = r;
+        changes[t] = c + 1;
+    }
+}
@@ -4,64 +4,207 @@ import syntaxtree.*;
 import java.util.*;
 import java.io.*;
 
+/**
+ * Builds the per-procedure CFG and liveness sets for one microIR program.
+ * Each statement is lowered to an {@link Instr} on the way, which is all the
+ * later phases look at. The results stay in {@link #procedures}, so an
+ * instance belongs to a single compilation; nothing is static and separate
+ * instances may run concurrently.
+ */
 public class BuildCFGAndLiveness extends GJDepthFirst<Void, Void> {
 
-    public static class StmtInfo {
-        public Node astNode;
-        public int index;
-        public String kind;
-        public BitSet use = new BitSet();
-        public BitSet def = new BitSet();
-        public BitSet in = new BitSet();
-        public BitSet out = new BitSet();
-        public Set<Integer> succ = new LinkedHashSet<>();
-        public Set<Integer> pred = new LinkedHashSet<>();
-
-        public StmtInfo(Node ast, int idx, String k) {
-            astNode = ast;
-            index = idx;
-            kind = k;
-        }
-    }
-
+    /**
+     * One procedure's statements, CFG and liveness, kept in flat arrays.
+     * Statement i is code.get(i); its successors are
+     * succ[succStart[i] .. succStart[i+1]), and likewise for pred. The last
+     * statement is always the RETURN. Liveness is kept per segment, a run of
+     * at most {@link #SEGMENT} statements of one basic block, and read per
+     * statement through a {@link Liveness}.
+     */
     public static class ProcedureInfo {
+        /** The most statements in one segment, which bounds what a {@link Liveness} caches. */
+        static final int SEGMENT = 256;
+
         public String name;
-        public List<StmtInfo> nodes = new ArrayList<>();
+        public List<Instr> code = new ArrayList<>();
         public Map<String, Integer> labelToIndex = new HashMap<>();
         public int argCount = 0;
+        /** Temps are renumbered 0..tempCount-1 per procedure; see {@link #tempIds}. */
         public int tempCount = 0;
+        /** The microIR number of each temp of the procedure, by its local number. */
+        public int[] tempIds;
+        public int[] succStart;
+        public int[] succ;
+        public int[] predStart;
+        public int[] pred;
+        /** Longs per temp set. */
+        public int words;
+        /**
+         * Segment s is statements segStart[s] .. segStart[s+1]), and statement
+         * i is in segmentOf[i]. Row s of segIn and segOut, words longs each,
+         * holds the temps live into its first statement and out of its last.
+         */
+        private int[] segmentOf;
+        private int[] segStart;
+        private long[] segIn;
+        private long[] segOut;
+        /**
+         * The literal or label of each temp whose only definition is a MOVE
+         * of one, so that wherever it has no register it can be recomputed
+         * rather than kept in a stack slot; null for every other temp.
+         */
+        public String[] constant;
 
         public ProcedureInfo(String n) {
             name = n;
         }
+
+        /** A fresh view of the per-statement sets; it is not thread-safe, so each user takes its own. */
+        public Liveness liveness() {
+            return new Liveness();
+        }
+
+        /**
+         * The temps live into and out of each statement. Only the segment
+         * rows are stored, so the first time a statement inside a segment is
+         * asked about, the segment's sets are rebuilt by walking it backward
+         * from its live-out, and they stay until another segment's are
+         * needed. A scan in statement order thus walks each segment once,
+         * and the sets of a segment's first statement and of the successors
+         * of its last are rows already, so looking across a segment or block
+         * edge does not evict the cache.
+         */
+        public final class Liveness {
+            private int cached = -1;
+            private long[] rows = new long[0];
+            /** Where the set of the statement last located starts. */
+            private long[] bits;
+            private int base;
+
+            private Liveness() {
+            }
+
+            public boolean isLiveIn(int i, int t) {
+                locateIn(i);
+                return (bits[base + (t >>> 6)] & (1L << t)) != 0;
+            }
+
+            /** The first temp at or after {@code from} that is live on entry to statement i, or -1. */
+            public int nextLiveIn(int i, int from) {
+                if (from >= tempCount)
+                    return -1;
+                locateIn(i);
+                return next(from);
+            }
+
+            /** The first temp at or after {@code from} that is live on exit from statement i, or -1. */
+            public int nextLiveOut(int i, int from) {
+                if (from >= tempCount)
+                    return -1;
+                int s = segmentOf[i];
+                if (i + 1 == segStart[s + 1]) {
+                    bits = segOut;
+                    base = row(s, words);
+                } else {
+                    locateIn(i + 1);
+                }
+                return next(from);
+            }
+
+            private int next(int from) {
+                int w = from >>> 6;
+                long word = bits[base + w] & (-1L << from);
+                while (word == 0) {
+                    if (++w == words)
+                        return -1;
+                    word = bits[base + w];
+                }
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+
+            private void locateIn(int i) {
+                int s = segmentOf[i];
+                int first = segStart[s];
+                if (i == first) {
+                    bits = segIn;
+                    base = row(s, words);
+                    return;
+                }
+                if (s != cached)
+                    rebuild(s);
+                bits = rows;
+                base = row(i - first - 1, words);
+            }
+
+            /** Fills rows with the live-in sets of segment s after its first statement. */
+            private void rebuild(int s) {
+                int first = segStart[s];
+                int last = segStart[s + 1] - 1;
+                int size = row(last - first, words);
+                if (rows.length < size)
+                    rows = new long[size];
+                int at = size - words;
+                System.arraycopy(segOut, row(s, words), rows, at, words);
+                for (int i = last; i > first; --i) {
+                    if (i < last) {
+                        System.arraycopy(rows, at, rows, at - words, words);
+                        at -= words;
+                    }
+                    transfer(rows, at, code.get(i));
+                }
+                cached = s;
+            }
+        }
+
+        /**
+         * How many CALLs each temp lives across, that is, is live both into
+         * and out of other than as the result. Such a temp costs a save and a
+         * restore per call in a t register, but nothing extra in an s
+         * register once that is saved in the prologue.
+         */
+        public int[] callsCrossed() {
+            int[] crossed = new int[tempCount];
+            Liveness live = liveness();
+            for (int i = 0; i + 1 < code.size(); i++) {
+                Instr ins = code.get(i);
+                if (ins.op != Instr.CALL)
+                    continue;
+                for (int t = live.nextLiveIn(i, 0); t >= 0; t = live.nextLiveIn(i, t + 1))
+                    if (t != ins.dst && live.isLiveIn(i + 1, t))
+                        crossed[t]++;
+            }
+            return crossed;
+        }
     }
 
     public Map<String, ProcedureInfo> procedures = new LinkedHashMap<>();
 
     private ProcedureInfo currentProc = null;
-    private int currentIndex = 0;
-
-    private int tempIdFromTemp(Temp t) {
-        if (t == null)
-            return -1;
-        String v = t.f1.f0.tokenImage;
-        try {
-            return Integer.parseInt(v);
-        } catch (NumberFormatException ex) {
-            return -1;
-        }
+    private String pendingLabel = null;
+
+    private static int temp(Temp t) {
+        return Integer.parseInt(t.f1.f0.tokenImage);
+    }
+
+    /** The temp a SimpleExp names, or -1 when it is a literal or label; see {@link #constant}. */
+    private static int temp(SimpleExp se) {
+        Node c = se.f0.choice;
+        return c instanceof Temp ? temp((Temp) c) : -1;
     }
 
-    private String labelNameFromLabel(Label l) {
-        if (l == null)
-            return null;
-        return l.f0.tokenImage;
+    private static String constant(SimpleExp se) {
+        Node c = se.f0.choice;
+        if (c instanceof IntegerLiteral)
+            return ((IntegerLiteral) c).f0.tokenImage;
+        if (c instanceof Label)
+            return ((Label) c).f0.tokenImage;
+        return null;
     }
 
-    private void addStmt(Node stmtNode, String kind) {
-        StmtInfo si = new StmtInfo(stmtNode, currentIndex, kind);
-        currentProc.nodes.add(si);
-        currentIndex++;
+    private void addStmt(Instr instr) {
+        instr.label = pendingLabel;
+        pendingLabel = null;
+        currentProc.code.add(instr);
     }
 
     /**
@@ -73,21 +216,22 @@ public class BuildCFGAndLiveness extends GJDepthFirst<Void, Void> {
      */
     @Override
     public Void visit(Goal n, Void argu) {
+        visitMain(n);
+        n.f3.accept(this, null);
+        return null;
+    }
+
+    /** Builds the CFG and liveness of MAIN only, leaving the procedures alone. */
+    public void visitMain(Goal n) {
+        PhaseEvent ev = PhaseEvent.start("cfg", 0);
         currentProc = new ProcedureInfo("MAIN");
         currentProc.argCount = 0;
         procedures.put(currentProc.name, currentProc);
-        currentIndex = 0;
 
         n.f1.accept(this, null);
+        addStmt(Instr.ret(-1, null));
 
-        StmtInfo returnInfo = new StmtInfo(null, currentIndex, "RETURN");
-        currentProc.nodes.add(returnInfo);
-        currentIndex++;
-
-        finalizeProcedure(currentProc);
-
-        n.f3.accept(this, null);
-        return null;
+        finalizeProcedure(currentProc, ev);
     }
 
     /**
@@ -99,22 +243,18 @@ public class BuildCFGAndLiveness extends GJDepthFirst<Void, Void> {
      */
     @Override
     public Void visit(Procedure n, Void argu) {
-        String nm = labelNameFromLabel(n.f0);
+        PhaseEvent ev = PhaseEvent.start("cfg", 0);
+        String nm = n.f0.f0.tokenImage;
         ProcedureInfo prev = currentProc;
         currentProc = new ProcedureInfo(nm);
         int argCount = Integer.parseInt(n.f2.f0.tokenImage);
         currentProc.argCount = argCount;
         procedures.put(currentProc.name, currentProc);
-        currentIndex = 0;
 
         n.f4.f1.accept(this, null);
+        addStmt(Instr.ret(temp(n.f4.f3), constant(n.f4.f3)));
 
-        StmtInfo returnInfo = new StmtInfo(null, currentIndex, "RETURN");
-        computeUseDefForSimpleExp(n.f4.f3, returnInfo.use);
-        currentProc.nodes.add(returnInfo);
-        currentIndex++;
-
-        finalizeProcedure(currentProc);
+        finalizeProcedure(currentProc, ev);
         currentProc = prev;
         return null;
     }
@@ -134,8 +274,8 @@ public class BuildCFGAndLiveness extends GJDepthFirst<Void, Void> {
     @Override
     public Void visit(Label n, Void argu) {
         if (currentProc != null) {
-            String lab = labelNameFromLabel(n);
-            currentProc.labelToIndex.put(lab, currentIndex);
+            pendingLabel = n.f0.tokenImage;
+            currentProc.labelToIndex.put(pendingLabel, currentProc.code.size());
         }
         return null;
     }
@@ -145,7 +285,7 @@ public class BuildCFGAndLiveness extends GJDepthFirst<Void, Void> {
      */
     @Override
     public Void visit(NoOpStmt n, Void argu) {
-        addStmt(n, "NOOP");
+        addStmt(Instr.noop());
         return null;
     }
 
@@ -154,7 +294,7 @@ public class BuildCFGAndLiveness extends GJDepthFirst<Void, Void> {
      */
     @Override
     public Void visit(ErrorStmt n, Void argu) {
-        addStmt(n, "ERROR");
+        addStmt(Instr.error());
         return null;
     }
 
@@ -165,7 +305,7 @@ public class BuildCFGAndLiveness extends GJDepthFirst<Void, Void> {
      */
     @Override
     public Void visit(CJumpStmt n, Void argu) {
-        addStmt(n, "CJUMP");
+        addStmt(Instr.cjump(temp(n.f1), n.f2.f0.tokenImage));
         return null;
     }
 
@@ -175,7 +315,7 @@ public class BuildCFGAndLiveness extends GJDepthFirst<Void, Void> {
      */
     @Override
     public Void visit(JumpStmt n, Void argu) {
-        addStmt(n, "JUMP");
+        addStmt(Instr.jump(n.f1.f0.tokenImage));
         return null;
     }
 
@@ -187,7 +327,7 @@ public class BuildCFGAndLiveness extends GJDepthFirst<Void, Void> {
      */
     @Override
     public Void visit(HStoreStmt n, Void argu) {
-        addStmt(n, "HSTORE");
+        addStmt(Instr.hstore(temp(n.f1), Integer.parseInt(n.f2.f0.tokenImage), temp(n.f3)));
         return null;
     }
 
@@ -199,7 +339,7 @@ public class BuildCFGAndLiveness extends GJDepthFirst<Void, Void> {
      */
     @Override
     public Void visit(HLoadStmt n, Void argu) {
-        addStmt(n, "HLOAD");
+        addStmt(Instr.hload(temp(n.f1), temp(n.f2), Integer.parseInt(n.f3.f0.tokenImage)));
         return null;
     }
 
@@ -210,7 +350,25 @@ public class BuildCFGAndLiveness extends GJDepthFirst<Void, Void> {
      */
     @Override
     public Void visit(MoveStmt n, Void argu) {
-        addStmt(n, "MOVE");
+        int dst = temp(n.f1);
+        Node e = n.f2.f0.choice;
+        if (e instanceof Call) {
+            Call c = (Call) e;
+            int[] args = new int[c.f3.size()];
+            for (int i = 0; i < args.length; i++)
+                args[i] = temp((Temp) c.f3.elementAt(i));
+            addStmt(Instr.call(dst, temp(c.f1), constant(c.f1), args));
+        } else if (e instanceof HAllocate) {
+            HAllocate h = (HAllocate) e;
+            addStmt(Instr.hallocate(dst, temp(h.f1), constant(h.f1)));
+        } else if (e instanceof BinOp) {
+            BinOp b = (BinOp) e;
+            String op = ((NodeToken) b.f0.f0.choice).tokenImage;
+            addStmt(Instr.binop(dst, op, temp(b.f1), temp(b.f2), constant(b.f2)));
+        } else {
+            SimpleExp se = (SimpleExp) e;
+            addStmt(Instr.move(dst, temp(se), constant(se)));
+        }
         return null;
     }
 
@@ -220,7 +378,7 @@ public class BuildCFGAndLiveness extends GJDepthFirst<Void, Void> {
      */
     @Override
     public Void visit(PrintStmt n, Void argu) {
-        addStmt(n, "PRINT");
+        addStmt(Instr.print(temp(n.f1), constant(n.f1)));
         return null;
     }
 
@@ -237,233 +395,320 @@ public class BuildCFGAndLiveness extends GJDepthFirst<Void, Void> {
         return null;
     }
 
-    private void finalizeProcedure(ProcedureInfo proc) {
-        int n = proc.nodes.size();
-        if (n == 0)
-            return;
+    /**
+     * Links the statements into a CFG and solves liveness over it. The cfg
+     * event was started by the caller before the statements were collected.
+     */
+    private void finalizeProcedure(ProcedureInfo proc, PhaseEvent cfgEvent) {
+        int n = proc.code.size();
+        cfgEvent.setInputSize(n);
 
+        int[] target = new int[n];
+        proc.succStart = new int[n + 1];
+        int[] predCount = new int[n];
         for (int i = 0; i < n; ++i) {
-            StmtInfo si = proc.nodes.get(i);
-            Node ast = si.astNode;
-
-            if (ast == null && si.kind.equals("RETURN")) {
-                si.succ.clear();
-                continue;
+            Instr ins = proc.code.get(i);
+            target[i] = -1;
+            if (ins.target != null) {
+                Integer j = proc.labelToIndex.get(ins.target);
+                if (j != null && j < n) {
+                    target[i] = j;
+                    predCount[j]++;
+                }
             }
-
-            boolean hasFallThrough = true;
-
-            if (ast instanceof JumpStmt) {
-                JumpStmt js = (JumpStmt) ast;
-                String tgt = labelNameFromLabel(js.f1);
-                Integer j = proc.labelToIndex.get(tgt);
-                if (j != null && j < n)
-                    si.succ.add(j);
-                hasFallThrough = false;
-
-            } else if (ast instanceof CJumpStmt) {
-                CJumpStmt cs = (CJumpStmt) ast;
-                String tgt = labelNameFromLabel(cs.f2);
-                Integer j = proc.labelToIndex.get(tgt);
-                if (j != null && j < n)
-                    si.succ.add(j);
-                hasFallThrough = true;
-
-            } else if (ast instanceof ErrorStmt) {
-                hasFallThrough = false;
-
-            } else {
-                hasFallThrough = true;
+            int count = target[i] >= 0 ? 1 : 0;
+            if (falls(proc, i, target[i])) {
+                count++;
+                predCount[i + 1]++;
             }
-
-            int fallThroughIndex = i + 1;
-            if (hasFallThrough && fallThroughIndex < n) {
-                si.succ.add(fallThroughIndex);
-            }
-
+            proc.succStart[i + 1] = proc.succStart[i] + count;
         }
 
+        proc.succ = new int[proc.succStart[n]];
+        proc.predStart = new int[n + 1];
+        for (int i = 0; i < n; ++i)
+            proc.predStart[i + 1] = proc.predStart[i] + predCount[i];
+        proc.pred = new int[proc.predStart[n]];
+        int[] predFill = predCount;
+        System.arraycopy(proc.predStart, 0, predFill, 0, n);
         for (int i = 0; i < n; ++i) {
-            for (int sIdx : proc.nodes.get(i).succ) {
-                if (sIdx < n) {
-                    StmtInfo succNode = proc.nodes.get(sIdx);
-                    if (!succNode.pred.contains(i)) {
-                        succNode.pred.add(i);
-                    }
-                }
+            int k = proc.succStart[i];
+            if (target[i] >= 0) {
+                proc.succ[k++] = target[i];
+                proc.pred[predFill[target[i]]++] = i;
+            }
+            if (falls(proc, i, target[i])) {
+                proc.succ[k] = i + 1;
+                proc.pred[predFill[i + 1]++] = i;
             }
         }
 
-        for (int i = 0; i < n; ++i) {
-            StmtInfo si = proc.nodes.get(i);
-            computeUseDefForStmt(si, proc);
-        }
+        renumberTemps(proc);
+        findConstants(proc);
+        cfgEvent.finish(proc.succ.length);
 
-        int maxTemp = -1;
-        for (StmtInfo si : proc.nodes) {
-            maxTemp = Math.max(maxTemp, si.use.length() == 0 ? -1 : si.use.length() - 1);
-            maxTemp = Math.max(maxTemp, si.def.length() == 0 ? -1 : si.def.length() - 1);
-        }
-        maxTemp = Math.max(maxTemp, proc.argCount - 1);
-        if (proc.name.equals("MAIN") && proc.nodes.size() > 0) {
-            StmtInfo first = proc.nodes.get(0);
-            if (first.astNode instanceof MoveStmt) {
-                MoveStmt m = (MoveStmt) first.astNode;
-                if (m.f2.f0.choice instanceof SimpleExp) {
-                    SimpleExp se = (SimpleExp) m.f2.f0.choice;
-                    if (se.f0.choice instanceof Temp) {
-                        maxTemp = Math.max(maxTemp, tempIdFromTemp((Temp) se.f0.choice));
-                    }
-                }
-            }
+        PhaseEvent ev = PhaseEvent.start("liveness", n);
+        int iterations = solveLiveness(proc);
+        ev.finish(proc.tempCount, iterations);
+    }
+
+    /** Whether statement i has an edge to i + 1 that is not already its jump target. */
+    private static boolean falls(ProcedureInfo proc, int i, int target) {
+        return i + 1 < proc.code.size() && target != i + 1 && proc.code.get(i).fallsThrough();
+    }
+
+    /**
+     * Renumbers the procedure's temps densely, so its sets and intervals are
+     * sized by the temps it uses rather than by the largest temp number in
+     * the program (P3 and P4 number temps program-wide). Arguments keep
+     * 0..argCount-1 and the rest follow in their original order, which keeps
+     * the allocator's tie-breaks, and so its output, the same.
+     */
+    private static void renumberTemps(ProcedureInfo proc) {
+        int argCount = proc.argCount;
+        int[] ids = new int[16];
+        int count = 0;
+        for (Instr ins : proc.code) {
+            if (count + 3 + ins.args.length > ids.length)
+                ids = Arrays.copyOf(ids, Math.max(ids.length * 2, count + 3 + ins.args.length));
+            if (ins.dst >= argCount)
+                ids[count++] = ins.dst;
+            if (ins.a >= argCount)
+                ids[count++] = ins.a;
+            if (ins.b >= argCount)
+                ids[count++] = ins.b;
+            for (int t : ins.args)
+                if (t >= argCount)
+                    ids[count++] = t;
         }
-        proc.tempCount = Math.max(0, maxTemp + 1);
-
-        for (StmtInfo si : proc.nodes) {
-            BitSet u = (BitSet) si.use.clone();
-            BitSet d = (BitSet) si.def.clone();
-            si.use = new BitSet(proc.tempCount);
-            si.def = new BitSet(proc.tempCount);
-            si.in = new BitSet(proc.tempCount);
-            si.out = new BitSet(proc.tempCount);
-            si.use.or(u);
-            si.def.or(d);
+        Arrays.sort(ids, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; ++i)
+            if (distinct == 0 || ids[i] != ids[distinct - 1])
+                ids[distinct++] = ids[i];
+
+        proc.tempCount = argCount + distinct;
+        proc.tempIds = new int[proc.tempCount];
+        for (int i = 0; i < argCount; ++i)
+            proc.tempIds[i] = i;
+        System.arraycopy(ids, 0, proc.tempIds, argCount, distinct);
+
+        for (Instr ins : proc.code) {
+            ins.dst = local(ins.dst, proc.tempIds, argCount);
+            ins.a = local(ins.a, proc.tempIds, argCount);
+            ins.b = local(ins.b, proc.tempIds, argCount);
+            for (int k = 0; k < ins.args.length; ++k)
+                ins.args[k] = local(ins.args[k], proc.tempIds, argCount);
         }
+    }
 
-        boolean changed = true;
-        while (changed) {
-            changed = false;
+    /**
+     * Fills in {@link ProcedureInfo#constant}. Arguments are defined on entry,
+     * so they never qualify.
+     */
+    private static void findConstants(ProcedureInfo proc) {
+        String[] constant = new String[proc.tempCount];
+        int[] defs = new int[proc.tempCount];
+        for (Instr ins : proc.code) {
+            if (ins.dst < 0)
+                continue;
+            defs[ins.dst]++;
+            if (ins.op == Instr.MOVE && ins.a < 0)
+                constant[ins.dst] = ins.imm;
+        }
+        for (int t = 0; t < proc.tempCount; t++)
+            if (t < proc.argCount || defs[t] != 1)
+                constant[t] = null;
+        proc.constant = constant;
+    }
 
-            for (int i = n - 1; i >= 0; --i) {
-                StmtInfo si = proc.nodes.get(i);
-                BitSet oldIn = (BitSet) si.in.clone();
-                BitSet oldOut = (BitSet) si.out.clone();
+    private static int local(int temp, int[] tempIds, int argCount) {
+        if (temp < argCount)
+            return temp;
+        return Arrays.binarySearch(tempIds, argCount, tempIds.length, temp);
+    }
 
-                si.out.clear();
-                for (int s : si.succ) {
-                    if (s < n) {
-                        si.out.or(proc.nodes.get(s).in);
-                    }
-                }
+    /**
+     * Solves liveness over the procedure's basic blocks and then keeps the
+     * sets at the ends of each segment, from which {@link ProcedureInfo.Liveness}
+     * rebuilds the rest; a set per statement would take statements times
+     * temps bits, which a long straight-line MAIN does not fit in memory.
+     *
+     * A block is summarized by gen (temps read before any write in it) and
+     * kill (temps it writes), so the fixpoint only ever touches one pair of
+     * rows per block. Blocks are visited in postorder, successors before
+     * predecessors, which suits a backward problem: a loop-free procedure
+     * settles in one sweep and each loop adds about one more. A block is
+     * revisited only when a successor's in set grew. All sets are rows of
+     * long[] matrices updated in place, so the solver allocates per
+     * procedure, not per iteration. Returns the number of block evaluations.
+     */
+    private static int solveLiveness(ProcedureInfo proc) {
+        int n = proc.code.size();
+        int words = (proc.tempCount + 63) >>> 6;
+        proc.words = words;
 
-                BitSet newIn = (BitSet) si.out.clone();
-                newIn.andNot(si.def);
-                newIn.or(si.use);
+        int[] blockOf = new int[n];
+        int blocks = 0;
+        for (int i = 0; i < n; ++i) {
+            boolean leader = i == 0
+                    || proc.succStart[i] - proc.succStart[i - 1] != 1 || proc.succ[proc.succStart[i - 1]] != i
+                    || proc.predStart[i + 1] - proc.predStart[i] != 1 || proc.pred[proc.predStart[i]] != i - 1;
+            if (leader)
+                blocks++;
+            blockOf[i] = blocks - 1;
+        }
+        int[] start = new int[blocks + 1];
+        for (int i = n - 1; i >= 0; --i)
+            start[blockOf[i]] = i;
+        start[blocks] = n;
+
+        long[] gen = new long[row(blocks, words)];
+        long[] kill = new long[row(blocks, words)];
+        long[] in = new long[row(blocks, words)];
+        long[] out = new long[row(blocks, words)];
+        for (int b = 0; b < blocks; ++b) {
+            int row = row(b, words);
+            for (int i = start[b + 1] - 1; i >= start[b]; --i) {
+                Instr ins = proc.code.get(i);
+                transfer(gen, row, ins);
+                if (ins.dst >= 0)
+                    set(kill, row, ins.dst);
+            }
+        }
 
-                if (!si.in.equals(newIn)) {
-                    si.in = newIn;
-                    changed = true;
-                }
+        int[] order = postorder(proc, blockOf, start, blocks);
+        int[] position = new int[blocks];
+        for (int k = 0; k < blocks; ++k)
+            position[order[k]] = k;
+
+        BitSet pending = new BitSet(blocks);
+        pending.set(0, blocks);
+        long[] scratch = new long[words];
+        int evaluations = 0;
+        int k = 0;
+        while (!pending.isEmpty()) {
+            k = pending.nextSetBit(k);
+            if (k < 0)
+                k = pending.nextSetBit(0);
+            pending.clear(k);
+            int b = order[k];
+            int row = row(b, words);
+            evaluations++;
+
+            Arrays.fill(out, row, row + words, 0L);
+            int last = start[b + 1] - 1;
+            for (int e = proc.succStart[last]; e < proc.succStart[last + 1]; ++e) {
+                int from = row(blockOf[proc.succ[e]], words);
+                for (int w = 0; w < words; ++w)
+                    out[row + w] |= in[from + w];
+            }
 
-                if (!si.out.equals(oldOut)) {
+            boolean changed = false;
+            for (int w = 0; w < words; ++w) {
+                long v = out[row + w] & ~kill[row + w] | gen[row + w];
+                if (v != in[row + w]) {
+                    in[row + w] = v;
                     changed = true;
                 }
             }
+            if (changed) {
+                for (int e = proc.predStart[start[b]]; e < proc.predStart[start[b] + 1]; ++e)
+                    pending.set(position[blockOf[proc.pred[e]]]);
+            }
         }
 
-        int highest = -1;
-        for (StmtInfo si : proc.nodes) {
-            highest = Math.max(highest, si.in.length() - 1);
-            highest = Math.max(highest, si.out.length() - 1);
-            highest = Math.max(highest, si.def.length() - 1);
-            highest = Math.max(highest, si.use.length() - 1);
+        int segments = 0;
+        for (int b = 0; b < blocks; ++b)
+            segments += (start[b + 1] - start[b] + ProcedureInfo.SEGMENT - 1) / ProcedureInfo.SEGMENT;
+        proc.segmentOf = new int[n];
+        proc.segStart = new int[segments + 1];
+        proc.segIn = new long[row(segments, words)];
+        proc.segOut = new long[row(segments, words)];
+        int s = segments;
+        proc.segStart[s] = n;
+        for (int b = blocks - 1; b >= 0; --b) {
+            System.arraycopy(out, row(b, words), scratch, 0, words);
+            for (int i = start[b + 1] - 1; i >= start[b]; --i) {
+                if (i + 1 == proc.segStart[s]) {
+                    --s;
+                    System.arraycopy(scratch, 0, proc.segOut, row(s, words), words);
+                }
+                proc.segmentOf[i] = s;
+                transfer(scratch, 0, proc.code.get(i));
+                if ((i - start[b]) % ProcedureInfo.SEGMENT == 0) {
+                    proc.segStart[s] = i;
+                    System.arraycopy(scratch, 0, proc.segIn, row(s, words), words);
+                }
+            }
         }
-        proc.tempCount = Math.max(proc.tempCount, highest + 1);
+        return evaluations;
     }
 
-    private void computeUseDefForStmt(StmtInfo si, ProcedureInfo proc) {
-        Node ast = si.astNode;
-        if (ast == null && si.kind.equals("RETURN")) {
-            return;
-        }
+    /** Where row r of a matrix with {@code words} longs per row starts, refusing rather than wrapping past the largest array. */
+    static int row(long r, int words) {
+        return Math.toIntExact(r * words);
+    }
 
-        if (ast instanceof MoveStmt) {
-            MoveStmt m = (MoveStmt) ast;
-            int dst = tempIdFromTemp(m.f1);
-            if (dst >= 0)
-                si.def.set(dst);
-            computeUseDefForExp(m.f2, si.use);
-        } else if (ast instanceof PrintStmt) {
-            PrintStmt p = (PrintStmt) ast;
-            computeUseDefForSimpleExp(p.f1, si.use);
-        } else if (ast instanceof HStoreStmt) {
-            HStoreStmt h = (HStoreStmt) ast;
-            int t1 = tempIdFromTemp(h.f1);
-            int t2 = tempIdFromTemp(h.f3);
-            if (t1 >= 0)
-                si.use.set(t1);
-            if (t2 >= 0)
-                si.use.set(t2);
-        } else if (ast instanceof HLoadStmt) {
-            HLoadStmt h = (HLoadStmt) ast;
-            int dst = tempIdFromTemp(h.f1);
-            int base = tempIdFromTemp(h.f2);
-            if (dst >= 0)
-                si.def.set(dst);
-            if (base >= 0)
-                si.use.set(base);
-        } else if (ast instanceof CJumpStmt) {
-            CJumpStmt c = (CJumpStmt) ast;
-            int t = tempIdFromTemp(c.f1);
-            if (t >= 0)
-                si.use.set(t);
-        }
+    /** Turns the set live out of ins, at m[row..], into the set live into it. */
+    private static void transfer(long[] m, int row, Instr ins) {
+        if (ins.dst >= 0)
+            clear(m, row, ins.dst);
+        addUses(m, row, ins);
+    }
 
+    private static void set(long[] m, int row, int t) {
+        m[row + (t >>> 6)] |= 1L << t;
     }
 
-    private void computeUseDefForExp(Exp exp, BitSet useSet) {
-        if (exp == null || exp.f0 == null)
-            return;
-        Node choice = exp.f0.choice;
+    private static void clear(long[] m, int row, int t) {
+        m[row + (t >>> 6)] &= ~(1L << t);
+    }
 
-        if (choice instanceof Call) {
-            Call c = (Call) choice;
-            if (c.f1 != null)
-                computeUseDefForSimpleExp(c.f1, useSet);
+    private static void addUses(long[] m, int row, Instr ins) {
+        if (ins.a >= 0)
+            set(m, row, ins.a);
+        if (ins.b >= 0)
+            set(m, row, ins.b);
+        for (int t : ins.args)
+            set(m, row, t);
+    }
 
-            if (c.f3 != null && c.f3.present()) {
-                for (Node argNode : c.f3.nodes) {
-                    if (argNode instanceof Exp) {
-                        computeUseDefForExp((Exp) argNode, useSet);
-                    } else if (argNode instanceof SimpleExp) {
-                        computeUseDefForSimpleExp((SimpleExp) argNode, useSet);
-                    } else if (argNode instanceof Temp) {
-                        int argTemp = tempIdFromTemp((Temp) argNode);
-                        if (argTemp >= 0)
-                            useSet.set(argTemp);
+    /**
+     * Blocks in postorder of a depth-first walk from the entry, followed by
+     * the unreachable ones, which still get liveness like every statement.
+     */
+    private static int[] postorder(ProcedureInfo proc, int[] blockOf, int[] start, int blocks) {
+        int[] order = new int[blocks];
+        int count = 0;
+        boolean[] seen = new boolean[blocks];
+        int[] stack = new int[blocks];
+        int[] next = new int[blocks];
+        for (int b = 0; b < blocks; ++b)
+            next[b] = proc.succStart[start[b + 1] - 1];
+
+        for (int root = 0; root < blocks; ++root) {
+            if (seen[root])
+                continue;
+            int depth = 0;
+            stack[depth++] = root;
+            seen[root] = true;
+            while (depth > 0) {
+                int b = stack[depth - 1];
+                int last = start[b + 1] - 1;
+                if (next[b] < proc.succStart[last + 1]) {
+                    int s = blockOf[proc.succ[next[b]++]];
+                    if (!seen[s]) {
+                        seen[s] = true;
+                        stack[depth++] = s;
                     }
-
+                } else {
+                    order[count++] = b;
+                    depth--;
                 }
             }
         }
-
-        else if (choice instanceof HAllocate) {
-            HAllocate h = (HAllocate) choice;
-            computeUseDefForSimpleExp(h.f1, useSet);
-        } else if (choice instanceof BinOp) {
-            BinOp b = (BinOp) choice;
-            int t1 = tempIdFromTemp(b.f1);
-            if (t1 >= 0)
-                useSet.set(t1);
-            computeUseDefForSimpleExp(b.f2, useSet);
-        } else if (choice instanceof SimpleExp) {
-            computeUseDefForSimpleExp((SimpleExp) choice, useSet);
-        } else if (choice instanceof StmtExp) {
-            StmtExp se = (StmtExp) choice;
-            computeUseDefForSimpleExp(se.f3, useSet);
-        }
-    }
-
-    private void computeUseDefForSimpleExp(SimpleExp simpleExp, BitSet useSet) {
-        if (simpleExp == null || simpleExp.f0 == null)
-            return;
-        Node choice = simpleExp.f0.choice;
-        if (choice instanceof Temp) {
-            int tempId = tempIdFromTemp((Temp) choice);
-            if (tempId >= 0)
-                useSet.set(tempId);
-        }
-
+        return order;
     }
 
     public void prettyPrintAll(PrintStream out) {
@@ -475,35 +720,20 @@ public class BuildCFGAndLiveness extends GJDepthFirst<Void, Void> {
     public void prettyPrintProcedure(ProcedureInfo p, PrintStream out) {
         out.println("Procedure: " + p.name);
         out.println("  label->index: " + p.labelToIndex);
-        out.println("  tempCount: " + p.tempCount);
-        out.println("  StmtIdx | kind   | use         | def         | in          | out         | succ");
-        out.println("  ----------------------------------------------------------------------------------");
-        for (StmtInfo si : p.nodes) {
-            out.printf("  %5d | %-6s | %-11s | %-11s | %-11s | %-11s | %s\n",
-                    si.index,
-                    si.kind,
-                    bitsetToString(si.use),
-                    bitsetToString(si.def),
-                    bitsetToString(si.in),
-                    bitsetToString(si.out),
-                    si.succ.toString());
+        out.println("  tempCount: " + p.tempCount + " " + Arrays.toString(p.tempIds));
+        out.println("  StmtIdx | kind      | in                      | succ");
+        out.println("  ----------------------------------------------------------------");
+        ProcedureInfo.Liveness live = p.liveness();
+        for (int i = 0; i < p.code.size(); i++) {
+            StringBuilder in = new StringBuilder("{");
+            for (int t = live.nextLiveIn(i, 0); t >= 0; t = live.nextLiveIn(i, t + 1))
+                in.append(in.length() > 1 ? "," : "").append(t);
+            out.printf("  %5d | %-9s | %-23s | %s\n",
+                    i,
+                    p.code.get(i).name(),
+                    in.append("}"),
+                    Arrays.toString(Arrays.copyOfRange(p.succ, p.succStart[i], p.succStart[i + 1])));
         }
         out.println();
     }
-
-    private String bitsetToString(BitSet b) {
-        if (b == null)
-            return "{}";
-        StringBuilder sb = new StringBuilder();
-        sb.append("{");
-        boolean first = true;
-        for (int i = b.nextSetBit(0); i >= 0; i = b.nextSetBit(i + 1)) {
-            if (!first)
-                sb.append(",");
-            sb.append(i);
-            first = false;
-        }
-        sb.append("}");
-        return sb.toString();
-    }
-}
\ No newline at end of file
+}
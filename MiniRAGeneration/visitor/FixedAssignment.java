@@ -0,0 +1,49 @@
+package visitor;
+
+/** An {@link Assignment} that keeps each temp in one place for the whole procedure. */
+public final class FixedAssignment implements Assignment {
+
+    private final int[] reg;
+    private final int[] slot;
+    private final int spillCount;
+    private final boolean[] used;
+
+    /**
+     * Takes ownership of the arrays: per temp, its register index or -1, and
+     * its stack slot or -1.
+     */
+    public FixedAssignment(int registers, int[] reg, int[] slot, int spillCount) {
+        this.reg = reg;
+        this.slot = slot;
+        this.spillCount = spillCount;
+        this.used = new boolean[registers];
+        for (int r : reg)
+            if (r >= 0)
+                used[r] = true;
+    }
+
+    @Override
+    public int location(int t, int i) {
+        return reg[t];
+    }
+
+    @Override
+    public int slot(int t) {
+        return slot[t];
+    }
+
+    @Override
+    public int spillCount() {
+        return spillCount;
+    }
+
+    @Override
+    public boolean used(int r) {
+        return used[r];
+    }
+
+    @Override
+    public boolean splits() {
+        return false;
+    }
+}
@@ -0,0 +1,624 @@
+package visitor;
+
+import java.util.*;
+
+/**
+ * Iterated register coalescing (George and Appel) for one procedure, built
+ * on the liveness of {@link BuildCFGAndLiveness}. Every temp that is defined
+ * or live somewhere is a node; it ends up with one of {@code regs} in
+ * {@link #reg}, or with a stack slot in {@link #slot}.
+ *
+ * There are no precolored nodes: arguments arrive in a0-a3 and results leave
+ * in v0, neither of which is allocatable, and the emitter saves the t
+ * registers around calls itself. A spilled temp needs no rewrite and second
+ * round either, because the emitter already reloads spilled operands into
+ * scratch registers that are never allocated; spilling just means giving
+ * the node a slot.
+ *
+ * Node and move worklists are stacks checked against {@link #state} and
+ * {@link #moveState} when popped, so moving a node between lists is a push.
+ */
+public final class GraphColoring {
+
+    /** Nodes up to this many get a bit matrix; larger graphs hash their edges. */
+    private static final int MATRIX_LIMIT = 8192;
+
+    private static final byte ABSENT = 0;
+    private static final byte SIMPLIFY = 1;
+    private static final byte FREEZE = 2;
+    private static final byte SPILL = 3;
+    private static final byte SELECTED = 4;
+    private static final byte COALESCED = 5;
+    private static final byte COLORED = 6;
+    private static final byte SPILLED = 7;
+
+    private static final byte WORKLIST = 0;
+    private static final byte ACTIVE = 1;
+    private static final byte DONE = 2;
+
+    private final BuildCFGAndLiveness.ProcedureInfo proc;
+    private final BuildCFGAndLiveness.ProcedureInfo.Liveness live;
+    private final String[] regs;
+    private final int k;
+    private final int n;
+
+    /** Register index of each temp, or -1 when it is spilled or never used. */
+    public final int[] reg;
+    /** Stack slot of each spilled temp, or -1. */
+    public final int[] slot;
+    public int spillCount;
+    public int edgeCount;
+    public int coalescedMoves;
+
+    private final byte[] state;
+    private final int[] degree;
+    private final int[] alias;
+    private final int[] color;
+    /** Uses and definitions, each weighted by loop depth; see {@link LoopNesting}. */
+    private final long[] cost;
+    private final int[][] adj;
+    private final int[] adjLen;
+    private final int[][] moves;
+    private final int[] movesLen;
+    private final EdgeSet edges;
+
+    private int[] moveDst = new int[16];
+    private int[] moveSrc = new int[16];
+    private byte[] moveState = new byte[16];
+    private int moveCount;
+
+    private final IntStack simplifyWorklist = new IntStack();
+    private final IntStack freezeWorklist = new IntStack();
+    private final IntStack spillWorklist = new IntStack();
+    private final IntStack worklistMoves = new IntStack();
+    private final IntStack selectStack = new IntStack();
+
+    private final int[] mark;
+    private int stamp;
+
+    public GraphColoring(BuildCFGAndLiveness.ProcedureInfo proc, String[] regs) {
+        if (regs.length > 31)
+            throw new IllegalArgumentException("at most 31 registers: " + regs.length);
+        this.proc = proc;
+        this.live = proc.liveness();
+        this.regs = regs;
+        this.k = regs.length;
+        this.n = proc.tempCount;
+        reg = new int[n];
+        slot = new int[n];
+        Arrays.fill(reg, -1);
+        Arrays.fill(slot, -1);
+        state = new byte[n];
+        degree = new int[n];
+        alias = new int[n];
+        color = new int[n];
+        cost = new long[n];
+        adj = new int[n][];
+        adjLen = new int[n];
+        moves = new int[n][];
+        movesLen = new int[n];
+        mark = new int[n];
+        edges = new EdgeSet(n);
+    }
+
+    /** Colors the graph, fills in {@link #reg}, {@link #slot} and the counts, and returns them. */
+    public FixedAssignment run() {
+        PhaseEvent ev = PhaseEvent.start("interference", n);
+        build();
+        ev.finish(edgeCount);
+
+        ev = PhaseEvent.start("allocation", n);
+        makeWorklist();
+        int rounds = 0;
+        while (true) {
+            rounds++;
+            if (!simplifyWorklist.isEmpty() && pop(simplifyWorklist, SIMPLIFY) >= 0) {
+                continue;
+            } else if (coalesce()) {
+                continue;
+            } else if (freeze()) {
+                continue;
+            } else if (selectSpill()) {
+                continue;
+            }
+            break;
+        }
+        assignColors();
+        ev.finish(spillCount, rounds);
+        return new FixedAssignment(k, reg, slot, spillCount);
+    }
+
+    /**
+     * Adds an edge from each definition to everything live after it, except
+     * the source of a move, and records the temp-to-temp moves. On entry to a
+     * procedure the arguments are all defined at once, so the ones that are
+     * live there interfere with everything else live there.
+     */
+    private void build() {
+        List<Instr> code = proc.code;
+        long[] weight = LoopNesting.referenceWeights(proc);
+        for (int i = 0; i < code.size(); i++) {
+            Instr ins = code.get(i);
+            count(ins.a, weight[i]);
+            count(ins.b, weight[i]);
+            for (int t : ins.args)
+                count(t, weight[i]);
+            for (int t = live.nextLiveIn(i, 0); t >= 0; t = live.nextLiveIn(i, t + 1))
+                state[t] = SIMPLIFY;
+            int d = ins.dst;
+            if (d < 0)
+                continue;
+            if (proc.constant[d] == null)
+                cost[d] += weight[i];
+            state[d] = SIMPLIFY;
+
+            int src = -1;
+            if (ins.op == Instr.MOVE && ins.a >= 0) {
+                src = ins.a;
+                addMove(d, src);
+            }
+            for (int t = live.nextLiveOut(i, 0); t >= 0; t = live.nextLiveOut(i, t + 1))
+                if (t != src)
+                    addEdge(d, t);
+        }
+
+        if (!code.isEmpty()) {
+            for (int a = live.nextLiveIn(0, 0); a >= 0 && a < proc.argCount; a = live.nextLiveIn(0, a + 1)) {
+                for (int t = live.nextLiveIn(0, 0); t >= 0; t = live.nextLiveIn(0, t + 1))
+                    addEdge(a, t);
+            }
+        }
+    }
+
+    private void count(int t, long w) {
+        if (t >= 0)
+            cost[t] += w;
+    }
+
+    private void addMove(int dst, int src) {
+        if (moveCount == moveDst.length) {
+            moveDst = Arrays.copyOf(moveDst, moveCount * 2);
+            moveSrc = Arrays.copyOf(moveSrc, moveCount * 2);
+            moveState = Arrays.copyOf(moveState, moveCount * 2);
+        }
+        int m = moveCount++;
+        moveDst[m] = dst;
+        moveSrc[m] = src;
+        moveState[m] = WORKLIST;
+        addMoveTo(dst, m);
+        if (src != dst)
+            addMoveTo(src, m);
+        worklistMoves.push(m);
+    }
+
+    private void addMoveTo(int t, int m) {
+        if (moves[t] == null)
+            moves[t] = new int[4];
+        else if (movesLen[t] == moves[t].length)
+            moves[t] = Arrays.copyOf(moves[t], movesLen[t] * 2);
+        moves[t][movesLen[t]++] = m;
+    }
+
+    private void addEdge(int u, int v) {
+        if (u == v || !edges.add(u, v))
+            return;
+        edgeCount++;
+        addAdjacent(u, v);
+        addAdjacent(v, u);
+    }
+
+    private void addAdjacent(int u, int v) {
+        if (adj[u] == null)
+            adj[u] = new int[4];
+        else if (adjLen[u] == adj[u].length)
+            adj[u] = Arrays.copyOf(adj[u], adjLen[u] * 2);
+        adj[u][adjLen[u]++] = v;
+        degree[u]++;
+    }
+
+    private void makeWorklist() {
+        for (int t = 0; t < n; t++) {
+            if (state[t] == ABSENT)
+                continue;
+            alias[t] = t;
+            if (degree[t] >= k)
+                setState(t, SPILL);
+            else if (moveRelated(t))
+                setState(t, FREEZE);
+            else
+                setState(t, SIMPLIFY);
+        }
+    }
+
+    private void setState(int t, byte s) {
+        state[t] = s;
+        if (s == SIMPLIFY)
+            simplifyWorklist.push(t);
+        else if (s == FREEZE)
+            freezeWorklist.push(t);
+        else if (s == SPILL)
+            spillWorklist.push(t);
+    }
+
+    /** Whether t is in the graph, not yet removed or merged into another node. */
+    private boolean inGraph(int t) {
+        return state[t] == SIMPLIFY || state[t] == FREEZE || state[t] == SPILL;
+    }
+
+    /** Takes the next node still in state s off the stack, selects it and returns it, or -1. */
+    private int pop(IntStack worklist, byte s) {
+        while (!worklist.isEmpty()) {
+            int t = worklist.pop();
+            if (state[t] == s) {
+                simplify(t);
+                return t;
+            }
+        }
+        return -1;
+    }
+
+    private void simplify(int t) {
+        state[t] = SELECTED;
+        selectStack.push(t);
+        int[] a = adj[t];
+        for (int i = 0; i < adjLen[t]; i++) {
+            if (inGraph(a[i]))
+                decrementDegree(a[i]);
+        }
+    }
+
+    private void decrementDegree(int t) {
+        int d = degree[t]--;
+        if (d == k) {
+            enableMoves(t);
+            int[] a = adj[t];
+            for (int i = 0; i < adjLen[t]; i++) {
+                if (inGraph(a[i]))
+                    enableMoves(a[i]);
+            }
+            if (state[t] == SPILL)
+                setState(t, moveRelated(t) ? FREEZE : SIMPLIFY);
+        }
+    }
+
+    private void enableMoves(int t) {
+        int[] ms = moves[t];
+        for (int i = 0; i < movesLen[t]; i++) {
+            int m = ms[i];
+            if (moveState[m] == ACTIVE) {
+                moveState[m] = WORKLIST;
+                worklistMoves.push(m);
+            }
+        }
+    }
+
+    private boolean moveRelated(int t) {
+        int[] ms = moves[t];
+        for (int i = 0; i < movesLen[t]; i++) {
+            if (moveState[ms[i]] != DONE)
+                return true;
+        }
+        return false;
+    }
+
+    private int getAlias(int t) {
+        while (state[t] == COALESCED)
+            t = alias[t];
+        return t;
+    }
+
+    /** Takes one move off the worklist and coalesces, constrains or parks it. Returns false when there is none. */
+    private boolean coalesce() {
+        int m = -1;
+        while (!worklistMoves.isEmpty()) {
+            int c = worklistMoves.pop();
+            if (moveState[c] == WORKLIST) {
+                m = c;
+                break;
+            }
+        }
+        if (m < 0)
+            return false;
+
+        int u = getAlias(moveDst[m]);
+        int v = getAlias(moveSrc[m]);
+        if (u > v) {
+            int x = u;
+            u = v;
+            v = x;
+        }
+        if (u == v) {
+            moveState[m] = DONE;
+            coalescedMoves++;
+            addWorkList(u);
+        } else if (edges.contains(u, v)) {
+            moveState[m] = DONE;
+            addWorkList(u);
+            addWorkList(v);
+        } else if (conservative(u, v)) {
+            moveState[m] = DONE;
+            coalescedMoves++;
+            combine(u, v);
+            addWorkList(u);
+        } else {
+            moveState[m] = ACTIVE;
+        }
+        return true;
+    }
+
+    private void addWorkList(int t) {
+        if (state[t] == FREEZE && !moveRelated(t) && degree[t] < k)
+            setState(t, SIMPLIFY);
+    }
+
+    /** Briggs: the merged node has fewer than k neighbours of significant degree. */
+    private boolean conservative(int u, int v) {
+        stamp++;
+        return significantNeighbours(v, significantNeighbours(u, 0)) < k;
+    }
+
+    /** Adds t's unmarked neighbours of degree at least k to {@code found}, marking them. */
+    private int significantNeighbours(int t, int found) {
+        int[] a = adj[t];
+        for (int i = 0; i < adjLen[t] && found < k; i++) {
+            int w = a[i];
+            if (inGraph(w) && mark[w] != stamp) {
+                mark[w] = stamp;
+                if (degree[w] >= k)
+                    found++;
+            }
+        }
+        return found;
+    }
+
+    private void combine(int u, int v) {
+        state[v] = COALESCED;
+        alias[v] = u;
+        cost[u] += cost[v];
+        for (int i = 0; i < movesLen[v]; i++)
+            addMoveTo(u, moves[v][i]);
+        enableMoves(v);
+        int[] a = adj[v];
+        for (int i = 0; i < adjLen[v]; i++) {
+            int t = a[i];
+            if (inGraph(t)) {
+                addEdge(t, u);
+                decrementDegree(t);
+            }
+        }
+        if (degree[u] >= k && state[u] == FREEZE)
+            setState(u, SPILL);
+    }
+
+    private boolean freeze() {
+        while (!freezeWorklist.isEmpty()) {
+            int t = freezeWorklist.pop();
+            if (state[t] == FREEZE) {
+                setState(t, SIMPLIFY);
+                freezeMoves(t);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void freezeMoves(int u) {
+        int[] ms = moves[u];
+        for (int i = 0; i < movesLen[u]; i++) {
+            int m = ms[i];
+            if (moveState[m] == DONE)
+                continue;
+            moveState[m] = DONE;
+            int v = getAlias(moveDst[m]) == getAlias(u) ? getAlias(moveSrc[m]) : getAlias(moveDst[m]);
+            if (state[v] == FREEZE && !moveRelated(v) && degree[v] < k)
+                setState(v, SIMPLIFY);
+        }
+    }
+
+    /**
+     * Picks the node with the fewest uses and definitions per neighbour as the
+     * potential spill, dropping stale entries from the worklist on the way.
+     * Each reference counts 10^d at loop depth d, so temps used in loops are
+     * spilled last. The definition of a constant is not counted, as spilling
+     * it costs no store.
+     */
+    private boolean selectSpill() {
+        int best = -1;
+        int kept = 0;
+        for (int i = 0; i < spillWorklist.size; i++) {
+            int t = spillWorklist.items[i];
+            if (state[t] != SPILL)
+                continue;
+            spillWorklist.items[kept++] = t;
+            if (best < 0 || cost[t] * degree[best] < cost[best] * degree[t])
+                best = t;
+        }
+        spillWorklist.size = kept;
+        if (best < 0)
+            return false;
+        setState(best, SIMPLIFY);
+        freezeMoves(best);
+        return true;
+    }
+
+    /**
+     * Pops the select stack, giving each node the register that is cheapest
+     * for it among those its neighbours left free; see {@link RegisterClasses}.
+     * A node lives across the calls any temp coalesced into it does.
+     */
+    private void assignColors() {
+        int[] calls = proc.callsCrossed();
+        for (int t = 0; t < n; t++)
+            if (state[t] == COALESCED)
+                calls[getAlias(t)] += calls[t];
+
+        IntStack spilled = new IntStack();
+        int all = (1 << k) - 1;
+        int inUse = 0;
+        while (!selectStack.isEmpty()) {
+            int t = selectStack.pop();
+            int free = all;
+            int[] a = adj[t];
+            for (int i = 0; i < adjLen[t]; i++) {
+                int w = getAlias(a[i]);
+                if (state[w] == COLORED)
+                    free &= ~(1 << color[w]);
+            }
+            int c = RegisterClasses.cheapest(regs, free, inUse, calls[t]);
+            if (c >= 0) {
+                state[t] = COLORED;
+                color[t] = c;
+                reg[t] = c;
+                inUse |= 1 << c;
+            } else {
+                state[t] = SPILLED;
+                spilled.push(t);
+            }
+        }
+        assignSlots(spilled);
+        for (int t = 0; t < n; t++) {
+            if (state[t] != COALESCED)
+                continue;
+            int r = getAlias(t);
+            reg[t] = reg[r];
+            slot[t] = slot[r];
+        }
+    }
+
+    /**
+     * Colors the spilled nodes with stack slots the same way: each takes the
+     * lowest slot no spilled neighbour has, so spills that never interfere
+     * share a slot. A node whose temps all hold the same constant gets none;
+     * the emitter recomputes it at each use.
+     */
+    private void assignSlots(IntStack spilled) {
+        boolean[] remat = new boolean[n];
+        for (int s = 0; s < spilled.size; s++) {
+            int t = spilled.items[s];
+            remat[t] = proc.constant[t] != null;
+        }
+        for (int t = 0; t < n; t++) {
+            if (state[t] == COALESCED) {
+                int r = getAlias(t);
+                if (remat[r] && !proc.constant[r].equals(proc.constant[t]))
+                    remat[r] = false;
+            }
+        }
+
+        boolean[] taken = new boolean[spilled.size];
+        for (int s = 0; s < spilled.size; s++) {
+            int t = spilled.items[s];
+            if (remat[t])
+                continue;
+            Arrays.fill(taken, false);
+            int[] a = adj[t];
+            for (int i = 0; i < adjLen[t]; i++) {
+                int w = getAlias(a[i]);
+                if (state[w] == SPILLED && slot[w] >= 0)
+                    taken[slot[w]] = true;
+            }
+            int c = 0;
+            while (taken[c])
+                c++;
+            slot[t] = c;
+            spillCount = Math.max(spillCount, c + 1);
+        }
+    }
+
+    private static final class IntStack {
+        int[] items = new int[16];
+        int size;
+
+        void push(int x) {
+            if (size == items.length)
+                items = Arrays.copyOf(items, size * 2);
+            items[size++] = x;
+        }
+
+        int pop() {
+            return items[--size];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    /**
+     * The interference relation, for constant-time edge tests. Up to
+     * {@link #MATRIX_LIMIT} nodes it is a triangular bit matrix; beyond that
+     * the matrix would outgrow the graph, so edges go in an open-addressing
+     * hash set of packed node pairs instead.
+     */
+    private static final class EdgeSet {
+        private long[] matrix;
+        private long[] table;
+        private int size;
+
+        EdgeSet(int n) {
+            if (n <= MATRIX_LIMIT)
+                matrix = new long[(int) (((long) n * (n - 1) / 2 + 63) >>> 6) + 1];
+            else
+                table = new long[1024];
+        }
+
+        /** Adds the edge u-v (u != v); returns false if it was already there. */
+        boolean add(int u, int v) {
+            if (matrix != null) {
+                long bit = index(u, v);
+                int w = (int) (bit >>> 6);
+                long m = 1L << bit;
+                if ((matrix[w] & m) != 0)
+                    return false;
+                matrix[w] |= m;
+                return true;
+            }
+            long key = key(u, v);
+            int i = find(key);
+            if (table[i] != 0)
+                return false;
+            table[i] = key;
+            if (++size * 2 > table.length)
+                rehash();
+            return true;
+        }
+
+        boolean contains(int u, int v) {
+            if (u == v)
+                return false;
+            if (matrix != null) {
+                long bit = index(u, v);
+                return (matrix[(int) (bit >>> 6)] & (1L << bit)) != 0;
+            }
+            return table[find(key(u, v))] != 0;
+        }
+
+        private static long index(int u, int v) {
+            int hi = Math.max(u, v);
+            int lo = Math.min(u, v);
+            return (long) hi * (hi - 1) / 2 + lo;
+        }
+
+        /** Both ends plus one, so no key is 0, which marks a free entry. */
+        private static long key(int u, int v) {
+            return ((long) (Math.max(u, v) + 1) << 32) | (Math.min(u, v) + 1);
+        }
+
+        private int find(long key) {
+            int mask = table.length - 1;
+            int i = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            while (table[i] != 0 && table[i] != key)
+                i = (i + 1) & mask;
+            return i;
+        }
+
+        private void rehash() {
+            long[] old = table;
+            table = new long[old.length * 2];
+            for (long key : old) {
+                if (key != 0)
+                    table[find(key)] = key;
+            }
+        }
+    }
+}
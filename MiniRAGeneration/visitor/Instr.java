@@ -0,0 +1,205 @@
+package visitor;
+
+import java.util.BitSet;
+
+/**
+ * One microIR statement with its operands decoded: temps are ints, and
+ * literals, labels and operators are kept as the text miniRA prints.
+ * {@link BuildCFGAndLiveness} lowers each procedure to a list of these while
+ * it walks the syntax tree, so liveness, allocation and emission never look
+ * at the tree or parse a token again.
+ *
+ * Where microIR allows a SimpleExp, the operand is the temp in its field
+ * when that is >= 0, and the literal or label in {@link #imm} otherwise.
+ */
+public final class Instr {
+
+    public static final int NOOP = 0;
+    public static final int ERROR = 1;
+    /** CJUMP a target */
+    public static final int CJUMP = 2;
+    /** JUMP target */
+    public static final int JUMP = 3;
+    /** HSTORE a offset b */
+    public static final int HSTORE = 4;
+    /** HLOAD dst a offset */
+    public static final int HLOAD = 5;
+    /** MOVE dst a|imm */
+    public static final int MOVE = 6;
+    /** MOVE dst operator a b|imm */
+    public static final int BINOP = 7;
+    /** MOVE dst HALLOCATE a|imm */
+    public static final int HALLOCATE = 8;
+    /** MOVE dst CALL a|imm ( args ) */
+    public static final int CALL = 9;
+    /** PRINT a|imm */
+    public static final int PRINT = 10;
+    /** RETURN a|imm of a procedure; the end of MAIN returns nothing. */
+    public static final int RETURN = 11;
+
+    private static final String[] NAMES = { "NOOP", "ERROR", "CJUMP", "JUMP", "HSTORE", "HLOAD", "MOVE", "BINOP",
+            "HALLOCATE", "CALL", "PRINT", "RETURN" };
+
+    private static final int[] NO_ARGS = {};
+
+    public final int op;
+    /** Label on this statement, or null. */
+    public String label;
+    public int dst = -1;
+    public int a = -1;
+    public int b = -1;
+    public String imm;
+    public int offset;
+    /** Jump target. */
+    public String target;
+    /** LE, NE, PLUS, MINUS, TIMES or DIV. */
+    public String operator;
+    public int[] args = NO_ARGS;
+
+    private Instr(int op) {
+        this.op = op;
+    }
+
+    public static Instr noop() {
+        return new Instr(NOOP);
+    }
+
+    public static Instr error() {
+        return new Instr(ERROR);
+    }
+
+    public static Instr cjump(int cond, String target) {
+        Instr i = new Instr(CJUMP);
+        i.a = cond;
+        i.target = target;
+        return i;
+    }
+
+    public static Instr jump(String target) {
+        Instr i = new Instr(JUMP);
+        i.target = target;
+        return i;
+    }
+
+    public static Instr hstore(int base, int offset, int value) {
+        Instr i = new Instr(HSTORE);
+        i.a = base;
+        i.offset = offset;
+        i.b = value;
+        return i;
+    }
+
+    public static Instr hload(int dst, int base, int offset) {
+        Instr i = new Instr(HLOAD);
+        i.dst = dst;
+        i.a = base;
+        i.offset = offset;
+        return i;
+    }
+
+    public static Instr move(int dst, int src, String imm) {
+        Instr i = new Instr(MOVE);
+        i.dst = dst;
+        i.a = src;
+        i.imm = imm;
+        return i;
+    }
+
+    public static Instr binop(int dst, String operator, int lhs, int rhs, String imm) {
+        Instr i = new Instr(BINOP);
+        i.dst = dst;
+        i.operator = operator;
+        i.a = lhs;
+        i.b = rhs;
+        i.imm = imm;
+        return i;
+    }
+
+    public static Instr hallocate(int dst, int size, String imm) {
+        Instr i = new Instr(HALLOCATE);
+        i.dst = dst;
+        i.a = size;
+        i.imm = imm;
+        return i;
+    }
+
+    public static Instr call(int dst, int fn, String imm, int[] args) {
+        Instr i = new Instr(CALL);
+        i.dst = dst;
+        i.a = fn;
+        i.imm = imm;
+        i.args = args;
+        return i;
+    }
+
+    public static Instr print(int value, String imm) {
+        Instr i = new Instr(PRINT);
+        i.a = value;
+        i.imm = imm;
+        return i;
+    }
+
+    public static Instr ret(int value, String imm) {
+        Instr i = new Instr(RETURN);
+        i.a = value;
+        i.imm = imm;
+        return i;
+    }
+
+    public String name() {
+        return NAMES[op];
+    }
+
+    /** Whether control can continue with the next statement. */
+    public boolean fallsThrough() {
+        return op != JUMP && op != ERROR && op != RETURN;
+    }
+
+    /** Adds the temps this statement reads to {@code set}. */
+    public void addUses(BitSet set) {
+        if (a >= 0)
+            set.set(a);
+        if (b >= 0)
+            set.set(b);
+        for (int t : args)
+            set.set(t);
+    }
+
+    /** The microIR text of this statement, without its label. */
+    @Override
+    public String toString() {
+        switch (op) {
+        case CJUMP:
+            return "CJUMP TEMP " + a + " " + target;
+        case JUMP:
+            return "JUMP " + target;
+        case HSTORE:
+            return "HSTORE TEMP " + a + " " + offset + " TEMP " + b;
+        case HLOAD:
+            return "HLOAD TEMP " + dst + " TEMP " + a + " " + offset;
+        case MOVE:
+            return "MOVE TEMP " + dst + " " + operand(a);
+        case BINOP:
+            return "MOVE TEMP " + dst + " " + operator + " TEMP " + a + " " + operand(b);
+        case HALLOCATE:
+            return "MOVE TEMP " + dst + " HALLOCATE " + operand(a);
+        case CALL: {
+            StringBuilder sb = new StringBuilder("MOVE TEMP ").append(dst).append(" CALL ").append(operand(a))
+                    .append(" (");
+            for (int t : args)
+                sb.append(" TEMP ").append(t);
+            return sb.append(" )").toString();
+        }
+        case PRINT:
+            return "PRINT " + operand(a);
+        case RETURN:
+            return a < 0 && imm == null ? "RETURN" : "RETURN " + operand(a);
+        default:
+            return name();
+        }
+    }
+
+    private String operand(int temp) {
+        return temp >= 0 ? "TEMP " + temp : imm;
+    }
+}
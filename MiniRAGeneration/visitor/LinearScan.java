@@ -0,0 +1,264 @@
+package visitor;
+
+/**
+ * Linear scan (Poletto and Sarkar) for one procedure, the default allocator.
+ * Each temp gets one interval, from the first statement where it is live or
+ * defined to the last, and intervals are handed registers in order of their
+ * start. When none is free, the cheapest of the active intervals and the new
+ * one is spilled for the rest of the procedure; see {@link #spillsBefore}.
+ *
+ * Intervals are columns of int arrays indexed by temp, the free registers a
+ * bit mask, and the active intervals a min-heap on end, so a scan allocates
+ * nothing per temp and takes O(n log R) for n intervals and R registers,
+ * plus O(R) per spill to pick the victim.
+ */
+public final class LinearScan {
+
+    private final BuildCFGAndLiveness.ProcedureInfo proc;
+    private final BuildCFGAndLiveness.ProcedureInfo.Liveness live;
+    private final String[] regs;
+    private final int n;
+
+    private final int[] start;
+    private final int[] end;
+    private final int[] reg;
+    private final int[] slot;
+    /** What spilling each interval costs: its references, each weighted by loop depth; see {@link LoopNesting}. */
+    private final long[] weight;
+    private final int[] callsCrossed;
+
+    /** Active intervals, a min-heap on end. */
+    private final int[] heap;
+    private int heapSize;
+    /** Each active interval's index in {@link #heap}. */
+    private final int[] heapPos;
+    /**
+     * When each active interval joined the active set. Among equally good
+     * spill candidates the earliest is taken, so the choice does not depend
+     * on the heap's layout.
+     */
+    private final int[] joined;
+    private int joins;
+
+    private int free;
+    /** The s registers handed out so far, which the prologue saves anyway. */
+    private int sRegsTaken;
+    private int spillCount;
+
+    public LinearScan(BuildCFGAndLiveness.ProcedureInfo proc, String[] regs) {
+        if (regs.length > 31)
+            throw new IllegalArgumentException("at most 31 registers: " + regs.length);
+        this.proc = proc;
+        this.live = proc.liveness();
+        this.regs = regs;
+        this.n = proc.tempCount;
+        start = new int[n];
+        end = new int[n];
+        reg = new int[n];
+        slot = new int[n];
+        weight = new long[n];
+        callsCrossed = proc.callsCrossed();
+        heap = new int[regs.length];
+        heapPos = new int[n];
+        joined = new int[n];
+        free = (1 << regs.length) - 1;
+    }
+
+    public FixedAssignment run() {
+        PhaseEvent ev = PhaseEvent.start("intervals", n);
+        buildLiveIntervals();
+        int[] order = byStart();
+        ev.finish(order.length);
+
+        ev = PhaseEvent.start("allocation", order.length);
+        for (int t : order) {
+            expireOldIntervals(start[t]);
+            int src = copySource(t);
+            if (src >= 0) {
+                reg[t] = reg[src];
+                replace(src, t);
+                continue;
+            }
+            int r = RegisterClasses.cheapest(regs, free, sRegsTaken, callsCrossed[t]);
+            if (r < 0) {
+                spillAtInterval(t);
+            } else {
+                free &= ~(1 << r);
+                if (regs[r].charAt(0) == 's')
+                    sRegsTaken |= 1 << r;
+                reg[t] = r;
+                push(t);
+            }
+        }
+        spillCount = SpillSlots.color(start, end, slot);
+        ev.finish(spillCount);
+        return new FixedAssignment(regs.length, reg, slot, spillCount);
+    }
+
+    private void buildLiveIntervals() {
+        java.util.Arrays.fill(start, -1);
+        java.util.Arrays.fill(end, -1);
+        java.util.Arrays.fill(reg, -1);
+        java.util.Arrays.fill(slot, -1);
+        long[] w = LoopNesting.referenceWeights(proc);
+        for (int i = 0; i < proc.code.size(); i++) {
+            for (int t = live.nextLiveIn(i, 0); t >= 0; t = live.nextLiveIn(i, t + 1)) {
+                extend(t, i);
+            }
+            Instr ins = proc.code.get(i);
+            if (ins.dst >= 0) {
+                extend(ins.dst, i);
+                if (proc.constant[ins.dst] == null)
+                    weight[ins.dst] += w[i];
+            }
+            if (ins.a >= 0)
+                weight[ins.a] += w[i];
+            if (ins.b >= 0)
+                weight[ins.b] += w[i];
+            for (int t : ins.args)
+                weight[t] += w[i];
+        }
+    }
+
+    private void extend(int t, int i) {
+        if (start[t] == -1) {
+            start[t] = i;
+        }
+        end[t] = i;
+    }
+
+    /** The temps that have an interval, by start and then by number, sorted by counting. */
+    private int[] byStart() {
+        int size = proc.code.size();
+        int[] first = new int[size + 1];
+        int count = 0;
+        for (int t = 0; t < n; t++) {
+            if (start[t] >= 0) {
+                first[start[t] + 1]++;
+                count++;
+            }
+        }
+        for (int i = 0; i < size; i++)
+            first[i + 1] += first[i];
+        int[] order = new int[count];
+        for (int t = 0; t < n; t++)
+            if (start[t] >= 0)
+                order[first[start[t]]++] = t;
+        return order;
+    }
+
+    /**
+     * The temp whose register t can take over, coalescing the copy t starts
+     * with: when t starts at MOVE t src and src, held in a register, ends
+     * there, the two never hold different values at once. Otherwise -1.
+     */
+    private int copySource(int t) {
+        Instr ins = proc.code.get(start[t]);
+        if (ins.op != Instr.MOVE || ins.dst != t || ins.a < 0 || ins.a == ins.dst)
+            return -1;
+        int src = ins.a;
+        return end[src] == start[t] && reg[src] >= 0 ? src : -1;
+    }
+
+    private void expireOldIntervals(int from) {
+        while (heapSize > 0 && end[heap[0]] < from) {
+            free |= 1 << reg[heap[0]];
+            heap[0] = heap[--heapSize];
+            if (heapSize > 0)
+                siftDown(0);
+        }
+    }
+
+    private void spillAtInterval(int t) {
+        int farthest = -1;
+        for (int k = 0; k < heapSize; k++) {
+            int cand = heap[k];
+            if (farthest < 0 || spillsBefore(cand, farthest)
+                    || !spillsBefore(farthest, cand) && joined[cand] < joined[farthest])
+                farthest = cand;
+        }
+
+        if (farthest >= 0 && spillsBefore(farthest, t)) {
+            reg[t] = reg[farthest];
+            reg[farthest] = -1;
+            spill(farthest);
+            replace(farthest, t);
+        } else {
+            spill(t);
+        }
+    }
+
+    /**
+     * Whether a is the better interval to spill than b: one the emitter can
+     * recompute beats one it would have to reload; otherwise the one with the
+     * lower weight, so temps used in loops keep their registers; and among
+     * equals the one that ends later.
+     */
+    private boolean spillsBefore(int a, int b) {
+        boolean ra = proc.constant[a] != null;
+        boolean rb = proc.constant[b] != null;
+        if (ra != rb)
+            return ra;
+        if (weight[a] != weight[b])
+            return weight[a] < weight[b];
+        return end[a] > end[b];
+    }
+
+    /** Gives t a stack slot, unless it holds a constant the emitter can recompute at each use. */
+    private void spill(int t) {
+        if (proc.constant[t] == null)
+            slot[t] = spillCount++;
+    }
+
+    private void push(int t) {
+        joined[t] = joins++;
+        heap[heapSize] = t;
+        heapPos[t] = heapSize;
+        heapSize++;
+        siftUp(heapSize - 1);
+    }
+
+    /** Puts t in the active set in place of the active interval old. */
+    private void replace(int old, int t) {
+        int k = heapPos[old];
+        joined[t] = joins++;
+        heap[k] = t;
+        heapPos[t] = k;
+        siftUp(k);
+        siftDown(heapPos[t]);
+    }
+
+    private void siftUp(int k) {
+        int t = heap[k];
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            int p = heap[parent];
+            if (end[p] <= end[t])
+                break;
+            heap[k] = p;
+            heapPos[p] = k;
+            k = parent;
+        }
+        heap[k] = t;
+        heapPos[t] = k;
+    }
+
+    private void siftDown(int k) {
+        int t = heap[k];
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= heapSize)
+                break;
+            if (child + 1 < heapSize && end[heap[child + 1]] < end[heap[child]])
+                child++;
+            int c = heap[child];
+            if (end[t] <= end[c])
+                break;
+            heap[k] = c;
+            heapPos[c] = k;
+            k = child;
+        }
+        heap[k] = t;
+        heapPos[t] = k;
+    }
+}
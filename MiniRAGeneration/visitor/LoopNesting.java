@@ -0,0 +1,169 @@
+package visitor;
+
+import java.util.Arrays;
+
+/**
+ * Natural loops of one procedure's statement CFG, found from its dominator
+ * tree: an edge p -> h is a back edge when h dominates p, and the loop it
+ * closes is h together with every statement that reaches p without passing
+ * through h. Loops sharing a header count as one. A microIR while loop shows
+ * up as the {@code JUMP L} at the end of its body back to the test at L.
+ *
+ * Dominators are computed with the iterative algorithm of Cooper, Harvey and
+ * Kennedy over reverse postorder; statements unreachable from the entry are
+ * in no loop.
+ */
+final class LoopNesting {
+
+    /** Nesting depths past this all weigh the same, which keeps weights in range. */
+    private static final int MAX_DEPTH = 9;
+
+    private LoopNesting() {
+    }
+
+    /** The number of loops each statement of the procedure is in. */
+    static int[] depth(BuildCFGAndLiveness.ProcedureInfo proc) {
+        int n = proc.code.size();
+        int[] depth = new int[n];
+        if (n == 0)
+            return depth;
+
+        int[] order = new int[n];
+        int[] rpo = new int[n];
+        int reached = reversePostorder(proc, order, rpo);
+        int[] idom = dominators(proc, order, rpo, reached);
+
+        int[] mark = new int[n];
+        int[] stack = new int[n];
+        for (int k = 0; k < reached; k++) {
+            int h = order[k];
+            boolean header = false;
+            for (int e = proc.predStart[h]; e < proc.predStart[h + 1]; e++) {
+                int p = proc.pred[e];
+                if (rpo[p] < 0 || !dominates(h, p, idom, rpo))
+                    continue;
+                if (!header) {
+                    header = true;
+                    mark[h] = h + 1;
+                    depth[h]++;
+                }
+                int size = 0;
+                if (mark[p] != h + 1) {
+                    mark[p] = h + 1;
+                    depth[p]++;
+                    stack[size++] = p;
+                }
+                while (size > 0) {
+                    int i = stack[--size];
+                    for (int f = proc.predStart[i]; f < proc.predStart[i + 1]; f++) {
+                        int q = proc.pred[f];
+                        if (rpo[q] >= 0 && mark[q] != h + 1) {
+                            mark[q] = h + 1;
+                            depth[q]++;
+                            stack[size++] = q;
+                        }
+                    }
+                }
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * What a reference to a temp at each statement weighs when choosing what
+     * to spill: 10 to the power of the statement's loop depth, so a use in a
+     * loop outweighs any number of uses outside it in practice.
+     */
+    static long[] referenceWeights(BuildCFGAndLiveness.ProcedureInfo proc) {
+        int[] depth = depth(proc);
+        long[] weight = new long[depth.length];
+        for (int i = 0; i < depth.length; i++) {
+            long w = 1;
+            for (int d = Math.min(depth[i], MAX_DEPTH); d > 0; d--)
+                w *= 10;
+            weight[i] = w;
+        }
+        return weight;
+    }
+
+    /**
+     * Fills {@code order} with the statements reachable from the entry in
+     * reverse postorder, sets {@code rpo} to each one's position there and
+     * to -1 for the rest, and returns how many were reached.
+     */
+    private static int reversePostorder(BuildCFGAndLiveness.ProcedureInfo proc, int[] order, int[] rpo) {
+        int n = order.length;
+        int[] stack = new int[n];
+        int[] next = new int[n];
+        boolean[] seen = new boolean[n];
+        int count = 0;
+        int size = 0;
+        stack[size++] = 0;
+        seen[0] = true;
+        next[0] = proc.succStart[0];
+        while (size > 0) {
+            int i = stack[size - 1];
+            if (next[i] < proc.succStart[i + 1]) {
+                int s = proc.succ[next[i]++];
+                if (!seen[s]) {
+                    seen[s] = true;
+                    next[s] = proc.succStart[s];
+                    stack[size++] = s;
+                }
+            } else {
+                order[count++] = i;
+                size--;
+            }
+        }
+        for (int k = 0, j = count - 1; k < j; k++, j--) {
+            int t = order[k];
+            order[k] = order[j];
+            order[j] = t;
+        }
+        Arrays.fill(rpo, -1);
+        for (int k = 0; k < count; k++)
+            rpo[order[k]] = k;
+        return count;
+    }
+
+    private static int[] dominators(BuildCFGAndLiveness.ProcedureInfo proc, int[] order, int[] rpo, int reached) {
+        int[] idom = new int[order.length];
+        Arrays.fill(idom, -1);
+        idom[0] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int k = 1; k < reached; k++) {
+                int i = order[k];
+                int d = -1;
+                for (int e = proc.predStart[i]; e < proc.predStart[i + 1]; e++) {
+                    int p = proc.pred[e];
+                    if (idom[p] < 0)
+                        continue;
+                    d = d < 0 ? p : intersect(p, d, idom, rpo);
+                }
+                if (d != idom[i]) {
+                    idom[i] = d;
+                    changed = true;
+                }
+            }
+        }
+        return idom;
+    }
+
+    private static int intersect(int a, int b, int[] idom, int[] rpo) {
+        while (a != b) {
+            while (rpo[a] > rpo[b])
+                a = idom[a];
+            while (rpo[b] > rpo[a])
+                b = idom[b];
+        }
+        return a;
+    }
+
+    private static boolean dominates(int h, int p, int[] idom, int[] rpo) {
+        while (rpo[p] > rpo[h])
+            p = idom[p];
+        return p == h;
+    }
+}
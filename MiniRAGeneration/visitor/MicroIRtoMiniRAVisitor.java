@@ -3,58 +3,137 @@ package visitor;
 import syntaxtree.*;
 import java.util.*;
 
+/**
+ * Allocates registers and emits miniRA for one program. Each procedure is
+ * handed to the chosen {@link Allocator}'s {@link RegisterAllocator}, and
+ * its code is emitted from the resulting {@link Assignment}, the same way
+ * whichever allocator made it. The emitter state and the output buffer are
+ * instance fields: one instance per compilation, never shared across
+ * threads. Distinct instances are independent.
+ */
 public class MicroIRtoMiniRAVisitor extends GJDepthFirst<Void, String> {
 
-    private final Map<String, BuildCFGAndLiveness.ProcedureInfo> livenessData;
-    private BuildCFGAndLiveness.ProcedureInfo currentProc;
-
-    private static class LiveInterval implements Comparable<LiveInterval> {
-        int tempId;
-        int start;
-        int end;
-        String assignedReg = null;
-        Integer spillSlot = null;
-
-        LiveInterval(int t) {
-            tempId = t;
-            start = -1;
-            end = -1;
-        }
-
-        @Override
-        public int compareTo(LiveInterval other) {
-            return Integer.compare(this.start, other.start);
-        }
-
-        @Override
-        public String toString() {
-            String alloc = assignedReg != null ? assignedReg
-                    : (spillSlot != null ? "SPILLED[" + spillSlot + "]" : "NONE");
-            return "T" + tempId + " [" + start + ", " + end + "] -> " + alloc;
+    /** The register allocators to choose from, by the name P5's -alloc switch takes. */
+    public enum Allocator {
+        /** Linear scan over whole-procedure intervals; the default. See {@link LinearScan}. */
+        LINEAR("linear", (proc, regs) -> new LinearScan(proc, regs).run()),
+        /** Iterated register coalescing; see {@link GraphColoring}. */
+        IRC("irc", (proc, regs) -> new GraphColoring(proc, regs).run()),
+        /** Second-chance binpacking, with live range holes and splitting; see {@link BinPacking}. */
+        BINPACK("binpack", (proc, regs) -> new BinPacking(proc, regs).run()),
+        /**
+         * All of the above side by side, keeping per procedure the one whose
+         * emitted code is cheapest; see {@link BestOf} and {@link #emittedCost}.
+         */
+        BEST("best", new BestOf(MicroIRtoMiniRAVisitor::emittedCost, LINEAR.strategy, IRC.strategy, BINPACK.strategy));
+
+        public final String flag;
+        public final RegisterAllocator strategy;
+
+        Allocator(String flag, RegisterAllocator strategy) {
+            this.flag = flag;
+            this.strategy = strategy;
+        }
+
+        public static Allocator parse(String s) {
+            for (Allocator a : values()) {
+                if (a.flag.equals(s))
+                    return a;
+            }
+            throw new IllegalArgumentException("unknown allocator: " + s + " (expected linear, irc, binpack or best)");
         }
     }
 
+    private final Allocator allocator;
+    private final Map<String, BuildCFGAndLiveness.ProcedureInfo> livenessData;
+    private BuildCFGAndLiveness.ProcedureInfo currentProc;
+    private BuildCFGAndLiveness.ProcedureInfo.Liveness live;
+
     private static final String[] S_REGS = { "s0", "s1", "s2", "s3", "s4", "s5", "s6", "s7" };
     private static final String[] T_REGS = { "t0", "t1", "t2", "t3", "t4", "t5", "t6", "t7", "t8", "t9" };
 
+    /**
+     * The registers temps may live in, in the order they are handed out. t9
+     * is the scratch register for call targets, allocation sizes and jump
+     * conditions, so it must never hold a temp.
+     */
+    private static final String[] ALLOCATABLE = { "t0", "t1", "t2", "t3", "t4", "t5", "t6", "t7", "t8",
+            "s0", "s1", "s2", "s3", "s4", "s5", "s6", "s7" };
+
     private static final String[] A_REGS = { "a0", "a1", "a2", "a3" };
     private static final String[] V_REGS = { "v0", "v1" };
 
-    private List<String> freeRegisters;
-    private List<LiveInterval> active;
-    private Map<Integer, LiveInterval> intervalMap;
+    /** Where the current procedure's temps live. */
+    private Assignment assignment;
+    /** The statement being emitted. */
+    private int point;
+    /** Edge blocks the current procedure still has to emit, for taken CJUMPs when the assignment splits. */
+    private List<EdgeStub> stubs;
     private int spillCount;
     private int sRegUsageCount;
     private int stackSlotOffset;
     private int maxCallArgs;
+    /** Per statement, what executing an instruction emitted for it counts; null unless scoring. */
+    private long[] weights;
+    /** The weighted number of instructions emitted so far, when scoring. */
+    private long cost;
+
+    /** Moves resolving a taken CJUMP edge, emitted out of line after the procedure body. */
+    private static class EdgeStub {
+        final String label;
+        final List<int[]> moves;
+        final String target;
+        /** The statements the edge leaves from and goes to. */
+        final int from, to;
+
+        EdgeStub(String label, List<int[]> moves, String target, int from, int to) {
+            this.label = label;
+            this.moves = moves;
+            this.target = target;
+            this.from = from;
+            this.to = to;
+        }
+    }
 
     private final StringBuilder output;
     private boolean inProcedure;
     private String currentLabel = null;
 
     public MicroIRtoMiniRAVisitor(BuildCFGAndLiveness liveness) {
+        this(liveness, Allocator.LINEAR);
+    }
+
+    public MicroIRtoMiniRAVisitor(BuildCFGAndLiveness liveness, Allocator allocator) {
         this.livenessData = liveness.procedures;
+        this.allocator = allocator;
+        this.output = new StringBuilder();
+    }
+
+    /** An emitter that only scores one procedure's code under the given assignment. */
+    private MicroIRtoMiniRAVisitor(BuildCFGAndLiveness.ProcedureInfo proc, Assignment assignment) {
+        this.livenessData = Collections.emptyMap();
+        this.allocator = null;
         this.output = new StringBuilder();
+        this.currentProc = proc;
+        this.live = proc.liveness();
+        this.assignment = assignment;
+        this.spillCount = assignment.spillCount();
+        this.weights = LoopNesting.referenceWeights(proc);
+    }
+
+    /**
+     * What the code emitted for proc under assignment a costs to run: every
+     * instruction, prologue and epilogue included, weighted by
+     * {@link LoopNesting#referenceWeights} at the statement it is emitted
+     * for. Spill loads and stores, caller saves around calls, copies left
+     * uncoalesced and edge moves all count exactly as the emitter writes
+     * them, so allocations compare by the code they actually produce. The
+     * loop weights are still a static guess at how often each statement runs.
+     */
+    public static long emittedCost(BuildCFGAndLiveness.ProcedureInfo proc, Assignment a) {
+        MicroIRtoMiniRAVisitor scorer = new MicroIRtoMiniRAVisitor(proc, a);
+        scorer.emitProcedure(proc.name.equals("MAIN"));
+        return scorer.cost;
     }
 
     public String getMiniRACode() {
@@ -62,6 +141,8 @@ public class MicroIRtoMiniRAVisitor extends GJDepthFirst<Void, String> {
     }
 
     private void emit(String... parts) {
+        if (weights != null)
+            cost += point < weights.length ? weights[point] : 1;
         if (currentLabel != null) {
             output.append(currentLabel).append(" ");
             currentLabel = null;
@@ -74,158 +155,81 @@ public class MicroIRtoMiniRAVisitor extends GJDepthFirst<Void, String> {
         output.append("\n");
     }
 
-    private int getTempId(Temp n) {
-        if (n == null || n.f1 == null || n.f1.f0 == null)
-            return -1;
-        try {
-            return Integer.parseInt(n.f1.f0.tokenImage);
-        } catch (NumberFormatException ex) {
-            return -1;
-        }
+    /** The register temp t is in at the current statement, or null when it is in memory or unused. */
+    private String regOf(int t) {
+        int r = assignment.location(t, point);
+        return r < 0 ? null : ALLOCATABLE[r];
     }
 
-    private String getSimpleExpStr(SimpleExp n) {
-        if (n.f0.choice instanceof Temp) {
-            return getRegForRead((Temp) n.f0.choice, V_REGS[1]);
-        }
-        if (n.f0.choice instanceof IntegerLiteral) {
-            return ((IntegerLiteral) n.f0.choice).f0.tokenImage;
-        }
-        if (n.f0.choice instanceof Label) {
-            return ((Label) n.f0.choice).f0.tokenImage;
-        }
-        return "ERROR_SIMPLE_EXP";
+    /** The spill slot temp t is in at the current statement, or null when it is in a register or unused. */
+    private Integer slotOf(int t) {
+        int slot = assignment.slot(t);
+        return slot >= 0 && assignment.location(t, point) < 0 ? slot : null;
     }
 
-    private String getRegForRead(Temp t, String scratchReg) {
-        LiveInterval i = intervalMap.get(getTempId(t));
-        if (i.assignedReg != null) {
-            return i.assignedReg;
-        }
-        emit("ALOAD", scratchReg, "SPILLEDARG", String.valueOf(i.spillSlot + stackSlotOffset));
-        return scratchReg;
+    /** Every register some temp of the current procedure is allocated to. */
+    private Set<String> usedRegisters() {
+        Set<String> regs = new HashSet<>();
+        for (int r = 0; r < ALLOCATABLE.length; r++)
+            if (assignment.used(r))
+                regs.add(ALLOCATABLE[r]);
+        return regs;
     }
 
-    private String getRegForSimpleExp(SimpleExp se, String scratchReg) {
-        if (se.f0.choice instanceof Temp) {
-            return getRegForRead((Temp) se.f0.choice, scratchReg);
-        }
-        String literal = (se.f0.choice instanceof IntegerLiteral)
-                ? ((IntegerLiteral) se.f0.choice).f0.tokenImage
-                : ((Label) se.f0.choice).f0.tokenImage;
-        emit("MOVE", scratchReg, literal);
-        return scratchReg;
+    /**
+     * The constant temp t is recomputed from at the current statement, or
+     * null. A temp with neither a register nor a slot here is one the
+     * allocator chose to rematerialize.
+     */
+    private String rematOf(int t) {
+        return regOf(t) == null && slotOf(t) == null ? currentProc.constant[t] : null;
     }
 
-    private String getRegForWrite(Temp t, String scratchReg) {
-        LiveInterval i = intervalMap.get(getTempId(t));
-        if (i.assignedReg != null) {
-            return i.assignedReg;
+    private String getRegForRead(int t, String scratchReg) {
+        String reg = regOf(t);
+        if (reg != null) {
+            return reg;
         }
+        String constant = rematOf(t);
+        if (constant != null)
+            emit("MOVE", scratchReg, constant);
+        else
+            emit("ALOAD", scratchReg, "SPILLEDARG", String.valueOf(slotOf(t) + stackSlotOffset));
         return scratchReg;
     }
 
-    private void releaseRegForWrite(Temp t, String scratchReg) {
-        LiveInterval i = intervalMap.get(getTempId(t));
-        if (i.spillSlot != null) {
-            emit("ASTORE", "SPILLEDARG", String.valueOf(i.spillSlot + stackSlotOffset), scratchReg);
+    /** A register holding a SimpleExp operand: temp {@code t}, or {@code imm} when t is -1. */
+    private String getRegForOperand(int t, String imm, String scratchReg) {
+        if (t >= 0) {
+            return getRegForRead(t, scratchReg);
         }
+        emit("MOVE", scratchReg, imm);
+        return scratchReg;
     }
 
-    private void buildLiveIntervals() {
-        intervalMap = new HashMap<>();
-        int tempCount = currentProc.tempCount;
-        for (int i = 0; i < tempCount; i++) {
-            intervalMap.put(i, new LiveInterval(i));
-        }
-
-        for (int i = 0; i < currentProc.nodes.size(); i++) {
-            BuildCFGAndLiveness.StmtInfo stmt = currentProc.nodes.get(i);
-            BitSet live = (BitSet) stmt.in.clone();
-            live.or(stmt.def);
-
-            for (int t = live.nextSetBit(0); t >= 0; t = live.nextSetBit(t + 1)) {
-                if (t < tempCount) {
-                    LiveInterval interval = intervalMap.get(t);
-                    if (interval.start == -1) {
-                        interval.start = i;
-                    }
-                    interval.end = i;
-                }
-            }
+    private String getRegForWrite(int t, String scratchReg) {
+        String reg = regOf(t);
+        if (reg != null) {
+            return reg;
         }
+        return scratchReg;
     }
 
-    private void linearScanAllocate() {
-        spillCount = 0;
-        freeRegisters = new LinkedList<>();
-        Collections.addAll(freeRegisters, T_REGS);
-        Collections.addAll(freeRegisters, S_REGS);
-        active = new ArrayList<>();
-        List<LiveInterval> intervals = new ArrayList<>();
-        for (LiveInterval i : intervalMap.values()) {
-            if (i.start != -1) {
-                intervals.add(i);
-            }
-        }
-        Collections.sort(intervals);
-        final int totalRegs = T_REGS.length + S_REGS.length;
-        for (LiveInterval cur : intervals) {
-            expireOldIntervals(cur);
-            if (freeRegisters.isEmpty()) {
-                spillAtInterval(cur);
-            } else {
-                String reg = freeRegisters.remove(0);
-                cur.assignedReg = reg;
-                active.add(cur);
-            }
+    private void releaseRegForWrite(int t, String scratchReg) {
+        Integer slot = slotOf(t);
+        if (slot != null) {
+            emit("ASTORE", "SPILLEDARG", String.valueOf(slot + stackSlotOffset), scratchReg);
         }
     }
 
-    private void expireOldIntervals(LiveInterval i) {
-        Iterator<LiveInterval> it = active.iterator();
-        while (it.hasNext()) {
-            LiveInterval j = it.next();
-            if (j.end < i.start) {
-                it.remove();
-                freeRegisters.add(j.assignedReg);
-            }
-        }
-    }
-
-    private void spillAtInterval(LiveInterval i) {
-        LiveInterval farthest = null;
-        int farIdx = -1;
-        for (int k = 0; k < active.size(); ++k) {
-            LiveInterval cand = active.get(k);
-            if (farthest == null || cand.end > farthest.end) {
-                farthest = cand;
-                farIdx = k;
-            }
-        }
-
-        if (farthest == null) {
-            i.spillSlot = spillCount++;
-            return;
-        }
-
-        if (farthest.end > i.end && farthest.assignedReg != null) {
-            i.assignedReg = farthest.assignedReg;
-            farthest.assignedReg = null;
-            farthest.spillSlot = spillCount++;
-            active.remove(farIdx);
-            active.add(i);
-        } else {
-            i.spillSlot = spillCount++;
-        }
+    /** Assigns the current procedure's temps registers or spill slots. */
+    private void allocate() {
+        assignment = allocator.strategy.allocate(currentProc, ALLOCATABLE);
+        spillCount = assignment.spillCount();
     }
 
     private String[] pickUnusedScratches() {
-        Set<String> assignedRegs = new HashSet<>();
-        for (LiveInterval li : intervalMap.values()) {
-            if (li.assignedReg != null)
-                assignedRegs.add(li.assignedReg);
-        }
+        Set<String> assignedRegs = usedRegisters();
         String first = null, second = null;
         for (String r : T_REGS) {
             if (!assignedRegs.contains(r)) {
@@ -253,53 +257,24 @@ public class MicroIRtoMiniRAVisitor extends GJDepthFirst<Void, String> {
      */
     @Override
     public Void visit(Goal n, String argu) {
-        inProcedure = false;
-        currentProc = livenessData.get("MAIN");
-        buildLiveIntervals();
-        linearScanAllocate();
-        CallFinderVisitor callFinder = new CallFinderVisitor();
-        n.f1.accept(callFinder, null);
-        maxCallArgs = callFinder.maxArgs;
-        int tRegSaveSpace = callFinder.hasCall ? 10 : 0;
-        Set<String> sRegsUsed = new HashSet<>();
-        for (LiveInterval i : intervalMap.values()) {
-            if (i.assignedReg != null && i.assignedReg.startsWith("s")) {
-                sRegsUsed.add(i.assignedReg);
-            }
-        }
-        sRegUsageCount = sRegsUsed.size();
-        int incomingStackSlots = 0;
-        int outgoingStackSlots = Math.max(0, maxCallArgs - 4);
-        int stackSize = incomingStackSlots + sRegUsageCount + spillCount + tRegSaveSpace + outgoingStackSlots;
-        stackSlotOffset = incomingStackSlots + sRegUsageCount;
-        output.append("MAIN [0] [").append(stackSize).append("] [").append(maxCallArgs).append("]\n");
-        int sRegSlot = incomingStackSlots;
-        for (String sReg : S_REGS) {
-            if (sRegsUsed.contains(sReg)) {
-                emit("ASTORE", "SPILLEDARG", String.valueOf(sRegSlot++), sReg);
-            }
-        }
-
-        n.f1.accept(this, argu);
-
-        sRegSlot = incomingStackSlots;
-        for (String sReg : S_REGS) {
-            if (sRegsUsed.contains(sReg)) {
-                emit("ALOAD", sReg, "SPILLEDARG", String.valueOf(sRegSlot++));
-            }
-        }
-
-        output.append("END\n");
-        if (spillCount > 0)
-            emit("// SPILLED");
-        else
-            emit("// NOTSPILLED");
-
+        visitMain(n, argu);
         n.f3.accept(this, argu);
-
         return null;
     }
 
+    /** Allocates and emits MAIN only, leaving the procedures alone. */
+    public void visitMain(Goal n, String argu) {
+        inProcedure = false;
+        currentProc = livenessData.get("MAIN");
+        live = currentProc.liveness();
+        allocate();
+        PhaseEvent ev = PhaseEvent.start("emit", currentProc.code.size());
+        int mark = output.length();
+        emitProcedure(true);
+        ev.finish(output.length() - mark);
+        release();
+    }
+
     /**
      * f0 -> Label()
      * f1 -> "["
@@ -310,19 +285,26 @@ public class MicroIRtoMiniRAVisitor extends GJDepthFirst<Void, String> {
     @Override
     public Void visit(Procedure n, String argu) {
         inProcedure = true;
-        String procName = n.f0.f0.tokenImage;
-        int argCount = Integer.parseInt(n.f2.f0.tokenImage);
-        currentProc = livenessData.get(procName);
-        buildLiveIntervals();
-        linearScanAllocate();
-        CallFinderVisitor callFinder = new CallFinderVisitor();
-        n.f4.accept(callFinder, null);
-        maxCallArgs = callFinder.maxArgs;
-        int tRegSaveSpace = callFinder.hasCall ? 10 : 0;
+        currentProc = livenessData.get(n.f0.f0.tokenImage);
+        live = currentProc.liveness();
+        allocate();
+        PhaseEvent ev = PhaseEvent.start("emit", currentProc.code.size());
+        int mark = output.length();
+        emitProcedure(false);
+        ev.finish(output.length() - mark);
+        release();
+
+        return null;
+    }
+
+    /** Emits the current procedure, or MAIN, from its assignment: header, prologue, body and epilogue. */
+    private void emitProcedure(boolean main) {
+        int argCount = main ? 0 : currentProc.argCount;
+        int tRegSaveSpace = scanCalls();
         Set<String> sRegsUsed = new HashSet<>();
-        for (LiveInterval i : intervalMap.values()) {
-            if (i.assignedReg != null && i.assignedReg.startsWith("s")) {
-                sRegsUsed.add(i.assignedReg);
+        for (String reg : usedRegisters()) {
+            if (reg.startsWith("s")) {
+                sRegsUsed.add(reg);
             }
         }
         sRegUsageCount = sRegsUsed.size();
@@ -330,10 +312,14 @@ public class MicroIRtoMiniRAVisitor extends GJDepthFirst<Void, String> {
         int outgoingStackSlots = Math.max(0, maxCallArgs - 4);
         int stackSize = incomingStackSlots + sRegUsageCount + spillCount + tRegSaveSpace + outgoingStackSlots;
         stackSlotOffset = incomingStackSlots + sRegUsageCount;
-        output.append("\n").append(procName);
-        output.append(" [").append(argCount).append("]");
-        output.append(" [").append(stackSize).append("]");
-        output.append(" [").append(maxCallArgs).append("]\n");
+        if (main) {
+            output.append("MAIN [0] [").append(stackSize).append("] [").append(maxCallArgs).append("]\n");
+        } else {
+            output.append("\n").append(currentProc.name);
+            output.append(" [").append(argCount).append("]");
+            output.append(" [").append(stackSize).append("]");
+            output.append(" [").append(maxCallArgs).append("]\n");
+        }
         int sRegSlot = incomingStackSlots;
         for (String sReg : S_REGS) {
             if (sRegsUsed.contains(sReg)) {
@@ -341,19 +327,19 @@ public class MicroIRtoMiniRAVisitor extends GJDepthFirst<Void, String> {
             }
         }
 
+        point = 0;
         for (int i = 0; i < argCount; i++) {
-            Temp t = new Temp(new NodeToken("TEMP"), new IntegerLiteral(new NodeToken(String.valueOf(i))));
-            String writeReg = getRegForWrite(t, V_REGS[1]);
+            String writeReg = getRegForWrite(i, V_REGS[1]);
 
             if (i < 4) {
                 emit("MOVE", writeReg, A_REGS[i]);
             } else {
                 emit("ALOAD", writeReg, "SPILLEDARG", String.valueOf(i - 4));
             }
-            releaseRegForWrite(t, V_REGS[1]);
+            releaseRegForWrite(i, V_REGS[1]);
         }
 
-        n.f4.accept(this, argu);
+        emitBody();
 
         sRegSlot = incomingStackSlots;
         for (String sReg : S_REGS) {
@@ -367,224 +353,284 @@ public class MicroIRtoMiniRAVisitor extends GJDepthFirst<Void, String> {
             emit("// SPILLED");
         else
             emit("// NOTSPILLED");
-
-        return null;
     }
 
     /**
-     * f0 -> ( ( Label() )? Stmt() )*
+     * Drops the finished procedure's liveness and assignment, so that when
+     * the liveness is built one procedure at a time, as P5.compile does, at
+     * most one procedure's worth is reachable while the next is allocated.
      */
-    @Override
-    public Void visit(StmtList n, String argu) {
-        if (n.f0.present()) {
-            for (Node node : n.f0.nodes) {
-                NodeSequence seq = (NodeSequence) node;
-
-                NodeOptional labelOpt = (NodeOptional) seq.nodes.elementAt(0);
-                if (labelOpt.present()) {
-                    Label l = (Label) labelOpt.node;
-                    currentLabel = l.f0.tokenImage;
-                }
+    private void release() {
+        currentProc = null;
+        live = null;
+        assignment = null;
+        stubs = null;
+    }
 
-                Node stmtNode = seq.nodes.elementAt(1);
-                stmtNode.accept(this, argu);
+    /**
+     * Sets maxCallArgs for the current procedure and returns the number of
+     * frame slots its calls need to save t registers in.
+     */
+    private int scanCalls() {
+        int saveSpace = 0;
+        maxCallArgs = 0;
+        List<Instr> code = currentProc.code;
+        for (point = 0; point < code.size(); point++) {
+            Instr ins = code.get(point);
+            if (ins.op == Instr.CALL) {
+                maxCallArgs = Math.max(maxCallArgs, ins.args.length);
+                saveSpace = Math.max(saveSpace, callerSaved(ins).size());
             }
         }
-        return null;
+        return saveSpace;
     }
 
     /**
-     * f0 -> "NOOP"
+     * The t registers the call at the current statement must preserve: those
+     * holding a temp that is live both into and out of it. The callee may
+     * clobber any t register, but whatever else they hold is dead.
      */
-    @Override
-    public Void visit(NoOpStmt n, String argu) {
-        emit("NOOP");
-        return null;
+    private List<String> callerSaved(Instr call) {
+        boolean[] holds = new boolean[T_REGS.length];
+        int next = point + 1;
+        for (int t = live.nextLiveIn(point, 0); t >= 0; t = live.nextLiveIn(point, t + 1)) {
+            if (t == call.dst || next == currentProc.code.size() || !live.isLiveIn(next, t))
+                continue;
+            String reg = regOf(t);
+            if (reg != null && reg.startsWith("t"))
+                holds[reg.charAt(1) - '0'] = true;
+        }
+        List<String> saved = new ArrayList<>();
+        for (int i = 0; i < T_REGS.length; i++)
+            if (holds[i])
+                saved.add(T_REGS[i]);
+        return saved;
+    }
+
+    private void emitBody() {
+        List<Instr> code = currentProc.code;
+        stubs = new ArrayList<>();
+        for (point = 0; point < code.size(); point++) {
+            Instr ins = code.get(point);
+            if (assignment.splits() && point > 0 && code.get(point - 1).op != Instr.JUMP && isEdge(point - 1, point))
+                emitMoves(resolution(point - 1, point));
+            if (ins.label != null)
+                currentLabel = ins.label;
+            switch (ins.op) {
+            case Instr.NOOP:
+                emit("NOOP");
+                break;
+            case Instr.ERROR:
+                emit("ERROR");
+                break;
+            case Instr.CJUMP:
+                emitCJump(ins);
+                break;
+            case Instr.JUMP:
+                if (assignment.splits() && target(ins) >= 0)
+                    emitMoves(resolution(point, target(ins)));
+                emit("JUMP", ins.target);
+                break;
+            case Instr.HSTORE: {
+                String baseReg = getRegForRead(ins.a, V_REGS[1]);
+                String srcReg = getRegForRead(ins.b, T_REGS[9]);
+                emit("HSTORE", baseReg, String.valueOf(ins.offset), srcReg);
+                break;
+            }
+            case Instr.HLOAD: {
+                String dstReg = getRegForWrite(ins.dst, V_REGS[1]);
+                String baseReg = getRegForRead(ins.a, T_REGS[9]);
+                emit("HLOAD", dstReg, baseReg, String.valueOf(ins.offset));
+                releaseRegForWrite(ins.dst, V_REGS[1]);
+                break;
+            }
+            case Instr.CALL:
+                emitCall(ins);
+                break;
+            case Instr.PRINT:
+                emit("PRINT", getRegForOperand(ins.a, ins.imm, T_REGS[9]));
+                break;
+            case Instr.RETURN:
+                if (ins.a >= 0 || ins.imm != null)
+                    emit("MOVE", V_REGS[0], getRegForOperand(ins.a, ins.imm, V_REGS[1]));
+                break;
+            default:
+                emitMove(ins);
+            }
+        }
+        emitStubs();
     }
 
     /**
-     * f0 -> "ERROR"
+     * A CJUMP whose taken edge needs moves jumps to an edge block holding
+     * them instead of its target; the fall-through edge is resolved before
+     * the next statement like any other.
      */
-    @Override
-    public Void visit(ErrorStmt n, String argu) {
-        emit("ERROR");
-        return null;
+    private void emitCJump(Instr ins) {
+        String cond = getRegForRead(ins.a, T_REGS[9]);
+        int target = target(ins);
+        if (assignment.splits() && target >= 0 && target != point + 1) {
+            List<int[]> moves = resolution(point, target);
+            if (!moves.isEmpty()) {
+                String label = currentProc.name + "__E" + stubs.size();
+                stubs.add(new EdgeStub(label, moves, ins.target, point, target));
+                emit("CJUMP", cond, label);
+                return;
+            }
+        }
+        emit("CJUMP", cond, ins.target);
     }
 
-    /**
-     * f0 -> "CJUMP"
-     * f1 -> Temp()
-     * f2 -> Label()
-     */
-    @Override
-    public Void visit(CJumpStmt n, String argu) {
-        String reg = getRegForRead(n.f1, T_REGS[9]);
-        String label = n.f2.f0.tokenImage;
-        emit("CJUMP", reg, label);
-        return null;
+    /** The edge blocks, after the body and jumped over by it. */
+    private void emitStubs() {
+        if (stubs.isEmpty())
+            return;
+        String exit = currentProc.name + "__E" + stubs.size();
+        emit("JUMP", exit);
+        int end = point;
+        for (EdgeStub stub : stubs) {
+            // An edge runs no more often than either end of it: a loop's exit once per exit, not per iteration.
+            point = weights != null && weights[stub.to] < weights[stub.from] ? stub.to : stub.from;
+            currentLabel = stub.label;
+            emitMoves(stub.moves);
+            emit("JUMP", stub.target);
+        }
+        point = end;
+        currentLabel = exit;
+        emit("NOOP");
     }
 
-    /**
-     * f0 -> "JUMP"
-     * f1 -> Label()
-     */
-    @Override
-    public Void visit(JumpStmt n, String argu) {
-        emit("JUMP", n.f1.f0.tokenImage);
-        return null;
+    /** The statement a jump goes to, or -1 if its label is not in this procedure. */
+    private int target(Instr ins) {
+        Integer j = currentProc.labelToIndex.get(ins.target);
+        return j != null && j < currentProc.code.size() ? j : -1;
     }
 
-    /**
-     * f0 -> "HSTORE"
-     * f1 -> Temp()
-     * f2 -> IntegerLiteral()
-     * f3 -> Temp()
-     */
-    @Override
-    public Void visit(HStoreStmt n, String argu) {
-        String baseReg = getRegForRead(n.f1, V_REGS[1]);
-        String offset = n.f2.f0.tokenImage;
-        String srcReg = getRegForRead(n.f3, T_REGS[9]);
-        emit("HSTORE", baseReg, offset, srcReg);
-        return null;
+    private boolean isEdge(int p, int q) {
+        for (int e = currentProc.succStart[p]; e < currentProc.succStart[p + 1]; e++)
+            if (currentProc.succ[e] == q)
+                return true;
+        return false;
     }
 
     /**
-     * f0 -> "HLOAD"
-     * f1 -> Temp()
-     * f2 -> Temp()
-     * f3 -> IntegerLiteral()
+     * The moves that carry every temp live into statement q from where it is
+     * at the end of p to where q expects it, as {temp, from, to} with register
+     * indices, -1 standing for the temp's stack slot.
      */
-    @Override
-    public Void visit(HLoadStmt n, String argu) {
-        String dstReg = getRegForWrite(n.f1, V_REGS[1]);
-        String baseReg = getRegForRead(n.f2, T_REGS[9]);
-        String offset = n.f3.f0.tokenImage;
-        emit("HLOAD", dstReg, baseReg, offset);
-        releaseRegForWrite(n.f1, V_REGS[1]);
-        return null;
+    private List<int[]> resolution(int p, int q) {
+        List<int[]> moves = new ArrayList<>();
+        for (int t = live.nextLiveIn(q, 0); t >= 0; t = live.nextLiveIn(q, t + 1)) {
+            int from = assignment.location(t, p);
+            int to = assignment.location(t, q);
+            if (from != to)
+                moves.add(new int[] { t, from, to });
+        }
+        return moves;
     }
 
     /**
-     * f0 -> "MOVE"
-     * f1 -> Temp()
-     * f2 -> Exp()
+     * Emits a resolution as one parallel move: stores first, so they read
+     * registers before anything is overwritten; then register to register
+     * copies, ordered so none clobbers a pending source, with cycles broken
+     * through v1; and loads, or constants recomputed, last.
      */
-    @Override
-    public Void visit(MoveStmt n, String argu) {
-        if (n.f2.f0.choice instanceof Call) {
-            Call call = (Call) n.f2.f0.choice;
-
-            int tRegSaveSlot = stackSlotOffset + spillCount;
-            for (int i = 0; i < T_REGS.length; i++) {
-                emit("ASTORE", "SPILLEDARG", String.valueOf(tRegSaveSlot + i), T_REGS[i]);
-            }
-
-            int argNum = 0;
-            if (call.f3 != null && call.f3.present()) {
-                for (Node argNode : call.f3.nodes) {
-                    if (argNode instanceof Temp) {
-                        Temp argTemp = (Temp) argNode;
-                        String argReg = getRegForRead(argTemp, V_REGS[1]);
-                        if (argNum < 4)
-                            emit("MOVE", A_REGS[argNum], argReg);
-                        else
-                            emit("PASSARG", String.valueOf(argNum - 3), argReg);
-                    } else if (argNode instanceof SimpleExp) {
-                        String argReg = getRegForSimpleExp((SimpleExp) argNode, V_REGS[1]);
-                        if (argNum < 4)
-                            emit("MOVE", A_REGS[argNum], argReg);
-                        else
-                            emit("PASSARG", String.valueOf(argNum - 3), argReg);
-                    } else if (argNode instanceof Exp) {
-                        Exp argExp = (Exp) argNode;
-                        if (argExp.f0.choice instanceof SimpleExp) {
-                            SimpleExp se = (SimpleExp) argExp.f0.choice;
-                            String argReg = getRegForSimpleExp(se, V_REGS[1]);
-                            if (argNum < 4) {
-                                emit("MOVE", A_REGS[argNum], argReg);
-                            } else {
-                                emit("PASSARG", String.valueOf(argNum - 3), argReg);
-                            }
-                        } else {
-                            String argReg = V_REGS[1];
-
-                            if (argExp.f0.choice instanceof BinOp) {
-                                BinOp b = (BinOp) argExp.f0.choice;
-
-                                String src2 = getRegForSimpleExp(b.f2, T_REGS[9]);
-                                String src1 = getRegForRead(b.f1, V_REGS[1]);
-
-                                String compute = T_REGS[9];
-
-                                emit("MOVE", compute, ((NodeToken) b.f0.f0.choice).tokenImage, src1, src2);
-                                emit("MOVE", argReg, compute);
-
-                            } else if (argExp.f0.choice instanceof HAllocate) {
-                                HAllocate h = (HAllocate) argExp.f0.choice;
-                                String sizeReg = getRegForSimpleExp(h.f1, T_REGS[9]);
-                                String compute = T_REGS[9];
-                                if (!sizeReg.equals(compute))
-                                    emit("MOVE", compute, sizeReg);
-                                emit("MOVE", argReg, "HALLOCATE", compute);
-                            } else {
-                                emit("MOVE", argReg, "0");
-                            }
-
-                            if (argNum < 4) {
-                                emit("MOVE", A_REGS[argNum], argReg);
-                            } else {
-                                emit("PASSARG", String.valueOf(argNum - 3), argReg);
-                            }
-                        }
-                    }
-
-                    argNum++;
+    private void emitMoves(List<int[]> moves) {
+        List<String[]> copies = new ArrayList<>();
+        for (int[] m : moves) {
+            if (m[1] < 0)
+                continue;
+            if (m[2] >= 0)
+                copies.add(new String[] { ALLOCATABLE[m[2]], ALLOCATABLE[m[1]] });
+            else if (assignment.slot(m[0]) >= 0)
+                emit("ASTORE", "SPILLEDARG", String.valueOf(assignment.slot(m[0]) + stackSlotOffset), ALLOCATABLE[m[1]]);
+        }
+        while (!copies.isEmpty()) {
+            boolean progress = false;
+            for (Iterator<String[]> it = copies.iterator(); it.hasNext();) {
+                String[] c = it.next();
+                if (!isSource(copies, c[0])) {
+                    emit("MOVE", c[0], c[1]);
+                    it.remove();
+                    progress = true;
                 }
             }
+            if (!progress) {
+                String saved = copies.get(0)[0];
+                emit("MOVE", V_REGS[1], saved);
+                for (String[] c : copies)
+                    if (c[1].equals(saved))
+                        c[1] = V_REGS[1];
+            }
+        }
+        for (int[] m : moves) {
+            if (m[1] >= 0)
+                continue;
+            if (assignment.slot(m[0]) < 0)
+                emit("MOVE", ALLOCATABLE[m[2]], currentProc.constant[m[0]]);
+            else
+                emit("ALOAD", ALLOCATABLE[m[2]], "SPILLEDARG", String.valueOf(assignment.slot(m[0]) + stackSlotOffset));
+        }
+    }
 
-            String funcReg = getRegForSimpleExp(call.f1, V_REGS[1]);
-            emit("CALL", funcReg);
+    private static boolean isSource(List<String[]> copies, String reg) {
+        for (String[] c : copies)
+            if (c[1].equals(reg))
+                return true;
+        return false;
+    }
 
-            tRegSaveSlot = stackSlotOffset + spillCount;
-            for (int i = 0; i < T_REGS.length; i++) {
-                emit("ALOAD", T_REGS[i], "SPILLEDARG", String.valueOf(tRegSaveSlot + i));
-            }
+    private void emitCall(Instr call) {
+        int tRegSaveSlot = stackSlotOffset + spillCount;
+        List<String> saved = callerSaved(call);
+        for (int i = 0; i < saved.size(); i++) {
+            emit("ASTORE", "SPILLEDARG", String.valueOf(tRegSaveSlot + i), saved.get(i));
+        }
+
+        for (int argNum = 0; argNum < call.args.length; argNum++) {
+            String argReg = getRegForRead(call.args[argNum], V_REGS[1]);
+            if (argNum < 4)
+                emit("MOVE", A_REGS[argNum], argReg);
+            else
+                emit("PASSARG", String.valueOf(argNum - 3), argReg);
+        }
 
-            String dstReg = getRegForWrite(n.f1, V_REGS[1]);
-            emit("MOVE", dstReg, V_REGS[0]);
-            releaseRegForWrite(n.f1, V_REGS[1]);
+        String funcReg = getRegForOperand(call.a, call.imm, V_REGS[1]);
+        emit("CALL", funcReg);
 
-            return null;
+        for (int i = 0; i < saved.size(); i++) {
+            emit("ALOAD", saved.get(i), "SPILLEDARG", String.valueOf(tRegSaveSlot + i));
         }
 
-        String dstReg = getRegForWrite(n.f1, V_REGS[1]);
+        String dstReg = getRegForWrite(call.dst, V_REGS[1]);
+        emit("MOVE", dstReg, V_REGS[0]);
+        releaseRegForWrite(call.dst, V_REGS[1]);
+    }
 
-        if (n.f2.f0.choice instanceof HAllocate) {
+    /** MOVE of a SimpleExp, a BinOp or an HALLOCATE. */
+    private void emitMove(Instr ins) {
+        String dstReg = getRegForWrite(ins.dst, V_REGS[1]);
 
-            HAllocate halloc = (HAllocate) n.f2.f0.choice;
-            String sizeReg = getRegForSimpleExp(halloc.f1, T_REGS[9]);
+        if (ins.op == Instr.HALLOCATE) {
 
-            emit("MOVE", dstReg, "HALLOCATE", sizeReg);
+            String sizeReg = getRegForOperand(ins.a, ins.imm, T_REGS[9]);
 
-        } else if (n.f2.f0.choice instanceof BinOp) {
+            emit("MOVE", dstReg, "HALLOCATE", sizeReg);
 
-            BinOp binOp = (BinOp) n.f2.f0.choice;
-            String op = ((NodeToken) binOp.f0.f0.choice).tokenImage;
+        } else if (ins.op == Instr.BINOP) {
 
             String[] scratches = pickUnusedScratches();
             final String SCR1 = scratches[0];
             final String SCR2 = scratches[1];
 
-            String src2Reg = getRegForSimpleExp(binOp.f2, SCR2);
+            String src2Reg = getRegForOperand(ins.b, ins.imm, SCR2);
 
             String src1Scratch = SCR1;
             if (src2Reg.equals(src1Scratch))
                 src1Scratch = SCR2;
-            String src1Reg = getRegForRead(binOp.f1, src1Scratch);
+            String src1Reg = getRegForRead(ins.a, src1Scratch);
 
-            LiveInterval dstInterval = intervalMap.get(getTempId(n.f1));
-            String dstAssignedReg = dstInterval.assignedReg;
+            String dstAssignedReg = regOf(ins.dst);
             String computeReg = null;
 
             if (dstAssignedReg == null) {
@@ -597,151 +643,56 @@ public class MicroIRtoMiniRAVisitor extends GJDepthFirst<Void, String> {
                         computeReg = V_REGS[0];
                 }
             } else {
-                if (dstAssignedReg.equals(src1Reg) || dstAssignedReg.equals(src2Reg)) {
-                    computeReg = SCR1;
-                    if (computeReg.equals(src1Reg) || computeReg.equals(src2Reg))
-                        computeReg = SCR2;
-                    if (computeReg.equals(src1Reg) || computeReg.equals(src2Reg)) {
-                        computeReg = V_REGS[1];
-                        if (computeReg.equals(src1Reg) || computeReg.equals(src2Reg))
-                            computeReg = V_REGS[0];
-                    }
-                } else {
-                    computeReg = dstAssignedReg;
-                }
+                // MOVE r PLUS r x is fine: the operands are read before r is written.
+                computeReg = dstAssignedReg;
             }
 
-            emit("MOVE", computeReg, op, src1Reg, src2Reg);
+            emit("MOVE", computeReg, ins.operator, src1Reg, src2Reg);
 
-            if (dstInterval.spillSlot != null) {
-                emit("ASTORE", "SPILLEDARG", String.valueOf(dstInterval.spillSlot + stackSlotOffset), computeReg);
-            } else if (dstAssignedReg != null && !dstAssignedReg.equals(computeReg)) {
-                emit("MOVE", dstAssignedReg, computeReg);
+            Integer dstSlot = slotOf(ins.dst);
+            if (dstSlot != null) {
+                emit("ASTORE", "SPILLEDARG", String.valueOf(dstSlot + stackSlotOffset), computeReg);
             }
 
-            return null;
-        } else if (n.f2.f0.choice instanceof SimpleExp) {
-            SimpleExp simple = (SimpleExp) n.f2.f0.choice;
-
-            if (simple.f0.choice instanceof Temp) {
-                Temp srcTemp = (Temp) simple.f0.choice;
-                LiveInterval srcInterval = intervalMap.get(getTempId(srcTemp));
-                LiveInterval dstInterval = intervalMap.get(getTempId(n.f1));
-
-                if (dstInterval.assignedReg != null && srcInterval.assignedReg != null) {
-                    emit("MOVE", dstInterval.assignedReg, srcInterval.assignedReg);
-                } else if (dstInterval.spillSlot != null && srcInterval.assignedReg != null) {
-                    emit("ASTORE", "SPILLEDARG", String.valueOf(dstInterval.spillSlot + stackSlotOffset),
-                            srcInterval.assignedReg);
-                } else if (dstInterval.assignedReg != null && srcInterval.spillSlot != null) {
-                    emit("ALOAD", dstInterval.assignedReg, "SPILLEDARG",
-                            String.valueOf(srcInterval.spillSlot + stackSlotOffset));
+            return;
+        } else if (ins.a >= 0) {
+            String srcReg = regOf(ins.a);
+            String dstAssignedReg = regOf(ins.dst);
+            Integer srcSlot = slotOf(ins.a);
+            Integer dstSlot = slotOf(ins.dst);
+
+            if (Objects.equals(dstAssignedReg, srcReg) && Objects.equals(dstSlot, srcSlot)) {
+                // Coalesced: both temps already share a home.
+                if (currentLabel != null)
+                    emit("NOOP");
+            } else if (dstAssignedReg != null && srcReg != null) {
+                emit("MOVE", dstAssignedReg, srcReg);
+            } else if (dstSlot != null && srcReg != null) {
+                emit("ASTORE", "SPILLEDARG", String.valueOf(dstSlot + stackSlotOffset), srcReg);
+            } else if (dstAssignedReg != null && srcSlot != null) {
+                emit("ALOAD", dstAssignedReg, "SPILLEDARG", String.valueOf(srcSlot + stackSlotOffset));
+            } else if (srcSlot == null) {
+                String constant = rematOf(ins.a);
+                if (dstAssignedReg != null) {
+                    emit("MOVE", dstAssignedReg, constant);
                 } else {
-                    emit("ALOAD", V_REGS[1], "SPILLEDARG", String.valueOf(srcInterval.spillSlot + stackSlotOffset));
-                    emit("ASTORE", "SPILLEDARG", String.valueOf(dstInterval.spillSlot + stackSlotOffset), V_REGS[1]);
+                    emit("MOVE", V_REGS[1], constant);
+                    emit("ASTORE", "SPILLEDARG", String.valueOf(dstSlot + stackSlotOffset), V_REGS[1]);
                 }
-                return null;
+            } else {
+                emit("ALOAD", V_REGS[1], "SPILLEDARG", String.valueOf(srcSlot + stackSlotOffset));
+                emit("ASTORE", "SPILLEDARG", String.valueOf(dstSlot + stackSlotOffset), V_REGS[1]);
             }
-
-            String simpleStr = getSimpleExpStr(simple);
-            emit("MOVE", dstReg, simpleStr);
+            return;
+        } else if (rematOf(ins.dst) != null) {
+            // Recomputed at each use instead.
+            if (currentLabel != null)
+                emit("NOOP");
+            return;
+        } else {
+            emit("MOVE", dstReg, ins.imm);
         }
 
-        releaseRegForWrite(n.f1, V_REGS[1]);
-        return null;
+        releaseRegForWrite(ins.dst, V_REGS[1]);
     }
-
-    /**
-     * f0 -> "PRINT"
-     * f1 -> SimpleExp()
-     */
-    @Override
-    public Void visit(PrintStmt n, String argu) {
-        String reg = getRegForSimpleExp(n.f1, T_REGS[9]);
-        emit("PRINT", reg);
-        return null;
-    }
-
-    /**
-     * f0 -> "BEGIN"
-     * f1 -> StmtList()
-     * f2 -> "RETURN"
-     * f3 -> SimpleExp()
-     * f4 -> "END"
-     */
-    @Override
-    public Void visit(StmtExp n, String argu) {
-        n.f1.accept(this, argu);
-
-        String retReg = getRegForSimpleExp(n.f3, V_REGS[1]);
-        emit("MOVE", V_REGS[0], retReg);
-
-        return null;
-    }
-
-    @Override
-    public Void visit(Exp n, String argu) {
-        n.f0.accept(this, argu);
-        return null;
-    }
-
-    @Override
-    public Void visit(Call n, String argu) {
-        return null;
-    }
-
-    @Override
-    public Void visit(HAllocate n, String argu) {
-        return null;
-    }
-
-    @Override
-    public Void visit(BinOp n, String argu) {
-        return null;
-    }
-
-    @Override
-    public Void visit(Operator n, String argu) {
-        return null;
-    }
-
-    @Override
-    public Void visit(SimpleExp n, String argu) {
-        return null;
-    }
-
-    @Override
-    public Void visit(Temp n, String argu) {
-        return null;
-    }
-
-    @Override
-    public Void visit(IntegerLiteral n, String argu) {
-        return null;
-    }
-
-    @Override
-    public Void visit(Label n, String argu) {
-        return null;
-    }
-
 }
-
-class CallFinderVisitor extends GJDepthFirst<Void, Void> {
-    public boolean hasCall = false;
-    public int maxArgs = 0;
-
-    @Override
-    public Void visit(Call n, Void argu) {
-        hasCall = true;
-        int numArgs = n.f3.size();
-        if (numArgs > maxArgs) {
-            maxArgs = numArgs;
-        }
-
-        n.f1.accept(this, argu);
-        n.f3.accept(this, argu);
-
-        return null;
-    }
-}
\ No newline at end of file
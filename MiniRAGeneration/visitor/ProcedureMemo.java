@@ -0,0 +1,194 @@
+package visitor;
+
+import syntaxtree.*;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.util.*;
+
+/**
+ * Remembers the miniRA emitted for each procedure, keyed by a fingerprint of
+ * its microIR body, so recompiling a program where only a few procedures
+ * changed only allocates those.
+ *
+ * The fingerprint renumbers temps densely in their original numeric order and
+ * replaces labels (the procedure's own name first) by their order of first
+ * appearance. P3 and P4 number temps and labels with program-wide counters,
+ * so an edit in one method shifts the numbers of every method after it;
+ * normalizing makes those methods hit again. Keeping the relative order of
+ * temps matters: the allocator breaks ties between intervals by temp number,
+ * so order-preserving renumbering gives the same allocation. Temps never
+ * appear in miniRA, and labels are mapped back on a hit, including the
+ * edge block labels the allocator derives from the procedure's name.
+ *
+ * The memo is shared by every compilation in a JVM and is safe to use from
+ * several threads.
+ */
+public class ProcedureMemo {
+
+    /** A procedure's fingerprint plus the labels it was taken with. */
+    public static class Key {
+        final String digest;
+        final List<String> labels;
+
+        Key(String digest, List<String> labels) {
+            this.digest = digest;
+            this.labels = labels;
+        }
+    }
+
+    private static class Entry {
+        final String code;
+        final List<String> labels;
+
+        Entry(String code, List<String> labels) {
+            this.code = code;
+            this.labels = labels;
+        }
+    }
+
+    private static final Set<String> REGISTERS = new HashSet<>(Arrays.asList(
+            "a0", "a1", "a2", "a3", "v0", "v1",
+            "s0", "s1", "s2", "s3", "s4", "s5", "s6", "s7",
+            "t0", "t1", "t2", "t3", "t4", "t5", "t6", "t7", "t8", "t9"));
+
+    private final Map<String, Entry> entries;
+
+    public ProcedureMemo(final int capacity) {
+        entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** Fingerprint of MAIN. */
+    public static Key keyOf(Goal n) {
+        Fingerprint f = new Fingerprint(0);
+        f.parts.add("MAIN");
+        n.f1.accept(f);
+        return f.key();
+    }
+
+    /** Fingerprint of a procedure, including its name and argument count. */
+    public static Key keyOf(Procedure n) {
+        Fingerprint f = new Fingerprint(Integer.parseInt(n.f2.f0.tokenImage));
+        n.accept(f);
+        return f.key();
+    }
+
+    /** The miniRA for this procedure, relabelled to its labels, or null. */
+    public String get(Key k) {
+        Entry e;
+        synchronized (entries) {
+            e = entries.get(k.digest);
+        }
+        if (e == null)
+            return null;
+        if (e.labels.equals(k.labels))
+            return e.code;
+        return relabel(e.code, e.labels, k.labels);
+    }
+
+    public void put(Key k, String code) {
+        // Relabelling works on whole tokens; a label spelled like a register
+        // could not be told apart from one.
+        for (String l : k.labels)
+            if (REGISTERS.contains(l))
+                return;
+        synchronized (entries) {
+            entries.put(k.digest, new Entry(code, k.labels));
+        }
+    }
+
+    private static String relabel(String code, List<String> from, List<String> to) {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < from.size(); i++)
+            map.put(from.get(i), to.get(i));
+        StringBuilder sb = new StringBuilder(code.length() + 64);
+        int i = 0, n = code.length();
+        while (i < n) {
+            char c = code.charAt(i);
+            if (c == ' ' || c == '\n') {
+                sb.append(c);
+                i++;
+                continue;
+            }
+            int j = i;
+            while (j < n && code.charAt(j) != ' ' && code.charAt(j) != '\n')
+                j++;
+            String tok = code.substring(i, j);
+            String r = map.get(tok);
+            int cut = tok.lastIndexOf("__E");
+            if (r == null && cut > 0 && map.containsKey(tok.substring(0, cut)))
+                r = map.get(tok.substring(0, cut)) + tok.substring(cut);
+            sb.append(r != null ? r : tok);
+            i = j;
+        }
+        return sb.toString();
+    }
+
+    /** Serializes a procedure body with temps and labels left symbolic. */
+    private static class Fingerprint extends DepthFirstVisitor {
+        final List<Object> parts = new ArrayList<>();
+        final TreeSet<Integer> temps = new TreeSet<>();
+        final Map<String, Integer> labelIds = new HashMap<>();
+        final List<String> labels = new ArrayList<>();
+
+        Fingerprint(int argCount) {
+            // Arguments arrive in TEMP 0 .. argCount-1 whether or not the
+            // body mentions them; pin those numbers.
+            for (int i = 0; i < argCount; i++)
+                temps.add(i);
+        }
+
+        @Override
+        public void visit(NodeToken n) {
+            parts.add(n.tokenImage);
+        }
+
+        @Override
+        public void visit(Temp n) {
+            Integer t = Integer.valueOf(n.f1.f0.tokenImage);
+            temps.add(t);
+            parts.add(t);
+        }
+
+        @Override
+        public void visit(Label n) {
+            String l = n.f0.tokenImage;
+            Integer id = labelIds.get(l);
+            if (id == null) {
+                id = labels.size();
+                labelIds.put(l, id);
+                labels.add(l);
+            }
+            parts.add("#" + id);
+        }
+
+        Key key() {
+            Map<Integer, Integer> rank = new HashMap<>();
+            for (Integer t : temps)
+                rank.put(t, rank.size());
+            StringBuilder sb = new StringBuilder();
+            for (Object p : parts) {
+                if (p instanceof Integer)
+                    sb.append("TEMP ").append(rank.get(p));
+                else
+                    sb.append(p);
+                sb.append(' ');
+            }
+            MessageDigest md;
+            try {
+                md = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            byte[] d = md.digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(d.length * 2);
+            for (byte b : d)
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            return new Key(hex.toString(), labels);
+        }
+    }
+}
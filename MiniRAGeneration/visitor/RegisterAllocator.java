@@ -0,0 +1,12 @@
+package visitor;
+
+/**
+ * A register allocation strategy: assigns every temp of a procedure one of
+ * {@code regs} or a stack slot. Implementations keep no state between calls,
+ * so one may allocate several procedures at once.
+ */
+@FunctionalInterface
+public interface RegisterAllocator {
+
+    Assignment allocate(BuildCFGAndLiveness.ProcedureInfo proc, String[] regs);
+}
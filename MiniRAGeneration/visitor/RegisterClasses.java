@@ -0,0 +1,41 @@
+package visitor;
+
+/**
+ * Chooses between the t and s registers by what each costs a temp in memory
+ * operations. The emitter saves a t register around every call its temp
+ * lives across, and an s register once, in the prologue and epilogue, no
+ * matter how many temps share it.
+ */
+final class RegisterClasses {
+
+    private RegisterClasses() {
+    }
+
+    /**
+     * The index of the cheapest register r with bit r of {@code free} set for
+     * a temp living across {@code calls} calls, or -1 if none is free. The
+     * sets are bit masks over {@code regs}, so at most 32 registers. An s
+     * register costs nothing once its bit of {@code saved} is set, because
+     * some other temp already made the prologue save it. Ties go to a t
+     * register unless the temp crosses a call, so that s registers are left
+     * for the temps that need them, and then to the lowest index.
+     */
+    static int cheapest(String[] regs, int free, int saved, int calls) {
+        int best = -1;
+        int bestCost = Integer.MAX_VALUE;
+        boolean bestPreferred = false;
+        for (int r = 0; r < regs.length; r++) {
+            if ((free & 1 << r) == 0)
+                continue;
+            boolean s = regs[r].charAt(0) == 's';
+            int cost = s ? ((saved & 1 << r) != 0 ? 0 : 2) : 2 * calls;
+            boolean preferred = s == (calls > 0);
+            if (cost < bestCost || cost == bestCost && preferred && !bestPreferred) {
+                best = r;
+                bestCost = cost;
+                bestPreferred = preferred;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,89 @@
+package visitor;
+
+import java.util.Arrays;
+
+/**
+ * Assigns stack slots to spilled temps by coloring their interval graph, so
+ * spills whose lifetimes do not overlap share a slot and the frame grows
+ * with the number of spills live at once rather than with all of them.
+ */
+final class SpillSlots {
+
+    private SpillSlots() {
+    }
+
+    /**
+     * Gives every temp t with {@code slot[t] >= 0} a slot such that no two
+     * temps whose spans [start, end] overlap get the same one, and returns
+     * the number of slots used. Spans are visited by start, ties by temp, and
+     * each takes the lowest slot free at its start, which is optimal for an
+     * interval graph.
+     */
+    static int color(int[] start, int[] end, int[] slot) {
+        int count = 0;
+        long[] spilled = new long[slot.length];
+        for (int t = 0; t < slot.length; t++)
+            if (slot[t] >= 0)
+                spilled[count++] = (long) start[t] << 32 | t;
+        Arrays.sort(spilled, 0, count);
+
+        // Both heaps hold (key << 32 | slot): the active spans keyed by end,
+        // the free slots by the slot itself.
+        long[] active = new long[count];
+        long[] free = new long[count];
+        int activeSize = 0;
+        int freeSize = 0;
+        int slots = 0;
+        for (int k = 0; k < count; k++) {
+            int t = (int) spilled[k];
+            while (activeSize > 0 && (int) (active[0] >> 32) < start[t]) {
+                int s = (int) active[0];
+                activeSize = poll(active, activeSize);
+                freeSize = add(free, freeSize, s);
+            }
+            int s;
+            if (freeSize == 0) {
+                s = slots++;
+            } else {
+                s = (int) free[0];
+                freeSize = poll(free, freeSize);
+            }
+            slot[t] = s;
+            activeSize = add(active, activeSize, (long) end[t] << 32 | s);
+        }
+        return slots;
+    }
+
+    /** Adds x to the min-heap in heap[0, size) and returns the new size. */
+    private static int add(long[] heap, int size, long x) {
+        int k = size;
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (heap[parent] <= x)
+                break;
+            heap[k] = heap[parent];
+            k = parent;
+        }
+        heap[k] = x;
+        return size + 1;
+    }
+
+    /** Removes the least element of the min-heap in heap[0, size) and returns the new size. */
+    private static int poll(long[] heap, int size) {
+        long x = heap[--size];
+        int k = 0;
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= size)
+                break;
+            if (child + 1 < size && heap[child + 1] < heap[child])
+                child++;
+            if (x <= heap[child])
+                break;
+            heap[k] = heap[child];
+            k = child;
+        }
+        heap[k] = x;
+        return size;
+    }
+}
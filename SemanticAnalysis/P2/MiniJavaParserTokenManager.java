@@ -8,10 +8,10 @@ import java.util.Vector;
 public class MiniJavaParserTokenManager implements MiniJavaParserConstants {
 
   /** Debug output. */
-  public static  java.io.PrintStream debugStream = System.out;
+  public java.io.PrintStream debugStream = System.out;
   /** Set debug output. */
-  public static  void setDebugStream(java.io.PrintStream ds) { debugStream = ds; }
-private static final int jjStopStringLiteralDfa_0(int pos, long active0){
+  public void setDebugStream(java.io.PrintStream ds) { debugStream = ds; }
+private final int jjStopStringLiteralDfa_0(int pos, long active0){
    switch (pos)
    {
       case 0:
@@ -444,16 +444,16 @@ private static final int jjStopStringLiteralDfa_0(int pos, long active0){
          return -1;
    }
 }
-private static final int jjStartNfa_0(int pos, long active0){
+private final int jjStartNfa_0(int pos, long active0){
    return jjMoveNfa_0(jjStopStringLiteralDfa_0(pos, active0), pos + 1);
 }
-static private int jjStopAtPos(int pos, int kind)
+private int jjStopAtPos(int pos, int kind)
 {
    jjmatchedKind = kind;
    jjmatchedPos = pos;
    return pos + 1;
 }
-static private int jjMoveStringLiteralDfa0_0(){
+private int jjMoveStringLiteralDfa0_0(){
    switch(curChar)
    {
       case 33:
@@ -537,7 +537,7 @@ static private int jjMoveStringLiteralDfa0_0(){
          return jjMoveNfa_0(0, 0);
    }
 }
-static private int jjMoveStringLiteralDfa1_0(long active0){
+private int jjMoveStringLiteralDfa1_0(long active0){
    try { curChar = input_stream.readChar(); }
    catch(java.io.IOException e) {
       jjStopStringLiteralDfa_0(0, active0);
@@ -598,7 +598,7 @@ static private int jjMoveStringLiteralDfa1_0(long active0){
    }
    return jjStartNfa_0(0, active0);
 }
-static private int jjMoveStringLiteralDfa2_0(long old0, long active0){
+private int jjMoveStringLiteralDfa2_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(0, old0);
    try { curChar = input_stream.readChar(); }
@@ -648,7 +648,7 @@ static private int jjMoveStringLiteralDfa2_0(long old0, long active0){
    }
    return jjStartNfa_0(1, active0);
 }
-static private int jjMoveStringLiteralDfa3_0(long old0, long active0){
+private int jjMoveStringLiteralDfa3_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(1, old0);
    try { curChar = input_stream.readChar(); }
@@ -699,7 +699,7 @@ static private int jjMoveStringLiteralDfa3_0(long old0, long active0){
    }
    return jjStartNfa_0(2, active0);
 }
-static private int jjMoveStringLiteralDfa4_0(long old0, long active0){
+private int jjMoveStringLiteralDfa4_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(2, old0);
    try { curChar = input_stream.readChar(); }
@@ -734,7 +734,7 @@ static private int jjMoveStringLiteralDfa4_0(long old0, long active0){
    }
    return jjStartNfa_0(3, active0);
 }
-static private int jjMoveStringLiteralDfa5_0(long old0, long active0){
+private int jjMoveStringLiteralDfa5_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(3, old0);
    try { curChar = input_stream.readChar(); }
@@ -783,7 +783,7 @@ static private int jjMoveStringLiteralDfa5_0(long old0, long active0){
    }
    return jjStartNfa_0(4, active0);
 }
-static private int jjMoveStringLiteralDfa6_0(long old0, long active0){
+private int jjMoveStringLiteralDfa6_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(4, old0);
    try { curChar = input_stream.readChar(); }
@@ -818,7 +818,7 @@ static private int jjMoveStringLiteralDfa6_0(long old0, long active0){
    }
    return jjStartNfa_0(5, active0);
 }
-static private int jjMoveStringLiteralDfa7_0(long old0, long active0){
+private int jjMoveStringLiteralDfa7_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(5, old0);
    try { curChar = input_stream.readChar(); }
@@ -843,7 +843,7 @@ static private int jjMoveStringLiteralDfa7_0(long old0, long active0){
    }
    return jjStartNfa_0(6, active0);
 }
-static private int jjMoveStringLiteralDfa8_0(long old0, long active0){
+private int jjMoveStringLiteralDfa8_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(6, old0);
    try { curChar = input_stream.readChar(); }
@@ -866,7 +866,7 @@ static private int jjMoveStringLiteralDfa8_0(long old0, long active0){
    }
    return jjStartNfa_0(7, active0);
 }
-static private int jjMoveStringLiteralDfa9_0(long old0, long active0){
+private int jjMoveStringLiteralDfa9_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(7, old0);
    try { curChar = input_stream.readChar(); }
@@ -885,7 +885,7 @@ static private int jjMoveStringLiteralDfa9_0(long old0, long active0){
    }
    return jjStartNfa_0(8, active0);
 }
-static private int jjMoveStringLiteralDfa10_0(long old0, long active0){
+private int jjMoveStringLiteralDfa10_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(8, old0);
    try { curChar = input_stream.readChar(); }
@@ -904,7 +904,7 @@ static private int jjMoveStringLiteralDfa10_0(long old0, long active0){
    }
    return jjStartNfa_0(9, active0);
 }
-static private int jjMoveStringLiteralDfa11_0(long old0, long active0){
+private int jjMoveStringLiteralDfa11_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(9, old0);
    try { curChar = input_stream.readChar(); }
@@ -923,7 +923,7 @@ static private int jjMoveStringLiteralDfa11_0(long old0, long active0){
    }
    return jjStartNfa_0(10, active0);
 }
-static private int jjMoveStringLiteralDfa12_0(long old0, long active0){
+private int jjMoveStringLiteralDfa12_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(10, old0);
    try { curChar = input_stream.readChar(); }
@@ -942,7 +942,7 @@ static private int jjMoveStringLiteralDfa12_0(long old0, long active0){
    }
    return jjStartNfa_0(11, active0);
 }
-static private int jjMoveStringLiteralDfa13_0(long old0, long active0){
+private int jjMoveStringLiteralDfa13_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(11, old0);
    try { curChar = input_stream.readChar(); }
@@ -961,7 +961,7 @@ static private int jjMoveStringLiteralDfa13_0(long old0, long active0){
    }
    return jjStartNfa_0(12, active0);
 }
-static private int jjMoveStringLiteralDfa14_0(long old0, long active0){
+private int jjMoveStringLiteralDfa14_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(12, old0);
    try { curChar = input_stream.readChar(); }
@@ -980,7 +980,7 @@ static private int jjMoveStringLiteralDfa14_0(long old0, long active0){
    }
    return jjStartNfa_0(13, active0);
 }
-static private int jjMoveStringLiteralDfa15_0(long old0, long active0){
+private int jjMoveStringLiteralDfa15_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(13, old0);
    try { curChar = input_stream.readChar(); }
@@ -999,7 +999,7 @@ static private int jjMoveStringLiteralDfa15_0(long old0, long active0){
    }
    return jjStartNfa_0(14, active0);
 }
-static private int jjMoveStringLiteralDfa16_0(long old0, long active0){
+private int jjMoveStringLiteralDfa16_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(14, old0);
    try { curChar = input_stream.readChar(); }
@@ -1018,7 +1018,7 @@ static private int jjMoveStringLiteralDfa16_0(long old0, long active0){
    }
    return jjStartNfa_0(15, active0);
 }
-static private int jjMoveStringLiteralDfa17_0(long old0, long active0){
+private int jjMoveStringLiteralDfa17_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(15, old0);
    try { curChar = input_stream.readChar(); }
@@ -1037,7 +1037,7 @@ static private int jjMoveStringLiteralDfa17_0(long old0, long active0){
    }
    return jjStartNfa_0(16, active0);
 }
-static private int jjMoveStringLiteralDfa18_0(long old0, long active0){
+private int jjMoveStringLiteralDfa18_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(16, old0);
    try { curChar = input_stream.readChar(); }
@@ -1054,7 +1054,7 @@ static private int jjMoveStringLiteralDfa18_0(long old0, long active0){
    }
    return jjStartNfa_0(17, active0);
 }
-static private int jjMoveStringLiteralDfa19_0(long old0, long active0){
+private int jjMoveStringLiteralDfa19_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(17, old0);
    try { curChar = input_stream.readChar(); }
@@ -1071,7 +1071,7 @@ static private int jjMoveStringLiteralDfa19_0(long old0, long active0){
    }
    return jjStartNfa_0(18, active0);
 }
-static private int jjMoveStringLiteralDfa20_0(long old0, long active0){
+private int jjMoveStringLiteralDfa20_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(18, old0);
    try { curChar = input_stream.readChar(); }
@@ -1088,7 +1088,7 @@ static private int jjMoveStringLiteralDfa20_0(long old0, long active0){
    }
    return jjStartNfa_0(19, active0);
 }
-static private int jjMoveStringLiteralDfa21_0(long old0, long active0){
+private int jjMoveStringLiteralDfa21_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(19, old0);
    try { curChar = input_stream.readChar(); }
@@ -1105,7 +1105,7 @@ static private int jjMoveStringLiteralDfa21_0(long old0, long active0){
    }
    return jjStartNfa_0(20, active0);
 }
-static private int jjMoveStringLiteralDfa22_0(long old0, long active0){
+private int jjMoveStringLiteralDfa22_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(20, old0);
    try { curChar = input_stream.readChar(); }
@@ -1122,7 +1122,7 @@ static private int jjMoveStringLiteralDfa22_0(long old0, long active0){
    }
    return jjStartNfa_0(21, active0);
 }
-static private int jjMoveStringLiteralDfa23_0(long old0, long active0){
+private int jjMoveStringLiteralDfa23_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(21, old0);
    try { curChar = input_stream.readChar(); }
@@ -1139,7 +1139,7 @@ static private int jjMoveStringLiteralDfa23_0(long old0, long active0){
    }
    return jjStartNfa_0(22, active0);
 }
-static private int jjMoveStringLiteralDfa24_0(long old0, long active0){
+private int jjMoveStringLiteralDfa24_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(22, old0);
    try { curChar = input_stream.readChar(); }
@@ -1156,7 +1156,7 @@ static private int jjMoveStringLiteralDfa24_0(long old0, long active0){
    }
    return jjStartNfa_0(23, active0);
 }
-static private int jjMoveStringLiteralDfa25_0(long old0, long active0){
+private int jjMoveStringLiteralDfa25_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(23, old0);
    try { curChar = input_stream.readChar(); }
@@ -1173,7 +1173,7 @@ static private int jjMoveStringLiteralDfa25_0(long old0, long active0){
    }
    return jjStartNfa_0(24, active0);
 }
-static private int jjMoveStringLiteralDfa26_0(long old0, long active0){
+private int jjMoveStringLiteralDfa26_0(long old0, long active0){
    if (((active0 &= old0)) == 0L)
       return jjStartNfa_0(24, old0);
    try { curChar = input_stream.readChar(); }
@@ -1192,7 +1192,7 @@ static private int jjMoveStringLiteralDfa26_0(long old0, long active0){
    }
    return jjStartNfa_0(25, active0);
 }
-static private int jjStartNfaWithStates_0(int pos, int kind, int state)
+private int jjStartNfaWithStates_0(int pos, int kind, int state)
 {
    jjmatchedKind = kind;
    jjmatchedPos = pos;
@@ -1224,7 +1224,7 @@ static final long[] jjbitVec7 = {
 static final long[] jjbitVec8 = {
    0x0L, 0x0L, 0xffffffffffffffffL, 0xffffffffffffffffL
 };
-static private int jjMoveNfa_0(int startState, int curPos)
+private int jjMoveNfa_0(int startState, int curPos)
 {
    int startsAt = 0;
    jjnewStateCnt = 24;
@@ -1480,7 +1480,7 @@ public static final String[] jjstrLiteralImages = {
 "\123\171\163\164\145\155\56\157\165\164\56\160\162\151\156\164\154\156", "\166\157\151\144", "\43\144\145\146\151\156\145", 
 "\106\165\156\143\164\151\157\156", "\151\155\160\157\162\164", 
 "\152\141\166\141\56\165\164\151\154\56\146\165\156\143\164\151\157\156\56\106\165\156\143\164\151\157\156", null, null, null, null, "\54", };
-static protected Token jjFillToken()
+protected Token jjFillToken()
 {
    final Token t;
    final String curTokenImage;
@@ -1539,15 +1539,15 @@ private static final boolean jjCanMove_1(int hiByte, int i1, int i2, long l1, lo
    }
 }
 
-static int curLexState = 0;
-static int defaultLexState = 0;
-static int jjnewStateCnt;
-static int jjround;
-static int jjmatchedPos;
-static int jjmatchedKind;
+int curLexState = 0;
+int defaultLexState = 0;
+int jjnewStateCnt;
+int jjround;
+int jjmatchedPos;
+int jjmatchedKind;
 
 /** Get the next Token. */
-public static Token getNextToken() 
+public Token getNextToken() 
 {
   Token specialToken = null;
   Token matchedToken;
@@ -1626,7 +1626,7 @@ public static Token getNextToken()
   }
 }
 
-static void SkipLexicalActions(Token matchedToken)
+void SkipLexicalActions(Token matchedToken)
 {
    switch(jjmatchedKind)
    {
@@ -1634,7 +1634,7 @@ static void SkipLexicalActions(Token matchedToken)
          break;
    }
 }
-static void MoreLexicalActions()
+void MoreLexicalActions()
 {
    jjimageLen += (lengthOfMatch = jjmatchedPos + 1);
    switch(jjmatchedKind)
@@ -1643,7 +1643,7 @@ static void MoreLexicalActions()
          break;
    }
 }
-static void TokenLexicalActions(Token matchedToken)
+void TokenLexicalActions(Token matchedToken)
 {
    switch(jjmatchedKind)
    {
@@ -1651,7 +1651,7 @@ static void TokenLexicalActions(Token matchedToken)
          break;
    }
 }
-static private void jjCheckNAdd(int state)
+private void jjCheckNAdd(int state)
 {
    if (jjrounds[state] != jjround)
    {
@@ -1659,19 +1659,19 @@ static private void jjCheckNAdd(int state)
       jjrounds[state] = jjround;
    }
 }
-static private void jjAddStates(int start, int end)
+private void jjAddStates(int start, int end)
 {
    do {
       jjstateSet[jjnewStateCnt++] = jjnextStates[start];
    } while (start++ != end);
 }
-static private void jjCheckNAddTwoStates(int state1, int state2)
+private void jjCheckNAddTwoStates(int state1, int state2)
 {
    jjCheckNAdd(state1);
    jjCheckNAdd(state2);
 }
 
-static private void jjCheckNAddStates(int start, int end)
+private void jjCheckNAddStates(int start, int end)
 {
    do {
       jjCheckNAdd(jjnextStates[start]);
@@ -1681,8 +1681,6 @@ static private void jjCheckNAddStates(int start, int end)
     /** Constructor. */
     public MiniJavaParserTokenManager(JavaCharStream stream){
 
-      if (input_stream != null)
-        throw new TokenMgrError("ERROR: Second call to constructor of static lexer. You must use ReInit() to initialize the static variables.", TokenMgrError.STATIC_LEXER_ERROR);
 
     input_stream = stream;
   }
@@ -1695,7 +1693,7 @@ static private void jjCheckNAddStates(int start, int end)
 
   /** Reinitialise parser. */
   
-  static public void ReInit(JavaCharStream stream)
+  public void ReInit(JavaCharStream stream)
   {
 
 
@@ -1707,7 +1705,7 @@ static private void jjCheckNAddStates(int start, int end)
     ReInitRounds();
   }
 
-  static private void ReInitRounds()
+  private void ReInitRounds()
   {
     int i;
     jjround = 0x80000001;
@@ -1716,7 +1714,7 @@ static private void jjCheckNAddStates(int start, int end)
   }
 
   /** Reinitialise parser. */
-  static public void ReInit(JavaCharStream stream, int lexState)
+  public void ReInit(JavaCharStream stream, int lexState)
   
   {
     ReInit(stream);
@@ -1724,7 +1722,7 @@ static private void jjCheckNAddStates(int start, int end)
   }
 
   /** Switch to specified lex state. */
-  public static void SwitchTo(int lexState)
+  public void SwitchTo(int lexState)
   {
     if (lexState >= 1 || lexState < 0)
       throw new TokenMgrError("Error: Ignoring invalid lexical state : " + lexState + ". State unchanged.", TokenMgrError.INVALID_LEXICAL_STATE);
@@ -1756,13 +1754,13 @@ static final long[] jjtoSpecial = {
 static final long[] jjtoMore = {
    0x0L, 
 };
-    static protected JavaCharStream  input_stream;
+    protected JavaCharStream  input_stream;
 
-    static private final int[] jjrounds = new int[24];
-    static private final int[] jjstateSet = new int[2 * 24];
-    private static final StringBuilder jjimage = new StringBuilder();
-    private static StringBuilder image = jjimage;
-    private static int jjimageLen;
-    private static int lengthOfMatch;
-    static protected int curChar;
+    private final int[] jjrounds = new int[24];
+    private final int[] jjstateSet = new int[2 * 24];
+    private final StringBuilder jjimage = new StringBuilder();
+    private StringBuilder image = jjimage;
+    private int jjimageLen;
+    private int lengthOfMatch;
+    protected int curChar;
 }
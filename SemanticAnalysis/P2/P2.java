@@ -1,35 +1,71 @@
 import syntaxtree.*;
 import visitor.*;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.Callable;
 
 public class P2 {
     public static void main(String [] args) {
+        int status = run(new InputStreamReader(System.in), System.out, System.err);
+        if (status != 0)
+            System.exit(status);
+    }
+
+    /** Type checks the MiniJava on in and prints the verdict; returns main's exit status. */
+    public static int run(Reader in, PrintStream out, PrintStream err) {
         try {
-            
-            
-            Node root = new MiniJavaParser(System.in).Goal();
-
-            // System.out.println("Program parsed successfully");
-
-            GJDepthFirst<String, String> visitor = new GJDepthFirst<>();
-            root.accept(visitor, null);
-
-            
-            // visitor.printSymbolTable();
-            // System.out.println("Symbol table constructed successfully");
-            visitor.fill_var_types();
-            // visitor.printSymbolTable();
-
-            TypeCheckerVisitor<String, String> typeChecker = new TypeCheckerVisitor<>(visitor.symbolTable);
-            root.accept(typeChecker, null);
-            System.out.println("Program type checked successfully");
-            
-        
+            out.print(check(in));
         } catch (ParseException e) {
-            System.out.println(e.toString());
+            out.println(e.toString());
+        } catch (TypeCheckError e) {
+            out.println(e.getMessage());
         }
-        
-        
+        return 0;
     }
-}
 
+    /**
+     * Parses and type checks one MiniJava program. Returns exactly what
+     * {@link #main} prints for it when it type checks; otherwise throws
+     * {@link TypeCheckError} instead of exiting the JVM.
+     */
+    public static String check(Reader in) throws ParseException {
+        PhaseEvent ev = PhaseEvent.start("parse", 0);
+        MiniJavaParser parser = new MiniJavaParser(in);
+        Goal root = parser.Goal();
+        ev.setInputSize(parser.token.endLine);
+        int classes = root.f2.size() + 1;
+        ev.finish(classes);
+
+        ev = PhaseEvent.start("symbols", classes);
+        GJDepthFirst<String, String> visitor = new GJDepthFirst<>();
+        root.accept(visitor, null);
+        visitor.fill_var_types();
+        ev.finish(visitor.symbolTable.size());
+
+        ev = PhaseEvent.start("typecheck", visitor.symbolTable.size());
+        TypeCheckerVisitor<String, String> typeChecker = new TypeCheckerVisitor<>(visitor.symbolTable);
+        root.accept(typeChecker, null);
+        ev.finish(0);
+        return "Program type checked successfully\n";
+    }
+
+    /** Parse, symbol table and type check of input, each timed alone by Bench. */
+    public static Map<String, Callable<Object>> phases(String input) throws ParseException {
+        Node root = new MiniJavaParser(new StringReader(input)).Goal();
+        GJDepthFirst<String, String> symbols = new GJDepthFirst<>();
+        root.accept(symbols, null);
+        symbols.fill_var_types();
+
+        Map<String, Callable<Object>> phases = new LinkedHashMap<>();
+        phases.put("parse", () -> new MiniJavaParser(new StringReader(input)).Goal());
+        phases.put("symbols", () -> {
+            GJDepthFirst<String, String> v = new GJDepthFirst<>();
+            root.accept(v, null);
+            v.fill_var_types();
+            return v;
+        });
+        phases.put("typecheck", () -> root.accept(new TypeCheckerVisitor<String, String>(symbols.symbolTable), null));
+        return phases;
+    }
+}
 
@@ -190,9 +190,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
       this.currentClassName = (String) n.f1.accept(this, argu);
 
       if (this.symbolTable.containsKey(this.currentClassName)) {
-          System.out.println("Type error");
-          this.currentClassName = null; 
-          return null;
+          throw new TypeCheckError("Type error");
       }
 
       this.symbolTable.put(this.currentClassName, new ClassInfo());
@@ -219,9 +217,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
       String parentName = (String) n.f3.accept(this, argu);
 
       if (this.symbolTable.containsKey(this.currentClassName)) {
-          System.out.println("Type error");
-          this.currentClassName = null;
-          return null;
+          throw new TypeCheckError("Type error");
       }
       
       ClassInfo classInfo = new ClassInfo();
@@ -249,8 +245,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
          MethodInfo methodInfo = symbolTable.get(currentClassName).methods.get(currentMethodName);
          if(methodInfo.localVariables.containsKey(name))
          {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
          }
          methodInfo.addLocalVariable(name, type);
       } else if (currentClassName != null) {
@@ -275,8 +270,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
 
         
         if (currentClassInfo.methods.containsKey(methodName)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         
@@ -295,13 +289,11 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
             if (parentMethodInfo != null) {
              
                 if (!parentMethodInfo.returnType.equals(newMethodInfo.returnType)) {
-                    System.out.println("Type error");
-                    System.exit(0);
+                    throw new TypeCheckError("Type error");
                 }
 
                 if (parentMethodInfo.parameters.size() != newMethodInfo.parameters.size()) {
-                    System.out.println("Type error");
-                    System.exit(0);
+                    throw new TypeCheckError("Type error");
                 }
 
                 
@@ -309,8 +301,7 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
                 Iterator<String> currentParamTypes = newMethodInfo.parameters.values().iterator();
                 while (parentParamTypes.hasNext()) {
                     if (!parentParamTypes.next().equals(currentParamTypes.next())) {
-                        System.out.println("Type error");
-                        System.exit(0);
+                        throw new TypeCheckError("Type error");
                     }
                 }
             }
@@ -683,4 +674,4 @@ public class GJDepthFirst<R,A> implements GJVisitor<R,A> {
       n.f2.accept(this, argu);
       return _ret;
    }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package visitor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * One phase of this stage, reported through the driver's shared PhaseEvent,
+ * which owns the JFR event, its fields and the stats sink for every stage.
+ * This class only supplies the stage name. The stage still compiles and runs
+ * on its own; without the Driver directory on the class path its phases go
+ * unrecorded and cost nothing.
+ */
+public final class PhaseEvent {
+
+    private static final String STAGE = "P2";
+
+    private static final MethodHandle START;
+    private static final MethodHandle SET_INPUT_SIZE;
+    private static final MethodHandle FINISH;
+
+    static {
+        MethodHandle start = null;
+        MethodHandle setInputSize = null;
+        MethodHandle finish = null;
+        try {
+            Class<?> shared = Class.forName("PhaseEvent", true, PhaseEvent.class.getClassLoader());
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            start = lookup.findStatic(shared, "start",
+                    MethodType.methodType(shared, String.class, String.class, long.class));
+            setInputSize = lookup.findVirtual(shared, "setInputSize", MethodType.methodType(void.class, long.class));
+            finish = lookup.findVirtual(shared, "finish", MethodType.methodType(void.class, long.class, long.class));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // no Driver on the class path: phases go unrecorded
+            start = null;
+        }
+        START = start;
+        SET_INPUT_SIZE = setInputSize;
+        FINISH = finish;
+    }
+
+    private static final PhaseEvent UNRECORDED = new PhaseEvent(null);
+
+    /** The shared event, or null when there is none to report to. */
+    private final Object event;
+
+    private PhaseEvent(Object event) {
+        this.event = event;
+    }
+
+    public static PhaseEvent start(String phase, long inputSize) {
+        if (START == null)
+            return UNRECORDED;
+        try {
+            return new PhaseEvent(START.invoke(STAGE, phase, inputSize));
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /** For phases that learn their input size only at the end, like a parser reading a stream. */
+    public void setInputSize(long inputSize) {
+        if (event == null)
+            return;
+        try {
+            SET_INPUT_SIZE.invoke(event, inputSize);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public void finish(long outputSize) {
+        finish(outputSize, 0);
+    }
+
+    public void finish(long outputSize, long iterations) {
+        if (event == null)
+            return;
+        try {
+            FINISH.invoke(event, outputSize, iterations);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException)
+            return (RuntimeException) t;
+        if (t instanceof Error)
+            throw (Error) t;
+        return new IllegalStateException(t);
+    }
+}
@@ -0,0 +1,14 @@
+package visitor;
+
+/**
+ * Thrown by the symbol table builder and the type checker when the program
+ * does not type check. The message is what P2 prints ("Type error" or
+ * "Symbol not found").
+ */
+public class TypeCheckError extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public TypeCheckError(String message) {
+        super(message);
+    }
+}
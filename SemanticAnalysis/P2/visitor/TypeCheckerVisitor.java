@@ -89,8 +89,7 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
                 return null;
             }
         } catch (Exception ignored) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
         return null;
     }
@@ -98,8 +97,7 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
     private void checkLambdaArgument(LambdaExpression lamNode, String expectedFunctionType, A argu) {
         String[] expectedFunParts = parseFunctionType(expectedFunctionType);
         if (expectedFunParts == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         String expectedParamType = normalizeType(expectedFunParts[0]);
         String expectedBodyRetType = normalizeType(expectedFunParts[1]);
@@ -119,12 +117,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
             mi.var_types.put(paramName, old);
 
         if (resolvedBodyType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!is_equal(resolvedBodyType, expectedBodyRetType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
     }
 
@@ -195,7 +191,7 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
 
     private String resolveType(String token) {
         if (token == null) {
-            System.out.println("null\n");
+            throw new TypeCheckError("Symbol not found");
         }
 
         if (isPrimitiveType(token) || token.endsWith("[]") || token.equals("this") || symbolTable.containsKey(token)) {
@@ -204,7 +200,7 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
 
         String vt = lookupVarType(token);
         if (vt == null) {
-            System.out.println("Symbol not found");
+            throw new TypeCheckError("Symbol not found");
         }
         return vt;
     }
@@ -565,8 +561,7 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         n.f2.accept(this, argu);
         String parentclass = n.f3.f0.tokenImage;
         if (!symbolTable.containsKey(parentclass)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
         n.f3.accept(this, argu);
 
@@ -627,12 +622,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String methodName = currentMethod;
         ClassInfo ci = symbolTable.get(currentClass);
         if (ci == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (ci.methods == null || !ci.methods.containsKey(methodName)) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         String methodtype = ci.methods.get(methodName).returnType;
 
@@ -657,20 +650,17 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
 
         String exprToken = (String) _ret;
         if (exprToken == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         String expr_type = resolveTypeToken(exprToken);
         if (expr_type == null) {
             // System.out.println(exprToken);
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         if (!is_equal(expr_type, methodtype)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         n.f11.accept(this, argu);
@@ -809,16 +799,14 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
 
         n.f0.accept(this, argu);
         if (!lambdaActive) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         n.f1.accept(this, argu); // <
 
         String type1 = n.f2.f0.tokenImage;
         if (!("Integer".equals(type1) || "Boolean".equals(type1) || symbolTable.containsKey(type1))) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         n.f2.accept(this, argu);
 
@@ -826,8 +814,7 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
 
         String type2 = n.f4.f0.tokenImage;
         if (!("Integer".equals(type2) || "Boolean".equals(type2) || symbolTable.containsKey(type2))) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         n.f4.accept(this, argu);
 
@@ -887,8 +874,7 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String var_type = lookupVarType(var_name);
 
         if (var_type == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         LambdaExpression lamNode = extractLambda(n.f2);
@@ -898,8 +884,7 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
             String[] parts = parseFunctionType(var_type);
 
             if (parts == null) {
-                System.out.println("Symbol not found");
-                System.exit(0);
+                throw new TypeCheckError("Symbol not found");
             }
 
             String expectedParamType = parts[0];
@@ -919,12 +904,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
                 mi.var_types.put(paramName, old);
 
             if (resolvedBodyType == null) {
-                System.out.println("Symbol not found");
-                System.exit(0);
+                throw new TypeCheckError("Symbol not found");
             }
             if (!is_equal(resolvedBodyType, expectedReturnType)) {
-                System.out.println("Type error");
-                System.exit(0);
+                throw new TypeCheckError("Type error");
             }
         } else {
 
@@ -932,13 +915,11 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
             String resolvedRhsType = resolveTypeToken((String) rhsResult);
 
             if (resolvedRhsType == null) {
-                System.out.println("Symbol not found");
-                System.exit(0);
+                throw new TypeCheckError("Symbol not found");
             }
 
             if (!is_equal(resolvedRhsType, var_type)) {
-                System.out.println("Type error");
-                System.exit(0);
+                throw new TypeCheckError("Type error");
             }
         }
 
@@ -960,47 +941,39 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String arrayType = lookupVarType(arrayName);
 
         if (arrayType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!arrayType.endsWith("[]")) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         R indexResult = n.f2.accept(this, argu);
         if (indexResult.equals("<<FUNCTION>>")) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
         String indexType = resolveTypeToken((String) indexResult);
         // System.out.println(indexResult);
         if (indexType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!"int".equals(indexType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         R rhsResult = n.f5.accept(this, argu);
         if (rhsResult.equals("<<FUNCTION>>")) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
         String rhsType = resolveTypeToken((String) rhsResult);
 
         if (rhsType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         String expectedElementType = arrayType.substring(0, arrayType.length() - 2);
 
         if (!is_equal(rhsType, expectedElementType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         return null;
@@ -1033,20 +1006,17 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
 
         R condResult = n.f2.accept(this, argu);
         if (condResult.equals("<<FUNCTION>>")) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         String condType = resolveTypeToken((String) condResult);
 
         if (condType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         if (!"boolean".equals(condType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         n.f4.accept(this, argu);
@@ -1075,19 +1045,16 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         R condResult = n.f2.accept(this, argu);
 
         if (condResult.equals("<<FUNCTION>>")) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
         String condType = resolveTypeToken((String) condResult);
 
         if (condType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         if (!"boolean".equals(condType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         n.f3.accept(this, argu);
@@ -1120,19 +1087,16 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
 
         R condResult = n.f2.accept(this, argu);
         if (condResult.equals("<<FUNCTION>>")) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
         String condType = resolveTypeToken((String) condResult);
 
         if (condType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         if (!"boolean".equals(condType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         n.f3.accept(this, argu);
@@ -1161,19 +1125,16 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
 
         R condResult = n.f2.accept(this, argu);
         if (condResult.equals("<<FUNCTION>>")) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
         String condType = resolveTypeToken((String) condResult);
 
         if (condType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         if (!"int".equals(condType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         n.f3.accept(this, argu);
@@ -1229,8 +1190,7 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String paramName = n.f1.f0.tokenImage;
 
         if (lookupVarType(paramName) != null) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         if (expectedFunctionalType != null) {
@@ -1238,8 +1198,7 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
             String[] parts = parseFunctionType(expectedFunctionalType);
             if (parts == null) {
 
-                System.out.println("Symbol not found");
-                System.exit(0);
+                throw new TypeCheckError("Symbol not found");
             }
             String expectedParamType = parts[0];
             String expectedBodyRetType = parts[1];
@@ -1250,8 +1209,7 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
 
             String bodyType = (String) n.f4.accept(this, argu);
             if (bodyType.equals("<<FUNCTION>>")) {
-                System.out.println("Type error");
-                System.exit(0);
+                throw new TypeCheckError("Type error");
             }
             String resolvedBodyType = resolveTypeToken(bodyType);
 
@@ -1262,13 +1220,11 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
             }
 
             if (resolvedBodyType == null) {
-                System.out.println("Symbol not found");
-                System.exit(0);
+                throw new TypeCheckError("Symbol not found");
             }
 
             if (!is_equal(resolvedBodyType, expectedBodyRetType)) {
-                System.out.println("Type error");
-                System.exit(0);
+                throw new TypeCheckError("Type error");
             }
 
             return (R) expectedFunctionalType;
@@ -1292,12 +1248,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String leftToken = (String) leftR;
         String leftType = resolveTypeToken(leftToken);
         if (leftType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!"boolean".equals(leftType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         n.f1.accept(this, argu);
@@ -1306,12 +1260,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String rightToken = (String) rightR;
         String rightType = resolveTypeToken(rightToken);
         if (rightType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!"boolean".equals(rightType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         return (R) "boolean";
@@ -1324,12 +1276,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String leftToken = (String) leftR;
         String leftType = resolveTypeToken(leftToken);
         if (leftType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!"boolean".equals(leftType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         n.f1.accept(this, argu);
@@ -1338,12 +1288,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String rightToken = (String) rightR;
         String rightType = resolveTypeToken(rightToken);
         if (rightType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!"boolean".equals(rightType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         return (R) "boolean";
@@ -1356,8 +1304,7 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String leftToken = (String) leftR;
         String leftType = resolveTypeToken(leftToken);
         if (leftType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         n.f1.accept(this, argu);
@@ -1366,13 +1313,11 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String rightToken = (String) rightR;
         String rightType = resolveTypeToken(rightToken);
         if (rightType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         if (!"int".equals(leftType) || !"int".equals(rightType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         return (R) "boolean";
@@ -1385,8 +1330,7 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String leftToken = (String) leftR;
         String leftType = resolveTypeToken(leftToken);
         if (leftType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         n.f1.accept(this, argu);
@@ -1395,13 +1339,11 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String rightToken = (String) rightR;
         String rightType = resolveTypeToken(rightToken);
         if (rightType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         if (!is_equal(leftType, rightType) && !is_equal(rightType, leftType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         return (R) "boolean";
@@ -1414,12 +1356,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String leftToken = (String) leftR;
         String leftType = resolveTypeToken(leftToken);
         if (leftType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!"int".equals(leftType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         n.f1.accept(this, argu);
@@ -1428,12 +1368,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String rightToken = (String) rightR;
         String rightType = resolveTypeToken(rightToken);
         if (rightType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!"int".equals(rightType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         return (R) "int";
@@ -1446,12 +1384,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String leftToken = (String) leftR;
         String leftType = resolveTypeToken(leftToken);
         if (leftType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!"int".equals(leftType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         n.f1.accept(this, argu);
@@ -1460,12 +1396,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String rightToken = (String) rightR;
         String rightType = resolveTypeToken(rightToken);
         if (rightType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!"int".equals(rightType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         return (R) "int";
@@ -1478,12 +1412,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String leftToken = (String) leftR;
         String leftType = resolveTypeToken(leftToken);
         if (leftType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!"int".equals(leftType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         n.f1.accept(this, argu);
@@ -1492,12 +1424,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String rightToken = (String) rightR;
         String rightType = resolveTypeToken(rightToken);
         if (rightType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!"int".equals(rightType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         return (R) "int";
@@ -1510,12 +1440,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String leftToken = (String) leftR;
         String leftType = resolveTypeToken(leftToken);
         if (leftType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!"int".equals(leftType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         n.f1.accept(this, argu);
@@ -1524,12 +1452,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String rightToken = (String) rightR;
         String rightType = resolveTypeToken(rightToken);
         if (rightType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!"int".equals(rightType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         return (R) "int";
@@ -1542,12 +1468,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String arrToken = (String) arrR;
         String arrType = resolveTypeToken(arrToken);
         if (arrType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!arrType.endsWith("[]")) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         n.f1.accept(this, argu);
@@ -1556,12 +1480,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String idxToken = (String) idxR;
         String idxType = resolveTypeToken(idxToken);
         if (idxType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
         if (!"int".equals(idxType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         n.f3.accept(this, argu);
@@ -1584,13 +1506,11 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
 
         String resolvedArrType = resolveTypeToken(arrTypeToken);
         if (resolvedArrType == null) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         if (!resolvedArrType.endsWith("[]")) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         n.f1.accept(this, argu);
@@ -1614,29 +1534,24 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
 
         String resolvedReceiverType = resolveTypeToken(receiverToken);
         if (resolvedReceiverType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         if ("int".equals(resolvedReceiverType) || "boolean".equals(resolvedReceiverType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         if ("int[]".equals(resolvedReceiverType) || "boolean[]".equals(resolvedReceiverType)) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         String[] funPartsReceiver = parseFunctionType(resolvedReceiverType);
         if (funPartsReceiver != null) {
             if (!"apply".equals(methodName)) {
-                System.out.println("Type error");
-                System.exit(0);
+                throw new TypeCheckError("Type error");
             }
             if (argExprNodes.size() != 1) {
-                System.out.println("Type error");
-                System.exit(0);
+                throw new TypeCheckError("Type error");
             }
 
             String expectedArgType = normalizeType(funPartsReceiver[0]);
@@ -1652,12 +1567,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
                 R argTypeR = argExpr.accept(this, argu);
                 String resolvedArgType = resolveTypeToken((String) argTypeR);
                 if (resolvedArgType == null) {
-                    System.out.println("Symbol not found");
-                    System.exit(0);
+                    throw new TypeCheckError("Symbol not found");
                 }
                 if (!is_equal(resolvedArgType, expectedArgType)) {
-                    System.out.println("Type error");
-                    System.exit(0);
+                    throw new TypeCheckError("Type error");
                 }
             }
             return (R) expectedRetType;
@@ -1665,14 +1578,12 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
 
         MethodInfo methodInfoObj = lookupMethodInfo(resolvedReceiverType, methodName);
         if (methodInfoObj == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         List<String> paramTypes = getMethodParamTypes(methodInfoObj);
         if (paramTypes.size() != argExprNodes.size()) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         for (int i = 0; i < paramTypes.size(); ++i) {
@@ -1688,12 +1599,10 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
                 R argTypeR = argExpr.accept(this, argu);
                 String resolvedArgType = resolveTypeToken((String) argTypeR);
                 if (resolvedArgType == null) {
-                    System.out.println("Symbol not found");
-                    System.exit(0);
+                    throw new TypeCheckError("Symbol not found");
                 }
                 if (!is_equal(resolvedArgType, expectedType)) {
-                    System.out.println("Type error");
-                    System.exit(0);
+                    throw new TypeCheckError("Type error");
                 }
             }
         }
@@ -1838,20 +1747,17 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
 
         R sizeExprResult = n.f3.accept(this, argu);
         if (sizeExprResult.equals("<<FUNCTION>>")) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         String sizeExprType = resolveTypeToken((String) sizeExprResult);
 
         if (sizeExprType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         if (!"int".equals(sizeExprType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         return (R) "int[]";
@@ -1868,8 +1774,7 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
         String className = (String) n.f1.accept(this, argu);
         // System.out.println(className);
         if (!this.symbolTable.containsKey(className)) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         return (R) className;
@@ -1888,20 +1793,17 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
 
         R exprResult = n.f1.accept(this, argu);
         if (exprResult.equals("<<FUNCTION>>")) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         String exprType = resolveTypeToken((String) exprResult);
 
         if (exprType == null) {
-            System.out.println("Symbol not found");
-            System.exit(0);
+            throw new TypeCheckError("Symbol not found");
         }
 
         if (!"boolean".equals(exprType)) {
-            System.out.println("Type error");
-            System.exit(0);
+            throw new TypeCheckError("Type error");
         }
 
         return (R) "boolean";
@@ -1927,4 +1829,4 @@ public class TypeCheckerVisitor<R, A> implements GJVisitor<R, A> {
 
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file